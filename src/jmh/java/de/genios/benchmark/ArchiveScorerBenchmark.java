@@ -0,0 +1,54 @@
+package de.genios.benchmark;
+
+import de.genios.archive.ArchiveScorer;
+import de.genios.archive.ArchiveSummary;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scaling of archive scoring from one thread to all cores, reported as games per millisecond.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArchiveScorerBenchmark {
+    private static final int GAMES = 1 << 20;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    @Param({"8192"})
+    public int threshold;
+
+    private int[] rolls;
+    private int[] offsets;
+
+    private ForkJoinPool pool;
+    private ArchiveScorer scorer;
+
+    @Setup
+    public void setUp() {
+        int[][] games = RollSequences.RANDOM.games(GAMES, 42L);
+        offsets = RollSequences.offsets(games);
+        rolls = RollSequences.flatten(games, offsets);
+
+        pool = new ForkJoinPool(threads);
+        scorer = new ArchiveScorer(pool, threshold);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public ArchiveSummary score() {
+        return scorer.score(rolls, offsets);
+    }
+}
@@ -0,0 +1,92 @@
+package de.genios.benchmark;
+
+import de.genios.model.BowlingGame;
+import de.genios.model.GameSnapshot;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Baseline for the scoring engine. Run with the gc profiler to see the allocation rate per game:
+ * mvn -P benchmarks test-compile exec:exec -Djmh.args="BowlingGameBenchmark -prof gc"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BowlingGameBenchmark {
+    private static final int GAMES = 1024;
+
+    @Param({"STRIKES", "SPARES", "GUTTER", "RANDOM"})
+    public RollSequences sequence;
+
+    private int[][] games;
+    private int next;
+
+    private BowlingGame game;
+    private BowlingGame finishedGame;
+
+    @Setup
+    public void setUp() {
+        games = sequence.games(GAMES, 42L);
+        game = new BowlingGame();
+
+        finishedGame = new BowlingGame();
+        for (int pins : games[0]) {
+            finishedGame.roll(pins);
+        }
+    }
+
+    /**
+     * plays one complete game per operation
+     */
+    @Benchmark
+    public BowlingGame roll() {
+        int[] rolls = games[next++ & (GAMES - 1)];
+        game.resetGame();
+        for (int pins : rolls) {
+            game.roll(pins);
+        }
+        return game;
+    }
+
+    /**
+     * plays one complete game per operation through immutable snapshots, as the game store does
+     */
+    @Benchmark
+    public GameSnapshot snapshotRoll() {
+        int[] rolls = games[next++ & (GAMES - 1)];
+        GameSnapshot snapshot = GameSnapshot.EMPTY;
+        for (int pins : rolls) {
+            snapshot = snapshot.roll(pins);
+        }
+        return snapshot;
+    }
+
+    @Benchmark
+    public int score() {
+        return finishedGame.score();
+    }
+
+    @Benchmark
+    public List<String[]> calculateScoreboard() {
+        return finishedGame.calculateScoreboard();
+    }
+
+    /**
+     * plays one complete game and reads the score after every roll, like a lane display does
+     */
+    @Benchmark
+    public void rollAndScore(Blackhole blackhole) {
+        int[] rolls = games[next++ & (GAMES - 1)];
+        game.resetGame();
+        for (int pins : rolls) {
+            game.roll(pins);
+            blackhole.consume(game.score());
+        }
+    }
+}
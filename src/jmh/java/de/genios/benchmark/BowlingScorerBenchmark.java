@@ -0,0 +1,89 @@
+package de.genios.benchmark;
+
+import de.genios.model.BowlingGame;
+import de.genios.model.BowlingScorer;
+import de.genios.model.RollTable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Re-scoring an archive of complete games: rolling every game into a BowlingGame against the stateless scorer and
+ * the precomputed roll table.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BowlingScorerBenchmark {
+    private static final int GAMES = 1024;
+
+    @Param({"STRIKES", "RANDOM"})
+    public RollSequences sequence;
+
+    private int[][] games;
+    private int[] flatRolls;
+    private int[] offsets;
+
+    private BowlingGame game;
+
+    @Setup
+    public void setUp() {
+        games = sequence.games(GAMES, 42L);
+        offsets = RollSequences.offsets(games);
+        flatRolls = RollSequences.flatten(games, offsets);
+        game = new BowlingGame();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public int rollLoop() {
+        int sum = 0;
+        for (int[] rolls : games) {
+            game.resetGame();
+            for (int pins : rolls) {
+                game.roll(pins);
+            }
+            sum += game.score();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public int scoreGames() {
+        int sum = 0;
+        for (int[] rolls : games) {
+            sum += BowlingScorer.score(rolls);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public int[] scoreAllFlat() {
+        return BowlingScorer.scoreAll(flatRolls, offsets);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public int tableScoreGames() {
+        int sum = 0;
+        for (int[] rolls : games) {
+            sum += RollTable.score(rolls);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public int tableScoreFlat() {
+        int sum = 0;
+        for (int game = 0; game < offsets.length - 1; game++) {
+            sum += RollTable.score(flatRolls, offsets[game], offsets[game + 1]);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,147 @@
+package de.genios.benchmark;
+
+import de.genios.controller.GameController;
+import de.genios.model.GameSnapshot;
+import de.genios.view.ShellView;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.ui.ExtendedModelMap;
+import org.springframework.web.context.support.GenericWebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.View;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.spring5.view.ThymeleafViewResolver;
+import org.thymeleaf.templateresolver.FileTemplateResolver;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UnsupportedEncodingException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendering the game page of a /bowl response half way through a game, through the template engine as the
+ * "template" mode of web.rendering does, and from the cached shell of the "shell" mode. Both write the same page; its
+ * bytes are printed on setup, run with -prof gc for the bytes allocated per render. The page is written to a plain
+ * buffer, as the mock response writes its output stream byte by byte.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GamePageRenderBenchmark {
+    private GenericWebApplicationContext applicationContext;
+    private View templateView;
+    private View shellView;
+    private ExtendedModelMap model;
+
+    @Setup
+    public void setUp() throws Exception {
+        applicationContext = new GenericWebApplicationContext(new MockServletContext());
+        applicationContext.refresh();
+        FileTemplateResolver templateResolver = new FileTemplateResolver();
+        templateResolver.setPrefix("src/main/webapp/WEB-INF/views/thymeleaf/");
+        templateResolver.setSuffix(".html");
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(templateResolver);
+        templateEngine.setEnableSpringELCompiler(true);
+        ThymeleafViewResolver viewResolver = new ThymeleafViewResolver();
+        viewResolver.setTemplateEngine(templateEngine);
+        viewResolver.setApplicationContext(applicationContext);
+        templateView = viewResolver.resolveViewName("game", Locale.US);
+        shellView = new ShellView(templateEngine, "game", GameController.PAGE_ATTRIBUTES);
+
+        int[] rolls = RollSequences.RANDOM.games(1, 42L)[0];
+        GameSnapshot snapshot = GameSnapshot.EMPTY;
+        for (int n = 0; n < rolls.length / 2; n++) {
+            snapshot = snapshot.roll(rolls[n]);
+        }
+        model = new ExtendedModelMap();
+        model.addAttribute("gameId", "0b6ac4a8-5f1c-4d36-b3a5-7a2d4f0e9c11");
+        new GameController().refreshScoreBoard(model, snapshot.getScoreboard());
+
+        System.out.printf("%ntemplate %d bytes, shell %d bytes%n", template(), shell());
+    }
+
+    @Benchmark
+    public int template() throws Exception {
+        return render(templateView);
+    }
+
+    @Benchmark
+    public int shell() throws Exception {
+        return render(shellView);
+    }
+
+    /**
+     * @return the bytes of the page
+     */
+    private int render(final View view) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(applicationContext.getServletContext(), "GET",
+                "/arena/bowl");
+        request.setContextPath("/arena");
+        request.setAttribute(DispatcherServlet.WEB_APPLICATION_CONTEXT_ATTRIBUTE, applicationContext);
+        BufferedResponse response = new BufferedResponse();
+        view.render(model, request, response);
+        return response.size();
+    }
+
+    /**
+     * a response writing its page to a byte array
+     */
+    static class BufferedResponse extends HttpServletResponseWrapper {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(8192);
+        private PrintWriter writer;
+
+        BufferedResponse() {
+            super(new MockHttpServletResponse());
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return new ServletOutputStream() {
+                @Override
+                public void write(final int b) {
+                    bytes.write(b);
+                }
+
+                @Override
+                public void write(final byte[] b, final int off, final int len) {
+                    bytes.write(b, off, len);
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setWriteListener(final WriteListener writeListener) {
+                }
+            };
+        }
+
+        @Override
+        public PrintWriter getWriter() throws UnsupportedEncodingException {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(bytes, getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        int size() {
+            if (writer != null) {
+                writer.flush();
+            }
+            return bytes.size();
+        }
+    }
+}
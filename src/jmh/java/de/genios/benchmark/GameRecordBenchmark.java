@@ -0,0 +1,89 @@
+package de.genios.benchmark;
+
+import de.genios.archive.GameRecordReader;
+import de.genios.archive.GameRecordWriter;
+import de.genios.model.BowlingScorer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading and scoring a game archive from the binary record format against the same games as comma separated text
+ * lines, reported as games per millisecond.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameRecordBenchmark {
+    private static final int GAMES = 1 << 20;
+
+    private Path directory;
+    private Path binaryFile;
+    private Path csvFile;
+    private GameRecordReader reader;
+
+    @Setup
+    public void setUp() throws IOException {
+        int[][] games = RollSequences.RANDOM.games(GAMES, 42L);
+        directory = Files.createTempDirectory("game-records");
+        binaryFile = directory.resolve("games.bin");
+        csvFile = directory.resolve("games.csv");
+
+        try (GameRecordWriter writer = new GameRecordWriter(binaryFile);
+             BufferedWriter csv = Files.newBufferedWriter(csvFile)) {
+            for (int[] game : games) {
+                writer.write(game);
+                for (int n = 0; n < game.length; n++) {
+                    csv.write(n == 0 ? "" : ",");
+                    csv.write(Integer.toString(game[n]));
+                }
+                csv.newLine();
+            }
+        }
+        reader = new GameRecordReader(binaryFile);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        reader.close();
+        Files.delete(binaryFile);
+        Files.delete(csvFile);
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public long mappedRecords() {
+        long total = 0;
+        for (long record = 0; record < GAMES; record++) {
+            total += reader.score(record);
+        }
+        return total;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public long csvLines() throws IOException {
+        long total = 0;
+        try (BufferedReader lines = Files.newBufferedReader(csvFile)) {
+            String line;
+            while ((line = lines.readLine()) != null) {
+                String[] cells = line.split(",");
+                int[] rolls = new int[cells.length];
+                for (int n = 0; n < cells.length; n++) {
+                    rolls[n] = Integer.parseInt(cells[n]);
+                }
+                total += BowlingScorer.score(rolls);
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,117 @@
+package de.genios.benchmark;
+
+import de.genios.helper.Constants;
+import de.genios.model.BowlingGame;
+import de.genios.model.GameState;
+import de.genios.model.ScoringEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saving and restoring a game half way through, as a replicated session would, each time with streams of its own.
+ * The compact encoding of {@link BowlingGame} is compared with default serialization of a game holding the fields
+ * of the {@link ScoringEngine}, which is what marking both Serializable would write. The sizes are printed on setup.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameSerializationBenchmark {
+    private BowlingGame bowlingGame;
+    private DefaultGame defaultGame;
+    private byte[] compactBytes;
+    private byte[] defaultBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        int[] rolls = RollSequences.RANDOM.games(1, 42L)[0];
+        bowlingGame = new BowlingGame();
+        ScoringEngine engine = new ScoringEngine();
+        for (int n = 0; n < rolls.length / 2; n++) {
+            bowlingGame.roll(rolls[n]);
+            engine.roll(rolls[n]);
+        }
+        defaultGame = new DefaultGame(engine);
+        compactBytes = write(bowlingGame);
+        defaultBytes = write(defaultGame);
+        System.out.printf("%ncompact %d bytes, default %d bytes%n", compactBytes.length, defaultBytes.length);
+    }
+
+    @Benchmark
+    public byte[] compactWrite() throws IOException {
+        return write(bowlingGame);
+    }
+
+    @Benchmark
+    public Object compactRead() throws IOException, ClassNotFoundException {
+        return read(compactBytes);
+    }
+
+    @Benchmark
+    public byte[] defaultWrite() throws IOException {
+        return write(defaultGame);
+    }
+
+    @Benchmark
+    public Object defaultRead() throws IOException, ClassNotFoundException {
+        return read(defaultBytes);
+    }
+
+    private static byte[] write(final Object game) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(game);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object read(final byte[] bytes) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readObject();
+        }
+    }
+
+    /**
+     * the state of a {@link ScoringEngine} in default serialization
+     */
+    static class DefaultGame implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final byte[] rolls = new byte[Constants.MAX_NUMBER_OF_ROLLS];
+        private final byte[] frameStarts = new byte[Constants.TOTAL_NUMBER_OF_FRAMES];
+        private final int[] frameScores = new int[Constants.TOTAL_NUMBER_OF_FRAMES];
+        private final int[] accumulatedScores = new int[Constants.TOTAL_NUMBER_OF_FRAMES];
+        private final int rollCount;
+        private final int frameCount;
+        private final int totalScore;
+        private final int firstChangedFrame;
+        private final GameState gameState;
+
+        DefaultGame(final ScoringEngine engine) {
+            for (int n = 0; n < engine.getRollCount(); n++) {
+                rolls[n] = (byte) engine.getRoll(n);
+            }
+            int start = 0;
+            for (int n = 0; n < engine.getFrameCount(); n++) {
+                frameStarts[n] = (byte) start;
+                start += engine.getFrameRollCount(n);
+                frameScores[n] = engine.getFrameScore(n);
+                accumulatedScores[n] = engine.getAccumulatedFrameScore(n);
+            }
+            rollCount = engine.getRollCount();
+            frameCount = engine.getFrameCount();
+            totalScore = engine.score();
+            firstChangedFrame = engine.getFirstChangedFrame();
+            gameState = engine.getGameState();
+        }
+    }
+}
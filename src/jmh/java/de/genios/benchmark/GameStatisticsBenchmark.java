@@ -0,0 +1,67 @@
+package de.genios.benchmark;
+
+import de.genios.model.ConcurrentBowlingGame;
+import de.genios.model.GameSnapshot;
+import de.genios.service.GameStatistics;
+import de.genios.store.GameStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Roll events of 10k games on 40 lanes by 1000 players through the statistics on one thread. Every roll updates
+ * the counters of the venue, the player and the lane.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameStatisticsBenchmark {
+    private static final int GAMES = 10_000;
+    private static final int PLAYERS = 1000;
+    private static final int LANES = 40;
+
+    private GameStatistics gameStatistics;
+    private String[] gameIds;
+    //the state after every roll of every game
+    private GameSnapshot[][] rolls;
+    private int[] nextRoll;
+    private int game;
+
+    @Setup
+    public void setUp() {
+        gameStatistics = new GameStatistics(new GameStore(GAMES, 16, 1, TimeUnit.HOURS), 1, TimeUnit.HOURS);
+        gameIds = new String[GAMES];
+        rolls = new GameSnapshot[GAMES][];
+        nextRoll = new int[GAMES];
+        int[][] games = RollSequences.RANDOM.games(GAMES, 42L);
+        for (int n = 0; n < GAMES; n++) {
+            gameIds[n] = "game-" + n;
+            ConcurrentBowlingGame bowlingGame = new ConcurrentBowlingGame();
+            rolls[n] = new GameSnapshot[games[n].length];
+            for (int roll = 0; roll < games[n].length; roll++) {
+                rolls[n][roll] = bowlingGame.roll(games[n][roll]);
+            }
+            assign(n);
+        }
+    }
+
+    @Benchmark
+    public void rolled() {
+        int n = nextRoll[game];
+        if (n == rolls[game].length) {
+            //the player starts the next game on the lane
+            assign(game);
+            n = 0;
+        }
+        gameStatistics.rolled(gameIds[game], rolls[game][n]);
+        nextRoll[game] = n + 1;
+        game = game + 1 == GAMES ? 0 : game + 1;
+    }
+
+    private void assign(final int n) {
+        gameStatistics.assign(gameIds[n], "player-" + n % PLAYERS, "lane-" + n % LANES);
+    }
+}
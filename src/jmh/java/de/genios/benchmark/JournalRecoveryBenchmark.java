@@ -0,0 +1,65 @@
+package de.genios.benchmark;
+
+import de.genios.journal.RollJournal;
+import de.genios.model.ConcurrentBowlingGame;
+import de.genios.store.GameStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to rebuild 100k complete games on startup, from the journal segments alone (every roll replayed) and from a
+ * snapshot plus a tail of one roll per game.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class JournalRecoveryBenchmark {
+
+    @Param({"false", "true"})
+    public boolean snapshot;
+
+    private Path directory;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("journal-recovery");
+        GameStore gameStore = new GameStore(2 * RollJournalBenchmark.GAMES, 64, 1, TimeUnit.HOURS);
+        int[][] games = RollSequences.RANDOM.games(RollJournalBenchmark.GAMES, 42L);
+
+        try (RollJournal journal = RollJournal.open(directory, false, gameStore)) {
+            String[] gameIds = new String[games.length];
+            for (int n = 0; n < games.length; n++) {
+                gameIds[n] = gameStore.create();
+                ConcurrentBowlingGame game = gameStore.get(gameIds[n]);
+                for (int roll = 0; roll < games[n].length - 1; roll++) {
+                    journal.append(gameIds[n], game.roll(games[n][roll]));
+                }
+            }
+            if (snapshot) {
+                journal.snapshot(gameStore);
+            }
+            for (int n = 0; n < games.length; n++) {
+                journal.append(gameIds[n], gameStore.get(gameIds[n]).roll(games[n][games[n].length - 1]));
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        RollJournalBenchmark.delete(directory);
+    }
+
+    @Benchmark
+    public GameStore recover() throws IOException {
+        GameStore gameStore = new GameStore(2 * RollJournalBenchmark.GAMES, 64, 1, TimeUnit.HOURS);
+        RollJournal.open(directory, false, gameStore).close();
+        return gameStore;
+    }
+}
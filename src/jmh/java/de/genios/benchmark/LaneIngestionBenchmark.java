@@ -0,0 +1,129 @@
+package de.genios.benchmark;
+
+import de.genios.ingest.LaneIngestion;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The roll feed of 40 lanes pushed through the ingestion, from publishing a roll until its lane has scored it.
+ * With pacingNanos 0 the feed is published as fast as the lanes take it, otherwise one roll every pacingNanos like
+ * a busy venue. The latency from publishing to scoring is printed per iteration, the score is the throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LaneIngestionBenchmark {
+    private static final int LANES = 40;
+    private static final int GAMES_PER_LANE = 60;
+    //about 50 games per lane, a game has about 18 rolls; more games are generated than the feed takes
+    private static final int FEED_ROLLS = LANES * 50 * 18;
+    private static final int SAMPLES_PER_LANE = 1 << 18;
+
+    @Param({"4096"})
+    public int ringSize;
+
+    @Param({"0", "20000"})
+    public long pacingNanos;
+
+    private int[] feedLanes;
+    private int[] feedPins;
+    private LaneIngestion ingestion;
+
+    //written by the lane threads only
+    private final long[][] latencies = new long[LANES][SAMPLES_PER_LANE];
+    private final int[] sampleCounts = new int[LANES];
+
+    @Setup
+    public void setUp() {
+        int[][] games = RollSequences.RANDOM.games(LANES * GAMES_PER_LANE, 42L);
+        int[][] laneRolls = new int[LANES][];
+        for (int lane = 0; lane < LANES; lane++) {
+            int[] rolls = new int[0];
+            for (int game = lane; game < games.length; game += LANES) {
+                int size = rolls.length;
+                rolls = Arrays.copyOf(rolls, size + games[game].length);
+                System.arraycopy(games[game], 0, rolls, size, games[game].length);
+            }
+            laneRolls[lane] = rolls;
+        }
+        interleave(laneRolls, new Random(7));
+
+        ingestion = new LaneIngestion(LANES, ringSize, (lane, pins, status, game, publishedNanos) -> {
+            int count = sampleCounts[lane];
+            if (count < SAMPLES_PER_LANE) {
+                latencies[lane][count] = System.nanoTime() - publishedNanos;
+                sampleCounts[lane] = count + 1;
+            }
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        ingestion.close();
+    }
+
+    @TearDown(Level.Iteration)
+    public void printLatencies() {
+        ingestion.flush();
+        int total = 0;
+        for (int count : sampleCounts) {
+            total += count;
+        }
+        long[] all = new long[total];
+        int offset = 0;
+        for (int lane = 0; lane < LANES; lane++) {
+            System.arraycopy(latencies[lane], 0, all, offset, sampleCounts[lane]);
+            offset += sampleCounts[lane];
+            sampleCounts[lane] = 0;
+        }
+        Arrays.sort(all);
+        if (all.length > 0) {
+            System.out.printf("%nlatency of %d rolls: p50 %.1f us, p99 %.1f us, p99.9 %.1f us, max %.1f us%n", all.length,
+                    percentile(all, 0.5), percentile(all, 0.99), percentile(all, 0.999), all[all.length - 1] / 1000.0);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FEED_ROLLS)
+    public void publishFeed() {
+        long next = System.nanoTime();
+        for (int n = 0; n < FEED_ROLLS; n++) {
+            if (pacingNanos > 0) {
+                next += pacingNanos;
+                while (System.nanoTime() < next) {
+                    Thread.onSpinWait();
+                }
+            }
+            ingestion.publish(feedLanes[n], feedPins[n]);
+        }
+        ingestion.flush();
+    }
+
+    /**
+     * mixes the rolls of the lanes into a feed of FEED_ROLLS rolls; the games cut off at its end go on with the
+     * start of the feed in the next invocation, so now and then a roll is rejected
+     */
+    private void interleave(final int[][] laneRolls, final Random random) {
+        feedLanes = new int[FEED_ROLLS];
+        feedPins = new int[FEED_ROLLS];
+        int[] next = new int[LANES];
+        for (int n = 0; n < FEED_ROLLS; ) {
+            int lane = random.nextInt(LANES);
+            if (next[lane] < laneRolls[lane].length) {
+                feedLanes[n] = lane;
+                feedPins[n] = laneRolls[lane][next[lane]++];
+                n++;
+            }
+        }
+    }
+
+    private static double percentile(final long[] sorted, final double quantile) {
+        return sorted[(int) Math.min(sorted.length - 1, (long) (quantile * sorted.length))] / 1000.0;
+    }
+}
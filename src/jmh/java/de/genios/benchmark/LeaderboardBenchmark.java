@@ -0,0 +1,85 @@
+package de.genios.benchmark;
+
+import de.genios.api.Standing;
+import de.genios.model.ConcurrentBowlingGame;
+import de.genios.model.GameSnapshot;
+import de.genios.service.Leaderboard;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A venue full of lanes rolling while the displays read the leaderboard: one thread reports rolls of 10k running
+ * games, the other threads of the group read the top 10 or the rank of a game at the same time. The update rate of
+ * the roller must stay well above the 50k rolls per second a large venue produces at its peak.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LeaderboardBenchmark {
+    private static final int GAMES = 10_000;
+
+    private Leaderboard leaderboard;
+    private String[] gameIds;
+    //the state after every roll of every game
+    private GameSnapshot[][] rolls;
+
+    @Setup
+    public void setUp() {
+        leaderboard = new Leaderboard(1, TimeUnit.HOURS);
+        gameIds = new String[GAMES];
+        rolls = new GameSnapshot[GAMES][];
+        int[][] games = RollSequences.RANDOM.games(GAMES, 42L);
+        for (int game = 0; game < GAMES; game++) {
+            gameIds[game] = "lane-" + game;
+            ConcurrentBowlingGame bowlingGame = new ConcurrentBowlingGame();
+            rolls[game] = new GameSnapshot[games[game].length];
+            for (int n = 0; n < games[game].length; n++) {
+                rolls[game][n] = bowlingGame.roll(games[game][n]);
+            }
+            leaderboard.rolled(gameIds[game], rolls[game][0]);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Roller {
+        int game;
+        int[] nextRoll = new int[GAMES];
+        long round;
+    }
+
+    @Benchmark
+    @Group("venue")
+    @GroupThreads(1)
+    public void roll(Roller roller) {
+        int game = roller.game;
+        GameSnapshot[] gameRolls = rolls[game];
+        int n = roller.nextRoll[game];
+        if (n == gameRolls.length) {
+            //the game is over and leaves the board, the next one on the lane starts from scratch
+            n = 0;
+            leaderboard.remove(gameIds[game]);
+        }
+        leaderboard.rolled(gameIds[game], gameRolls[n]);
+        roller.nextRoll[game] = n + 1;
+        roller.game = game + 1 == GAMES ? 0 : game + 1;
+    }
+
+    @Benchmark
+    @Group("venue")
+    @GroupThreads(1)
+    public List<Standing> top10() {
+        return leaderboard.top(10);
+    }
+
+    @Benchmark
+    @Group("venue")
+    @GroupThreads(1)
+    public Standing rank(Roller roller) {
+        return leaderboard.standing(gameIds[(int) (roller.round++ % GAMES)]);
+    }
+}
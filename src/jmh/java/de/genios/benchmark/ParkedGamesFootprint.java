@@ -0,0 +1,108 @@
+package de.genios.benchmark;
+
+import de.genios.model.ConcurrentBowlingGame;
+import de.genios.model.GameSnapshot;
+import de.genios.store.GameStore;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Heap and garbage collection cost of millions of idle games, either all on the heap or parked off the heap. Not a
+ * JMH benchmark, as it measures one heap per JVM; run each mode in a JVM of its own after
+ * mvn -P benchmarks test-compile with
+ * java -Xmx4g -Xmn256m -cp target/classes:target/test-classes de.genios.benchmark.ParkedGamesFootprint heap|parked [games]
+ * <p>
+ * After filling the store it prints the heap in use after a full collection, the duration of that collection, and
+ * the young collections while 100k live games are rolled for ten seconds; the small young generation makes them
+ * frequent enough to compare.
+ */
+public class ParkedGamesFootprint {
+    private static final int LIVE_GAMES = 100_000;
+    private static final int SHARDS = 64;
+    //room for the games not spreading evenly over the shards, so that none is evicted
+    private static final double SLACK = 1.25;
+
+    public static void main(final String[] args) {
+        boolean parked = "parked".equals(args[0]);
+        int games = args.length > 1 ? Integer.parseInt(args[1]) : 5_000_000;
+
+        //parked: only the live games stay on the heap, everything else is parked when a shard overflows
+        GameStore gameStore = parked
+                ? new GameStore((int) (LIVE_GAMES * SLACK), SHARDS, 1, (int) (games * SLACK), 1, TimeUnit.DAYS)
+                : new GameStore((int) ((games + LIVE_GAMES) * SLACK), SHARDS, 1, TimeUnit.DAYS);
+        Random random = new Random(42);
+        for (int n = 0; n < games; n++) {
+            gameStore.put(new UUID(random.nextLong(), random.nextLong()).toString(),
+                    new ConcurrentBowlingGame(randomGame(random)));
+        }
+        String[] live = new String[LIVE_GAMES];
+        for (int n = 0; n < LIVE_GAMES; n++) {
+            live[n] = gameStore.create();
+        }
+
+        long fullGcNanos = fullGc();
+        fullGcNanos = Math.min(fullGcNanos, fullGc());
+        long heapBytes = heapUsed();
+        System.out.printf("%s: %d games on the heap, %d parked%n", args[0], gameStore.size(), gameStore.parkedSize());
+        System.out.printf("heap used %d MB (%d bytes per game), direct %d MB, full gc %d ms%n", heapBytes >> 20,
+                heapBytes / (games + LIVE_GAMES), gameStore.parkedDirectBytes() >> 20,
+                TimeUnit.NANOSECONDS.toMillis(fullGcNanos));
+
+        long[] before = gcCounts();
+        long rolls = 0;
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < end) {
+            for (int n = 0; n < 1000; n++) {
+                ConcurrentBowlingGame bowlingGame = gameStore.get(live[random.nextInt(LIVE_GAMES)]);
+                if (bowlingGame.isGameOver()) {
+                    bowlingGame.resetGame();
+                } else {
+                    bowlingGame.roll(0);
+                }
+                rolls++;
+            }
+        }
+        long[] after = gcCounts();
+        long collections = after[0] - before[0];
+        System.out.printf("rolling for 10 s: %d rolls, %d collections, %d ms in total, %.1f ms average%n", rolls,
+                collections, after[1] - before[1], collections == 0 ? 0.0 : (double) (after[1] - before[1]) / collections);
+    }
+
+    private static GameSnapshot randomGame(final Random random) {
+        GameSnapshot snapshot = GameSnapshot.EMPTY;
+        int rolls = 1 + random.nextInt(19);
+        while (snapshot.getRollCount() < rolls && !snapshot.isGameOver()) {
+            int pins = random.nextInt(11);
+            if (snapshot.check(pins).isAccepted()) {
+                snapshot = snapshot.roll(pins);
+            }
+        }
+        return snapshot;
+    }
+
+    private static long fullGc() {
+        long start = System.nanoTime();
+        System.gc();
+        return System.nanoTime() - start;
+    }
+
+    private static long heapUsed() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * @return collections and milliseconds spent collecting over all collectors
+     */
+    private static long[] gcCounts() {
+        long[] counts = new long[2];
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            counts[0] += collector.getCollectionCount();
+            counts[1] += collector.getCollectionTime();
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,77 @@
+package de.genios.benchmark;
+
+import de.genios.journal.RollJournal;
+import de.genios.model.ConcurrentBowlingGame;
+import de.genios.model.GameSnapshot;
+import de.genios.store.GameStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Per roll latency of the journal over 100k live games, with and without fsync. With several threads the appends
+ * share fsyncs through group commit:
+ * mvn -P benchmarks test-compile exec:exec -Djmh.args="RollJournalBenchmark -t 4"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RollJournalBenchmark {
+    static final int GAMES = 100_000;
+
+    @Param({"true", "false"})
+    public boolean fsync;
+
+    private Path directory;
+    private RollJournal journal;
+    private String[] gameIds;
+    private GameSnapshot[] snapshots;
+    private final AtomicInteger next = new AtomicInteger();
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("roll-journal");
+        GameStore gameStore = new GameStore(2 * GAMES, 64, 1, TimeUnit.HOURS);
+        journal = RollJournal.open(directory, fsync, gameStore);
+
+        int[][] games = RollSequences.RANDOM.games(GAMES, 42L);
+        gameIds = new String[GAMES];
+        snapshots = new GameSnapshot[GAMES];
+        for (int n = 0; n < GAMES; n++) {
+            gameIds[n] = gameStore.create();
+            ConcurrentBowlingGame game = gameStore.get(gameIds[n]);
+            for (int roll = 0; roll < games[n].length / 2; roll++) {
+                snapshots[n] = game.roll(games[n][roll]);
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        journal.close();
+        delete(directory);
+    }
+
+    @Benchmark
+    public void append() throws IOException {
+        int game = Math.floorMod(next.getAndIncrement(), GAMES);
+        journal.append(gameIds[game], snapshots[game]);
+    }
+
+    static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+}
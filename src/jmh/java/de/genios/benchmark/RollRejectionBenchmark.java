@@ -0,0 +1,59 @@
+package de.genios.benchmark;
+
+import de.genios.model.BowlingGame;
+import de.genios.model.GameState;
+import de.genios.model.RollStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of valid rolls against rejected ones, rejected by exception from roll and by status from tryRoll.
+ * Run with the gc profiler to see that a rejected tryRoll allocates nothing:
+ * mvn -P benchmarks test-compile exec:exec -Djmh.args="RollRejectionBenchmark -prof gc"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RollRejectionBenchmark {
+
+    private BowlingGame game;
+    //first roll 7, so any roll above 3 exceeds the pins standing
+    private BowlingGame openFrame;
+
+    @Setup
+    public void setUp() {
+        game = new BowlingGame();
+        openFrame = new BowlingGame();
+        openFrame.roll(7);
+    }
+
+    /**
+     * a valid roll, the game is reset after the first roll of the frame so that it never ends
+     */
+    @Benchmark
+    public RollStatus validTryRoll() {
+        if (game.getGameState() != GameState.FIRST_ROLL) {
+            game.resetGame();
+        }
+        return game.tryRoll(7);
+    }
+
+    @Benchmark
+    public RollStatus rejectedTryRoll() {
+        return openFrame.tryRoll(5);
+    }
+
+    @Benchmark
+    public String rejectedRoll() {
+        try {
+            openFrame.roll(5);
+            return null;
+        } catch (IllegalStateException e) {
+            return e.getMessage();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package de.genios.benchmark;
+
+import de.genios.helper.Constants;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Complete, legal roll sequences used as benchmark input.
+ */
+public enum RollSequences {
+    STRIKES {
+        @Override
+        public int[][] games(int count, long seed) {
+            return repeat(fill(12, Constants.TOTAL_NUMBER_OF_PINS), count);
+        }
+    },
+    SPARES {
+        @Override
+        public int[][] games(int count, long seed) {
+            return repeat(fill(21, 5), count);
+        }
+    },
+    GUTTER {
+        @Override
+        public int[][] games(int count, long seed) {
+            return repeat(fill(20, 0), count);
+        }
+    },
+    RANDOM {
+        @Override
+        public int[][] games(int count, long seed) {
+            Random random = new Random(seed);
+            int[][] games = new int[count][];
+            for (int n = 0; n < count; n++) {
+                games[n] = randomGame(random);
+            }
+            return games;
+        }
+    };
+
+    public abstract int[][] games(int count, long seed);
+
+    /**
+     * builds one random game that follows the pin rules of every frame including the fill ball of the tenth
+     */
+    public static int[] randomGame(Random random) {
+        int pins = Constants.TOTAL_NUMBER_OF_PINS;
+        int[] rolls = new int[21];
+        int size = 0;
+
+        for (int frame = 0; frame < Constants.TOTAL_NUMBER_OF_FRAMES - 1; frame++) {
+            int first = random.nextInt(pins + 1);
+            rolls[size++] = first;
+            if (first < pins) {
+                rolls[size++] = random.nextInt(pins - first + 1);
+            }
+        }
+
+        int first = random.nextInt(pins + 1);
+        rolls[size++] = first;
+        int second = random.nextInt((first == pins ? pins : pins - first) + 1);
+        rolls[size++] = second;
+        if (first == pins) {
+            rolls[size++] = random.nextInt((second == pins ? pins : pins - second) + 1);
+        } else if (first + second == pins) {
+            rolls[size++] = random.nextInt(pins + 1);
+        }
+        return Arrays.copyOf(rolls, size);
+    }
+
+    /**
+     * @return index of the first roll of every game in the flattened archive, followed by the total number of rolls
+     */
+    public static int[] offsets(int[][] games) {
+        int[] offsets = new int[games.length + 1];
+        for (int n = 0; n < games.length; n++) {
+            offsets[n + 1] = offsets[n] + games[n].length;
+        }
+        return offsets;
+    }
+
+    public static int[] flatten(int[][] games, int[] offsets) {
+        int[] rolls = new int[offsets[games.length]];
+        for (int n = 0; n < games.length; n++) {
+            System.arraycopy(games[n], 0, rolls, offsets[n], games[n].length);
+        }
+        return rolls;
+    }
+
+    private static int[] fill(int size, int pins) {
+        int[] rolls = new int[size];
+        Arrays.fill(rolls, pins);
+        return rolls;
+    }
+
+    private static int[][] repeat(int[] game, int count) {
+        int[][] games = new int[count][];
+        Arrays.fill(games, game);
+        return games;
+    }
+}
@@ -0,0 +1,60 @@
+package de.genios.benchmark;
+
+import de.genios.model.GameSnapshot;
+import de.genios.model.PinFallModel;
+import de.genios.model.ScoreOracle;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queries of the oracle after random rolls of 1000 games in progress. The distributions of the model are worked
+ * out by the first queries of the warmup, afterwards every query is a walk through the rolls and a table lookup.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScoreOracleBenchmark {
+    private static final int GAMES = 1000;
+
+    private final PinFallModel model = PinFallModel.uniform();
+    private GameSnapshot[] snapshots;
+    private int game;
+
+    @Setup
+    public void setUp() {
+        int[][] games = RollSequences.RANDOM.games(GAMES, 42L);
+        snapshots = new GameSnapshot[GAMES];
+        for (int n = 0; n < GAMES; n++) {
+            GameSnapshot snapshot = GameSnapshot.EMPTY;
+            //stop somewhere in the game
+            for (int roll = 0; roll < n % games[n].length; roll++) {
+                snapshot = snapshot.roll(games[n][roll]);
+            }
+            snapshots[n] = snapshot;
+        }
+    }
+
+    @Benchmark
+    public int maxScore() {
+        return ScoreOracle.maxScore(next());
+    }
+
+    @Benchmark
+    public int reachableScoreCount() {
+        return ScoreOracle.reachableScoreCount(next());
+    }
+
+    @Benchmark
+    public double[] distribution() {
+        return ScoreOracle.distribution(next(), model);
+    }
+
+    private GameSnapshot next() {
+        game = game + 1 == GAMES ? 0 : game + 1;
+        return snapshots[game];
+    }
+}
@@ -0,0 +1,75 @@
+package de.genios.benchmark;
+
+import de.genios.model.ConcurrentBowlingGame;
+import de.genios.model.GameSnapshot;
+import de.genios.service.ScoreboardPublisher;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fan-out of one roll to thousands of spectators of the same game on one node: the time from publishing a roll
+ * until every subscriber has received it. The sinks only count, so this measures the publisher itself and not
+ * the network.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScoreboardPublisherBenchmark {
+    private static final String GAME_ID = "lane-1";
+
+    @Param({"1000", "5000"})
+    public int subscribers;
+
+    @Param({"4"})
+    public int fanOutThreads;
+
+    private final AtomicLong delivered = new AtomicLong();
+    private long expected;
+
+    private ExecutorService fanOut;
+    private ScoreboardPublisher publisher;
+    private GameSnapshot snapshot;
+
+    @Setup
+    public void setUp() {
+        fanOut = Executors.newFixedThreadPool(fanOutThreads);
+        publisher = new ScoreboardPublisher(fanOut, 32, 5, TimeUnit.SECONDS);
+        for (int n = 0; n < subscribers; n++) {
+            publisher.subscribe(GAME_ID, new ScoreboardPublisher.EventSink() {
+                @Override
+                public void send(String event) {
+                    delivered.incrementAndGet();
+                }
+
+                @Override
+                public void close() {
+                }
+            });
+        }
+        ConcurrentBowlingGame bowlingGame = new ConcurrentBowlingGame();
+        bowlingGame.roll(10);
+        snapshot = bowlingGame.roll(10);
+    }
+
+    @TearDown
+    public void tearDown() {
+        publisher.destroy();
+    }
+
+    @Benchmark
+    public long publishAndDeliver() {
+        expected += subscribers;
+        publisher.rolled(GAME_ID, snapshot);
+        while (delivered.get() < expected) {
+            Thread.yield();
+        }
+        return expected;
+    }
+}
@@ -0,0 +1,55 @@
+package de.genios.controller;
+
+import de.genios.benchmark.RollSequences;
+import de.genios.config.PropertyConfig;
+import de.genios.model.GameSnapshot;
+import de.genios.model.Scoreboard;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.ui.ExtendedModelMap;
+import org.springframework.ui.Model;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures flattening the scoreboard into the view model without the Thymeleaf render, from the scoreboard cached on
+ * the snapshot and from a scoreboard rendered from scratch.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameControllerBenchmark {
+
+    @Param({"STRIKES", "RANDOM"})
+    public RollSequences sequence;
+
+    private GameController controller;
+    private GameSnapshot snapshot;
+
+    @Setup
+    public void setUp() {
+        snapshot = GameSnapshot.EMPTY;
+        for (int pins : sequence.games(1, 42L)[0]) {
+            snapshot = snapshot.roll(pins);
+        }
+
+        controller = new GameController();
+        controller.propertiesConfig = new PropertyConfig();
+    }
+
+    @Benchmark
+    public Model refreshScoreBoard() {
+        Model model = new ExtendedModelMap();
+        controller.refreshScoreBoard(model, snapshot.getScoreboard());
+        return model;
+    }
+
+    @Benchmark
+    public Model refreshScoreBoardUncached() {
+        Model model = new ExtendedModelMap();
+        controller.refreshScoreBoard(model, Scoreboard.EMPTY.next(snapshot));
+        return model;
+    }
+}
@@ -0,0 +1,93 @@
+package de.genios.service;
+
+import de.genios.benchmark.RollSequences;
+import de.genios.metrics.GameMetrics;
+import de.genios.model.GameSnapshot;
+import de.genios.store.GameStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rolls a whole game through the service, with the metrics recorded on every roll, and the same lookups and rolls
+ * without them to show the per roll cost of the instrumentation. The rejected benchmarks roll 5 after a 7, once
+ * through the exception of roll and once through the status of tryRoll.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameServiceBenchmark {
+
+    @Param({"STRIKES", "RANDOM"})
+    public RollSequences sequence;
+
+    private GameService gameService;
+    private GameStore gameStore;
+    private int[] rolls;
+    private String gameId;
+    private String openFrameId;
+
+    @Setup
+    public void setUp() {
+        gameStore = new GameStore(1024, 1, 1, TimeUnit.HOURS);
+        gameService = new GameService();
+        gameService.gameStore = gameStore;
+        gameService.gameMetrics = new GameMetrics();
+
+        rolls = sequence.games(1, 42L)[0];
+        gameId = gameService.create();
+        openFrameId = gameService.create();
+        gameService.roll(openFrameId, 7);
+    }
+
+    @Benchmark
+    public GameSnapshot rollGame() {
+        gameStore.get(gameId).resetGame();
+
+        GameSnapshot snapshot = null;
+        for (int pins : rolls) {
+            snapshot = gameService.roll(gameId, pins);
+        }
+        return snapshot;
+    }
+
+    @Benchmark
+    public GameSnapshot rollGameUninstrumented() {
+        gameStore.get(gameId).resetGame();
+
+        GameSnapshot snapshot = null;
+        for (int pins : rolls) {
+            snapshot = gameStore.get(gameId).roll(pins);
+        }
+        return snapshot;
+    }
+
+    @Benchmark
+    public GameSnapshot tryRollGame() {
+        gameStore.get(gameId).resetGame();
+
+        GameSnapshot snapshot = null;
+        for (int pins : rolls) {
+            snapshot = gameService.tryRoll(gameId, pins).getSnapshot();
+        }
+        return snapshot;
+    }
+
+    @Benchmark
+    public String rejectedRoll() {
+        try {
+            gameService.roll(openFrameId, 5);
+            return null;
+        } catch (IllegalStateException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public RollResult rejectedTryRoll() {
+        return gameService.tryRoll(openFrameId, 5);
+    }
+}
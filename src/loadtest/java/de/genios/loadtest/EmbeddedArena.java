@@ -0,0 +1,127 @@
+package de.genios.loadtest;
+
+import de.genios.MyServletInitializer;
+import de.genios.config.ExecutionModeFilter;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.servlet.FilterHolder;
+import org.eclipse.jetty.servlet.ServletContextHandler;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.EnumSet;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * The arena in an embedded Jetty under /arena, as mvn jetty:run serves it: the application is started through its
+ * servlet initializer, with the webapp directory of the sources for the templates.
+ * <p>
+ * Given an executor, the game requests are handed to it by an {@link ExecutionModeFilter} in front of the
+ * application, as web.execution=virtual does with virtual threads: the request goes async and the rest of the
+ * filter chain and the DispatcherServlet run on a thread of the executor.
+ */
+public class EmbeddedArena implements AutoCloseable {
+    public static final String CONTEXT_PATH = "/arena";
+    private static final String WEBAPP_DIRECTORY = "src/main/webapp";
+
+    private final Server server;
+    private final ServerConnector connector;
+    private final ExecutorService offload;
+
+    /**
+     * @param port 0 for a free one
+     */
+    public EmbeddedArena(final int port) throws IOException {
+        this(port, null);
+    }
+
+    /**
+     * @param offload runs the game requests, null to run them on the Jetty threads
+     */
+    public EmbeddedArena(final int port, final ExecutorService offload) throws IOException {
+        this.offload = offload;
+        server = new Server();
+        connector = new ServerConnector(server);
+        connector.setPort(port);
+        server.addConnector(connector);
+
+        ServletContextHandler context = new ServletContextHandler(ServletContextHandler.SESSIONS);
+        context.setContextPath(CONTEXT_PATH);
+        context.setResourceBase(WEBAPP_DIRECTORY);
+        if (offload != null) {
+            Properties properties = applicationProperties();
+            FilterHolder filter = new FilterHolder(new ExecutionModeFilter(offload,
+                    Set.of("/" + properties.getProperty("start-controller.path"),
+                            "/" + properties.getProperty("bowl-controller.path"),
+                            "/" + properties.getProperty("scoreboard-controller.path")),
+                    Long.parseLong(properties.getProperty("web.async-timeout-ms"))));
+            filter.setAsyncSupported(true);
+            context.addFilter(filter, "/*", EnumSet.of(DispatcherType.REQUEST));
+        }
+        //what the servlet container initializer does for the war
+        context.addEventListener(new ServletContextListener() {
+            @Override
+            public void contextInitialized(final ServletContextEvent event) {
+                try {
+                    new MyServletInitializer().onStartup(event.getServletContext());
+                } catch (ServletException e) {
+                    throw new IllegalStateException("Arena not started", e);
+                }
+            }
+        });
+        server.setHandler(context);
+    }
+
+    /**
+     * starts the arena on a free port with the shipped application.properties
+     *
+     * @param journal true to enable the journal, with fsync, in a new temporary directory
+     * @param offload runs the game requests, null to run them on the Jetty threads
+     */
+    public static EmbeddedArena start(final boolean journal, final ExecutorService offload) throws Exception {
+        if (journal) {
+            System.setProperty("journal.enabled", "true");
+            System.setProperty("journal.directory", Files.createTempDirectory("load-test-journal").toString());
+        }
+        EmbeddedArena arena = new EmbeddedArena(0, offload);
+        arena.start();
+        return arena;
+    }
+
+    public void start() throws Exception {
+        server.start();
+    }
+
+    /**
+     * @return the url of the arena, without a trailing slash
+     */
+    public String getBaseUrl() {
+        return "http://localhost:" + connector.getLocalPort() + CONTEXT_PATH;
+    }
+
+    @Override
+    public void close() throws Exception {
+        server.stop();
+        if (offload != null) {
+            offload.shutdown();
+        }
+    }
+
+    private static Properties applicationProperties() throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = EmbeddedArena.class.getClassLoader().getResourceAsStream("application.properties")) {
+            if (in == null) {
+                throw new IOException("application.properties not on the class path");
+            }
+            properties.load(in);
+        }
+        return properties;
+    }
+}
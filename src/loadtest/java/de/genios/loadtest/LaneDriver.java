@@ -0,0 +1,251 @@
+package de.genios.loadtest;
+
+import de.genios.model.BowlingGame;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bowls complete games on simulated lanes against an arena: a lane starts a game with GET /, bowls it with random
+ * legal rolls through GET /bowl until it is over, checks the final score of the page against its own count and
+ * starts the next game. The game id of the page's form field addresses the game, so the lanes need no session.
+ * After the warmup it measures the requests of the given seconds.
+ */
+public class LaneDriver {
+    private static final String GAME_ID_FIELD = "name=\"gameId\"";
+    private static final String VALUE = "value=\"";
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final int lanes;
+    private final String finalScore;
+
+    //set when the measurement starts and ends, lanes stop when it has ended
+    private volatile long measureFromNanos = Long.MAX_VALUE;
+    private volatile boolean stopped;
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong games = new AtomicLong();
+
+    /**
+     * @param finalScore the text of the page in front of the final score
+     */
+    public LaneDriver(final String baseUrl, final int lanes, final String finalScore) {
+        this.baseUrl = baseUrl;
+        this.lanes = lanes;
+        this.finalScore = finalScore;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+    }
+
+    public Result run(final int warmupSeconds, final int seconds) throws InterruptedException {
+        List<Lane> running = new ArrayList<>(lanes);
+        CountDownLatch done = new CountDownLatch(lanes);
+        for (int n = 0; n < lanes; n++) {
+            Lane lane = new Lane(new Random(n), done);
+            running.add(lane);
+            lane.start();
+        }
+
+        TimeUnit.SECONDS.sleep(warmupSeconds);
+        long from = System.nanoTime();
+        measureFromNanos = from;
+        TimeUnit.SECONDS.sleep(seconds);
+        stopped = true;
+        long elapsedNanos = System.nanoTime() - from;
+        done.await(60, TimeUnit.SECONDS);
+
+        int count = 0;
+        for (Lane lane : running) {
+            count += lane.sampleCount;
+        }
+        long[] latencies = new long[count];
+        int offset = 0;
+        for (Lane lane : running) {
+            System.arraycopy(lane.latencies, 0, latencies, offset, lane.sampleCount);
+            offset += lane.sampleCount;
+        }
+        Arrays.sort(latencies);
+        return new Result(lanes, latencies, elapsedNanos, games.get(), failures.get());
+    }
+
+    /**
+     * @return the latency of the quantile of the sorted nanoseconds in milliseconds, 0 without any
+     */
+    public static double percentile(final long[] sorted, final double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)] / 1e6;
+    }
+
+    /**
+     * @return the game id of the hidden form field of the game page, null if there is none
+     */
+    static String gameId(final String page) {
+        int field = page.indexOf(GAME_ID_FIELD);
+        if (field < 0) {
+            return null;
+        }
+        int start = page.indexOf(VALUE, field) + VALUE.length();
+        int end = page.indexOf('"', start);
+        return start < VALUE.length() || end < 0 ? null : page.substring(start, end);
+    }
+
+    /**
+     * the measured seconds of a run
+     */
+    public static class Result {
+        private final int lanes;
+        private final long[] latencies;
+        private final long elapsedNanos;
+        private final long games;
+        private final long failures;
+
+        Result(final int lanes, final long[] latencies, final long elapsedNanos, final long games,
+               final long failures) {
+            this.lanes = lanes;
+            this.latencies = latencies;
+            this.elapsedNanos = elapsedNanos;
+            this.games = games;
+            this.failures = failures;
+        }
+
+        public double requestsPerSecond() {
+            return latencies.length / (elapsedNanos / 1e9);
+        }
+
+        /**
+         * @return the latency of the quantile in milliseconds, 0 without requests
+         */
+        public double percentile(final double quantile) {
+            return LaneDriver.percentile(latencies, quantile);
+        }
+
+        public long getFailures() {
+            return failures;
+        }
+
+        @Override
+        public String toString() {
+            double seconds = elapsedNanos / 1e9;
+            return String.format("lanes %d, requests %d, %.0f requests/s, games %d, %.1f games/s, failures %d%n"
+                            + "latency ms p50 %.2f, p99 %.2f, p99.9 %.2f, max %.2f", lanes, latencies.length,
+                    requestsPerSecond(), games, games / seconds, failures, percentile(0.5), percentile(0.99),
+                    percentile(0.999), percentile(1.0));
+        }
+    }
+
+    /**
+     * one lane sending its next request when the previous one is answered; the callbacks of a lane never run
+     * concurrently, so its state needs no locking
+     */
+    private class Lane {
+        private final Random random;
+        private final CountDownLatch done;
+        private final BowlingGame bowlingGame = new BowlingGame();
+        private String gameId;
+
+        private long[] latencies = new long[1024];
+        private int sampleCount;
+
+        Lane(final Random random, final CountDownLatch done) {
+            this.random = random;
+            this.done = done;
+        }
+
+        void start() {
+            next();
+        }
+
+        private void next() {
+            if (stopped) {
+                done.countDown();
+                return;
+            }
+            String uri;
+            if (gameId == null) {
+                bowlingGame.resetGame();
+                uri = baseUrl + "/";
+            } else {
+                uri = baseUrl + "/bowl?gameId=" + gameId + "&pins=" + legalPins();
+            }
+
+            long sentNanos = System.nanoTime();
+            CompletableFuture<HttpResponse<String>> response = client.sendAsync(HttpRequest.newBuilder(URI.create(uri))
+                    .timeout(Duration.ofSeconds(60)).build(), HttpResponse.BodyHandlers.ofString());
+            response.whenComplete((answer, failure) -> {
+                long receivedNanos = System.nanoTime();
+                boolean measured = sentNanos >= measureFromNanos && !stopped;
+                try {
+                    if (failure != null || answer.statusCode() != 200) {
+                        fail(measured);
+                    } else {
+                        answered(answer.body(), measured);
+                    }
+                } catch (RuntimeException e) {
+                    //a broken page must not stop the lane
+                    fail(measured);
+                }
+                if (measured) {
+                    record(receivedNanos - sentNanos);
+                }
+                next();
+            });
+        }
+
+        private void answered(final String page, final boolean measured) {
+            if (gameId == null) {
+                gameId = gameId(page);
+                if (gameId == null) {
+                    fail(measured);
+                }
+            } else if (bowlingGame.isGameOver()) {
+                //the game is over with the last roll, the page must show the score the lane counted
+                if (!page.contains(finalScore + bowlingGame.score() + "<")) {
+                    fail(measured);
+                } else if (measured) {
+                    games.incrementAndGet();
+                }
+                gameId = null;
+            }
+        }
+
+        private void fail(final boolean measured) {
+            if (measured) {
+                failures.incrementAndGet();
+            }
+            gameId = null;
+        }
+
+        /**
+         * @return pins the game accepts, already rolled on the lane's own game
+         */
+        private int legalPins() {
+            int pins;
+            do {
+                pins = random.nextInt(11);
+            } while (!bowlingGame.tryRoll(pins).isAccepted());
+            return pins;
+        }
+
+        private void record(final long latencyNanos) {
+            if (sampleCount == latencies.length) {
+                latencies = Arrays.copyOf(latencies, sampleCount * 2);
+            }
+            latencies[sampleCount++] = latencyNanos;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package de.genios.loadtest;
+
+/**
+ * Load client for a running arena: bowls games on the given number of lanes with the {@link LaneDriver} and prints
+ * the request rate and the latency percentiles of the measured seconds, without a budget to check them against.
+ * <p>
+ * Run against mvn jetty:run after mvn -P loadtest test-compile with mvn -P loadtest exec:exec
+ * -Dloadtest.main=de.genios.loadtest.LaneLoadClient -Dloadtest.args="[baseUrl] [lanes] [warmupSeconds] [seconds]"
+ */
+public class LaneLoadClient {
+
+    public static void main(final String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080/arena";
+        int lanes = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        int warmupSeconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 30;
+
+        System.out.println(new LaneDriver(baseUrl, lanes, LaneLoadTest.finalScore()).run(warmupSeconds, seconds));
+    }
+}
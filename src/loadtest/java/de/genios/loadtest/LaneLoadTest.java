@@ -0,0 +1,134 @@
+package de.genios.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Load test of the arena: bowls complete games on simulated lanes with the {@link LaneDriver}, prints throughput and
+ * latency percentiles of the measured seconds, and exits with 1 if they exceed the regression budget.
+ * <p>
+ * The arena is started in an embedded Jetty in the same JVM unless base-url names a running one. The settings and
+ * the budget default to load-test.properties; run with mvn -P loadtest verify, or after mvn -P loadtest
+ * test-compile with mvn -P loadtest exec:exec -Dloadtest.args="lanes=200 budget.p99-ms=80".
+ */
+public class LaneLoadTest {
+    private static final String SETTINGS = "load-test.properties";
+    private static final String MESSAGES = "messages.properties";
+    private static final String PLATFORM = "platform";
+    private static final String OFFLOAD = "offload";
+
+    public static void main(final String[] args) throws Exception {
+        Properties settings = settings(SETTINGS, args);
+
+        String baseUrl = settings.getProperty("base-url");
+        EmbeddedArena arena = null;
+        if (baseUrl.isEmpty()) {
+            arena = EmbeddedArena.start(Boolean.parseBoolean(settings.getProperty("journal")),
+                    offload(settings.getProperty("execution")));
+            baseUrl = arena.getBaseUrl();
+        }
+
+        LaneDriver.Result result;
+        try {
+            result = new LaneDriver(baseUrl, intSetting(settings, "lanes"), finalScore())
+                    .run(intSetting(settings, "warmup-seconds"), intSetting(settings, "seconds"));
+        } finally {
+            if (arena != null) {
+                arena.close();
+            }
+        }
+
+        System.out.println(result);
+        List<String> exceeded = exceeded(result, settings);
+        for (String limit : exceeded) {
+            System.out.println("budget exceeded: " + limit);
+        }
+        System.exit(exceeded.isEmpty() ? 0 : 1);
+    }
+
+    /**
+     * @return the executor the embedded arena hands the game requests to, null for the Jetty threads
+     */
+    static ExecutorService offload(final String execution) {
+        switch (execution) {
+            case PLATFORM:
+                return null;
+            case OFFLOAD:
+                //a thread per concurrent request, as the virtual thread per task executor has, on platform threads
+                return Executors.newCachedThreadPool();
+            default:
+                throw new IllegalArgumentException("Unknown execution " + execution + ", expected " + PLATFORM
+                        + " or " + OFFLOAD);
+        }
+    }
+
+    /**
+     * @return the limits of the budget the run exceeds
+     */
+    static List<String> exceeded(final LaneDriver.Result result, final Properties budget) {
+        List<String> exceeded = new ArrayList<>();
+        double minRate = Double.parseDouble(budget.getProperty("budget.min-requests-per-second"));
+        if (result.requestsPerSecond() < minRate) {
+            exceeded.add(String.format("%.0f requests/s < %.0f", result.requestsPerSecond(), minRate));
+        }
+        checkLatency(exceeded, result, budget, "budget.p50-ms", 0.5);
+        checkLatency(exceeded, result, budget, "budget.p99-ms", 0.99);
+        checkLatency(exceeded, result, budget, "budget.p999-ms", 0.999);
+        long maxFailures = Long.parseLong(budget.getProperty("budget.max-failures"));
+        if (result.getFailures() > maxFailures) {
+            exceeded.add(String.format("%d failures > %d", result.getFailures(), maxFailures));
+        }
+        return exceeded;
+    }
+
+    /**
+     * @return the text of the game page in front of the final score
+     */
+    static String finalScore() throws IOException {
+        return load(MESSAGES).getProperty("final.score");
+    }
+
+    /**
+     * @return the settings of the resource, overridden by the key=value arguments
+     */
+    static Properties settings(final String resource, final String[] args) throws IOException {
+        Properties settings = load(resource);
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 0 || !settings.containsKey(arg.substring(0, separator))) {
+                throw new IllegalArgumentException("Unknown setting " + arg + ", expected one of "
+                        + settings.stringPropertyNames());
+            }
+            settings.setProperty(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        return settings;
+    }
+
+    private static Properties load(final String resource) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = LaneLoadTest.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IOException(resource + " not on the class path");
+            }
+            properties.load(in);
+        }
+        return properties;
+    }
+
+    static int intSetting(final Properties settings, final String key) {
+        return Integer.parseInt(settings.getProperty(key).trim());
+    }
+
+    private static void checkLatency(final List<String> exceeded, final LaneDriver.Result result,
+                                     final Properties budget, final String key, final double quantile) {
+        double limit = Double.parseDouble(budget.getProperty(key));
+        if (result.percentile(quantile) > limit) {
+            exceeded.add(String.format("%s %.2f ms > %.2f ms", key, result.percentile(quantile), limit));
+        }
+    }
+}
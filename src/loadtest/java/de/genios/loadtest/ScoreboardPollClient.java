@@ -0,0 +1,179 @@
+package de.genios.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Load client for lane displays polling the scoreboard of their game while the games are bowled slowly: every
+ * display thread polls its games in turn as fast as it can, one roller thread rolls a random game now and then.
+ * With "conditional" the displays send the ETag of the scoreboard they show and get 304 while it is unchanged,
+ * with "full" they fetch the whole page every time. Prints polls per second, latency and bytes per poll.
+ * <p>
+ * Run against mvn jetty:run after mvn -P loadtest test-compile with mvn -P loadtest exec:exec
+ * -Dloadtest.main=de.genios.loadtest.ScoreboardPollClient -Dloadtest.args="conditional|full [baseUrl] [games]
+ * [displays] [seconds]"
+ */
+public class ScoreboardPollClient {
+    private static final Pattern GAME_ID = Pattern.compile("\"gameId\":\"([^\"]+)\"");
+    //every game is rolled about once in this many milliseconds
+    private static final long ROLL_INTERVAL_MS = 5000;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(30))
+            .build();
+
+    public static void main(final String[] args) throws Exception {
+        boolean conditional = "conditional".equals(args[0]);
+        String baseUrl = args.length > 1 ? args[1] : "http://localhost:8080/arena";
+        int games = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+        int displays = args.length > 3 ? Integer.parseInt(args[3]) : 16;
+        int seconds = args.length > 4 ? Integer.parseInt(args[4]) : 30;
+
+        new ScoreboardPollClient().run(conditional, baseUrl, games, displays, seconds);
+    }
+
+    public void run(final boolean conditional, final String baseUrl, final int games, final int displays,
+                    final int seconds) throws Exception {
+        String[] gameIds = new String[games];
+        for (int n = 0; n < games; n++) {
+            HttpResponse<String> created = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/games"))
+                    .POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofString());
+            Matcher matcher = GAME_ID.matcher(created.body());
+            if (!matcher.find()) {
+                throw new IllegalStateException("No game id in " + created.body());
+            }
+            gameIds[n] = matcher.group(1);
+        }
+
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        AtomicLong bytes = new AtomicLong();
+        AtomicLong notModified = new AtomicLong();
+        Display[] running = new Display[displays];
+        for (int n = 0; n < displays; n++) {
+            running[n] = new Display(conditional, baseUrl, gameIds, n, displays, end, bytes, notModified);
+            running[n].start();
+        }
+        Thread roller = new Thread(() -> roll(baseUrl, gameIds, end));
+        roller.start();
+
+        int count = 0;
+        for (Display display : running) {
+            display.join();
+            count += display.sampleCount;
+        }
+        roller.join();
+        long[] latencies = new long[count];
+        int offset = 0;
+        for (Display display : running) {
+            System.arraycopy(display.latencies, 0, latencies, offset, display.sampleCount);
+            offset += display.sampleCount;
+        }
+        Arrays.sort(latencies);
+
+        System.out.printf("%s: %d games, %d displays, %d polls, %.0f polls/s, %.1f%% not modified, %d bytes per poll%n",
+                conditional ? "conditional" : "full", games, displays, count, count / (double) seconds,
+                100.0 * notModified.get() / Math.max(1, count), bytes.get() / Math.max(1, count));
+        if (count > 0) {
+            System.out.printf("latency ms p50 %.2f, p99 %.2f, p99.9 %.2f%n", LaneDriver.percentile(latencies, 0.5),
+                    LaneDriver.percentile(latencies, 0.99), LaneDriver.percentile(latencies, 0.999));
+        }
+    }
+
+    private void roll(final String baseUrl, final String[] gameIds, final long end) {
+        Random random = new Random(1);
+        long pauseMs = Math.max(1, ROLL_INTERVAL_MS / gameIds.length);
+        try {
+            while (System.nanoTime() < end) {
+                //a miss is legal until the game is over, later rolls are rejected and change nothing
+                String gameId = gameIds[random.nextInt(gameIds.length)];
+                client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/games/" + gameId + "/rolls"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"pins\":0}")).build(),
+                        HttpResponse.BodyHandlers.discarding());
+                TimeUnit.MILLISECONDS.sleep(pauseMs);
+            }
+        } catch (IOException | InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * polls the games n, n + displays, n + 2 * displays, ... in turn
+     */
+    private class Display extends Thread {
+        private final boolean conditional;
+        private final String baseUrl;
+        private final String[] gameIds;
+        private final int first;
+        private final int step;
+        private final long end;
+        private final AtomicLong bytes;
+        private final AtomicLong notModified;
+        private final String[] etags;
+
+        private long[] latencies = new long[1024];
+        private int sampleCount;
+
+        Display(final boolean conditional, final String baseUrl, final String[] gameIds, final int first,
+                final int step, final long end, final AtomicLong bytes, final AtomicLong notModified) {
+            this.conditional = conditional;
+            this.baseUrl = baseUrl;
+            this.gameIds = gameIds;
+            this.first = first;
+            this.step = step;
+            this.end = end;
+            this.bytes = bytes;
+            this.notModified = notModified;
+            this.etags = new String[gameIds.length];
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (System.nanoTime() < end) {
+                    for (int game = first; game < gameIds.length && System.nanoTime() < end; game += step) {
+                        poll(game);
+                    }
+                }
+            } catch (IOException | InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private void poll(final int game) throws IOException, InterruptedException {
+            HttpRequest.Builder request = HttpRequest.newBuilder(
+                    URI.create(baseUrl + "/scoreboard?gameId=" + gameIds[game]));
+            if (conditional && etags[game] != null) {
+                request.header("If-None-Match", etags[game]);
+            }
+            long start = System.nanoTime();
+            HttpResponse<byte[]> response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            record(System.nanoTime() - start);
+
+            bytes.addAndGet(response.body().length);
+            if (response.statusCode() == 304) {
+                notModified.incrementAndGet();
+            } else {
+                etags[game] = response.headers().firstValue("ETag").orElse(null);
+            }
+        }
+
+        private void record(final long latencyNanos) {
+            if (sampleCount == latencies.length) {
+                latencies = Arrays.copyOf(latencies, sampleCount * 2);
+            }
+            latencies[sampleCount++] = latencyNanos;
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package de.genios.loadtest;
+
+import de.genios.helper.Constants;
+import de.genios.model.BowlingGame;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Load test of the server-sent events of the spectators: every spectator follows the same game through
+ * GET /games/{id}/events on a connection of its own while the game is bowled through POST /games/{id}/rolls. Each
+ * roll waits until all spectators have received its event; the delivery time of a spectator is counted from the
+ * roll request being sent. Prints the delivery percentiles and exits with 1 if they exceed the budget or a spectator
+ * missed a roll.
+ * <p>
+ * The arena is started in an embedded Jetty in the same JVM unless base-url names a running one. The settings and
+ * the budget default to spectator-load-test.properties; run after mvn -P loadtest test-compile with
+ * mvn -P loadtest exec:exec -Dloadtest.main=de.genios.loadtest.SpectatorLoadTest -Dloadtest.args="spectators=5000".
+ */
+public class SpectatorLoadTest {
+    private static final String SETTINGS = "spectator-load-test.properties";
+    private static final Pattern GAME_ID = Pattern.compile("\"gameId\":\"([^\"]+)\"");
+    private static final Pattern VERSION = Pattern.compile("\"version\":(\\d+)");
+    private static final String DATA = "data:";
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final int spectators;
+    private final long deliveryTimeoutMs;
+
+    //the roll the spectators are waiting for
+    private volatile Roll current;
+
+    public SpectatorLoadTest(final String baseUrl, final int spectators, final long deliveryTimeoutMs) {
+        this.baseUrl = baseUrl;
+        this.spectators = spectators;
+        this.deliveryTimeoutMs = deliveryTimeoutMs;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+    }
+
+    public static void main(final String[] args) throws Exception {
+        Properties settings = LaneLoadTest.settings(SETTINGS, args);
+
+        String baseUrl = settings.getProperty("base-url");
+        EmbeddedArena arena = null;
+        if (baseUrl.isEmpty()) {
+            arena = EmbeddedArena.start(Boolean.parseBoolean(settings.getProperty("journal")), null);
+            baseUrl = arena.getBaseUrl();
+        }
+
+        Result result;
+        try {
+            result = new SpectatorLoadTest(baseUrl, LaneLoadTest.intSetting(settings, "spectators"),
+                    LaneLoadTest.intSetting(settings, "delivery-timeout-ms"))
+                    .run(LaneLoadTest.intSetting(settings, "games"));
+        } finally {
+            if (arena != null) {
+                arena.close();
+            }
+        }
+
+        System.out.println(result);
+        List<String> exceeded = result.exceeded(settings);
+        for (String limit : exceeded) {
+            System.out.println("budget exceeded: " + limit);
+        }
+        System.exit(exceeded.isEmpty() ? 0 : 1);
+    }
+
+    public Result run(final int games) throws Exception {
+        Random random = new Random(42);
+        long[] latencies = new long[games * spectators * Constants.MAX_NUMBER_OF_ROLLS];
+        int count = 0;
+        long missed = 0;
+        int rolls = 0;
+
+        for (int game = 0; game < games; game++) {
+            String gameId = create();
+            List<Spectator> following = subscribe(gameId);
+
+            BowlingGame bowlingGame = new BowlingGame();
+            for (int version = 1; !bowlingGame.isGameOver(); version++) {
+                int pins;
+                do {
+                    pins = random.nextInt(11);
+                } while (!bowlingGame.tryRoll(pins).isAccepted());
+
+                Roll roll = new Roll(version, spectators);
+                current = roll;
+                roll.sentNanos = System.nanoTime();
+                roll(gameId, pins);
+                roll.delivered.await(deliveryTimeoutMs, TimeUnit.MILLISECONDS);
+                rolls++;
+
+                for (Spectator spectator : following) {
+                    long receivedNanos = spectator.received.get(version);
+                    if (receivedNanos == 0) {
+                        missed++;
+                    } else {
+                        latencies[count++] = receivedNanos - roll.sentNanos;
+                    }
+                }
+            }
+            for (Spectator spectator : following) {
+                spectator.cancel();
+            }
+        }
+
+        long[] measured = Arrays.copyOf(latencies, count);
+        Arrays.sort(measured);
+        return new Result(spectators, rolls, measured, missed);
+    }
+
+    private String create() throws Exception {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/games"))
+                .POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofString());
+        Matcher gameId = GAME_ID.matcher(response.body());
+        if (response.statusCode() != 201 || !gameId.find()) {
+            throw new IllegalStateException("Game not created: " + response.statusCode() + " " + response.body());
+        }
+        return gameId.group(1);
+    }
+
+    private void roll(final String gameId, final int pins) throws Exception {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/games/" + gameId
+                        + "/rolls"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"pins\":" + pins + "}")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Roll not accepted: " + response.statusCode() + " " + response.body());
+        }
+    }
+
+    /**
+     * @return the spectators of the game once the arena has answered all their subscriptions
+     */
+    private List<Spectator> subscribe(final String gameId) throws InterruptedException {
+        CountDownLatch subscribed = new CountDownLatch(spectators);
+        List<Spectator> following = new ArrayList<>(spectators);
+        for (int n = 0; n < spectators; n++) {
+            Spectator spectator = new Spectator();
+            following.add(spectator);
+            //the arena has subscribed the spectator once it answers with the headers of the stream
+            client.sendAsync(HttpRequest.newBuilder(URI.create(baseUrl + "/games/" + gameId + "/events"))
+                    .header("Accept", "text/event-stream").build(), responseInfo -> {
+                        subscribed.countDown();
+                        return HttpResponse.BodySubscribers.fromLineSubscriber(spectator);
+                    });
+        }
+        if (!subscribed.await(60, TimeUnit.SECONDS)) {
+            throw new IllegalStateException(subscribed.getCount() + " spectators not subscribed");
+        }
+        return following;
+    }
+
+    /**
+     * a roll, delivered once every spectator has received its event
+     */
+    private static class Roll {
+        private final int version;
+        private final CountDownLatch delivered;
+        private volatile long sentNanos;
+
+        Roll(final int version, final int spectators) {
+            this.version = version;
+            this.delivered = new CountDownLatch(spectators);
+        }
+    }
+
+    /**
+     * one connection to the event stream, noting when it received each version of the game
+     */
+    private class Spectator implements Flow.Subscriber<String> {
+        private final AtomicLongArray received = new AtomicLongArray(Constants.MAX_NUMBER_OF_ROLLS + 1);
+        private volatile Flow.Subscription subscription;
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(final String line) {
+            if (!line.startsWith(DATA)) {
+                return;
+            }
+            long receivedNanos = System.nanoTime();
+            Matcher version = VERSION.matcher(line);
+            if (version.find()) {
+                int event = Integer.parseInt(version.group(1));
+                received.compareAndSet(event, 0, receivedNanos);
+                Roll roll = current;
+                if (roll != null && roll.version == event) {
+                    roll.delivered.countDown();
+                }
+            }
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            //a dropped connection shows as the rolls the spectator missed
+        }
+
+        @Override
+        public void onComplete() {
+        }
+
+        void cancel() {
+            subscription.cancel();
+        }
+    }
+
+    /**
+     * the delivery times of a run
+     */
+    public static class Result {
+        private final int spectators;
+        private final int rolls;
+        private final long[] latencies;
+        private final long missed;
+
+        Result(final int spectators, final int rolls, final long[] latencies, final long missed) {
+            this.spectators = spectators;
+            this.rolls = rolls;
+            this.latencies = latencies;
+            this.missed = missed;
+        }
+
+        /**
+         * @return the delivery time of the quantile in milliseconds, 0 without deliveries
+         */
+        public double percentile(final double quantile) {
+            return LaneDriver.percentile(latencies, quantile);
+        }
+
+        public List<String> exceeded(final Properties budget) {
+            List<String> exceeded = new ArrayList<>();
+            double limit = Double.parseDouble(budget.getProperty("budget.p99-ms"));
+            if (percentile(0.99) > limit) {
+                exceeded.add(String.format("budget.p99-ms %.2f ms > %.2f ms", percentile(0.99), limit));
+            }
+            long maxMissed = Long.parseLong(budget.getProperty("budget.max-missed"));
+            if (missed > maxMissed) {
+                exceeded.add(String.format("%d missed > %d", missed, maxMissed));
+            }
+            return exceeded;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("spectators %d, rolls %d, deliveries %d, missed %d%n"
+                            + "delivery ms p50 %.2f, p99 %.2f, p99.9 %.2f, max %.2f", spectators, rolls,
+                    latencies.length, missed, percentile(0.5), percentile(0.99), percentile(0.999), percentile(1.0));
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package de.genios;
 
 import de.genios.config.SpringWebConfig;
+import org.springframework.web.filter.DelegatingFilterProxy;
 import org.springframework.web.servlet.support.AbstractAnnotationConfigDispatcherServletInitializer;
 
+import javax.servlet.Filter;
+
 public class MyServletInitializer
         extends AbstractAnnotationConfigDispatcherServletInitializer {
 
@@ -22,4 +25,10 @@ public class MyServletInitializer
     protected String[] getServletMappings() {
         return new String[]{"/"};
     }
+
+    // runs the game requests on virtual threads if configured, see ExecutionModeFilter
+    @Override
+    protected Filter[] getServletFilters() {
+        return new Filter[]{new DelegatingFilterProxy("executionModeFilter")};
+    }
 }
@@ -0,0 +1,10 @@
+package de.genios.api;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ApiError {
+    private final String message;
+}
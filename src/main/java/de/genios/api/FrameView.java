@@ -0,0 +1,32 @@
+package de.genios.api;
+
+import de.genios.model.GameSnapshot;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * One frame of the scoreboard as sent to lane terminals.
+ */
+@Getter
+@AllArgsConstructor
+public class FrameView {
+    //1 to 10
+    private final int frame;
+    private final int[] rolls;
+    //the rolls as shown on the scoreboard, e.g. "X | 0"
+    private final String display;
+    //score of this frame plus all frames before it
+    private final int score;
+
+    /**
+     * reads the frame straight from the snapshot and the display cell from its scoreboard
+     */
+    public static FrameView of(final GameSnapshot snapshot, final int n) {
+        int[] rolls = new int[snapshot.getFrameRollCount(n)];
+        for (int roll = 0; roll < rolls.length; roll++) {
+            rolls[roll] = snapshot.getFrameRoll(n, roll);
+        }
+        return new FrameView(n + 1, rolls, snapshot.getScoreboard().getFrameCell(n),
+                snapshot.getAccumulatedFrameScore(n));
+    }
+}
@@ -0,0 +1,29 @@
+package de.genios.api;
+
+import de.genios.model.GameSnapshot;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The full scoreboard of a game.
+ */
+@Getter
+@AllArgsConstructor
+public class GameCard {
+    private final String gameId;
+    private final long version;
+    private final int score;
+    private final boolean gameOver;
+    private final List<FrameView> frames;
+
+    public static GameCard of(final String gameId, final GameSnapshot snapshot) {
+        List<FrameView> frames = new ArrayList<>(snapshot.getFrameCount());
+        for (int n = 0; n < snapshot.getFrameCount(); n++) {
+            frames.add(FrameView.of(snapshot, n));
+        }
+        return new GameCard(gameId, snapshot.getVersion(), snapshot.score(), snapshot.isGameOver(), frames);
+    }
+}
@@ -0,0 +1,7 @@
+package de.genios.api;
+
+public class GameNotFoundException extends RuntimeException {
+    public GameNotFoundException(String gameId) {
+        super("Game not found: " + gameId);
+    }
+}
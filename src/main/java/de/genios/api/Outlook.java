@@ -0,0 +1,34 @@
+package de.genios.api;
+
+import de.genios.model.GameSnapshot;
+import de.genios.model.PinFallModel;
+import de.genios.model.ScoreOracle;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * What a game can still end with. The probabilities are those of the final scores from minScore to maxScore,
+ * under the pin falls of the player or, without one, of a bowler hitting any pin count equally likely.
+ */
+@Getter
+@AllArgsConstructor
+public class Outlook {
+    private final String gameId;
+    private final long version;
+    private final int score;
+    private final int minScore;
+    private final int maxScore;
+    private final int reachableScores;
+    private final double expectedScore;
+    private final double[] probabilities;
+
+    public static Outlook of(final String gameId, final GameSnapshot snapshot, final PinFallModel model) {
+        double[] distribution = ScoreOracle.distribution(snapshot, model);
+        int minScore = ScoreOracle.minScore(snapshot);
+        return new Outlook(gameId, snapshot.getVersion(), snapshot.score(), minScore, ScoreOracle.maxScore(snapshot),
+                ScoreOracle.reachableScoreCount(snapshot), ScoreOracle.expectedScore(distribution),
+                Arrays.copyOfRange(distribution, minScore, distribution.length));
+    }
+}
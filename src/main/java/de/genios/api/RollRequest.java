@@ -0,0 +1,11 @@
+package de.genios.api;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class RollRequest {
+    //null if the body has no pins, which is answered with 400 rather than taken as a miss
+    private Integer pins;
+}
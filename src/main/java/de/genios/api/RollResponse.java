@@ -0,0 +1,41 @@
+package de.genios.api;
+
+import de.genios.model.GameSnapshot;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result of a roll: the running total and only the frames the roll changed, i.e. the current frame plus the
+ * previous frames that received a strike or spare bonus.
+ */
+@Getter
+@AllArgsConstructor
+public class RollResponse {
+    private final String gameId;
+    private final long version;
+    private final int score;
+    private final boolean gameOver;
+    private final List<FrameView> changedFrames;
+
+    public static RollResponse of(final String gameId, final GameSnapshot snapshot) {
+        return of(gameId, snapshot, snapshot.getFirstChangedFrame());
+    }
+
+    /**
+     * the roll with every frame of the game as changed, for a client that missed rolls before it
+     */
+    public static RollResponse withAllFrames(final String gameId, final GameSnapshot snapshot) {
+        return of(gameId, snapshot, 0);
+    }
+
+    private static RollResponse of(final String gameId, final GameSnapshot snapshot, final int firstFrame) {
+        List<FrameView> changedFrames = new ArrayList<>(snapshot.getFrameCount() - firstFrame);
+        for (int n = firstFrame; n < snapshot.getFrameCount(); n++) {
+            changedFrames.add(FrameView.of(snapshot, n));
+        }
+        return new RollResponse(gameId, snapshot.getVersion(), snapshot.score(), snapshot.isGameOver(), changedFrames);
+    }
+}
@@ -0,0 +1,17 @@
+package de.genios.api;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The place of one game on the leaderboard. Games with the same score share a rank.
+ */
+@Getter
+@AllArgsConstructor
+public class Standing {
+    private final int rank;
+    private final String gameId;
+    private final int score;
+    private final int maxScore;
+    private final boolean gameOver;
+}
@@ -0,0 +1,24 @@
+package de.genios.api;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Statistics of a player, a lane or the whole venue. firstBallPins holds how often the first ball of a frame
+ * knocked down 0 to 10 pins.
+ */
+@Getter
+@AllArgsConstructor
+public class StatisticsView {
+    private final long games;
+    private final long rolls;
+    private final long frames;
+    private final double strikePercent;
+    private final double spareConversionPercent;
+    private final double openFramePercent;
+    private final long[] firstBallPins;
+    private final double averageTenthFramePins;
+    private final long tenthFrameStrikes;
+    private final double averageScore;
+    private final int bestScore;
+}
@@ -0,0 +1,96 @@
+package de.genios.archive;
+
+import de.genios.model.BowlingScorer;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Scores a game archive on a {@link ForkJoinPool}. The archive is split into ranges of at most threshold games, every
+ * range writes the scores of its own games and the partial aggregates are summed up, so the result does not depend
+ * on the number of threads or the split. A game that breaks the rules fails the whole run with the
+ * IllegalStateException of {@link BowlingScorer}.
+ */
+public class ArchiveScorer {
+    public static final int DEFAULT_THRESHOLD = 8192;
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    public ArchiveScorer() {
+        this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * @param threshold number of games up to which a range is scored on one thread instead of being split further
+     */
+    public ArchiveScorer(final ForkJoinPool pool, final int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("threshold must be positive");
+        }
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    /**
+     * @param rolls   the rolls of all games back to back
+     * @param offsets index of the first roll of every game, followed by the end index of the last game
+     */
+    public ArchiveSummary score(final int[] rolls, final int[] offsets) {
+        int[] scores = new int[offsets.length - 1];
+        Partial partial = pool.invoke(new ScoreTask(rolls, offsets, scores, 0, scores.length));
+        return new ArchiveSummary(scores, partial.histogram, partial.totalScore);
+    }
+
+    private static class Partial {
+        private final long[] histogram = new long[ArchiveSummary.MAX_SCORE + 1];
+        private long totalScore;
+
+        private Partial add(final Partial other) {
+            for (int n = 0; n < histogram.length; n++) {
+                histogram[n] += other.histogram[n];
+            }
+            totalScore += other.totalScore;
+            return this;
+        }
+    }
+
+    private class ScoreTask extends RecursiveTask<Partial> {
+        private final int[] rolls;
+        private final int[] offsets;
+        private final int[] scores;
+        private final int from;
+        private final int to;
+
+        private ScoreTask(final int[] rolls, final int[] offsets, final int[] scores, final int from, final int to) {
+            this.rolls = rolls;
+            this.offsets = offsets;
+            this.scores = scores;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (to - from <= threshold) {
+                return scoreRange();
+            }
+            int middle = (from + to) >>> 1;
+            ScoreTask left = new ScoreTask(rolls, offsets, scores, from, middle);
+            left.fork();
+            Partial right = new ScoreTask(rolls, offsets, scores, middle, to).compute();
+            return left.join().add(right);
+        }
+
+        private Partial scoreRange() {
+            Partial partial = new Partial();
+            for (int game = from; game < to; game++) {
+                int score = BowlingScorer.score(rolls, offsets[game], offsets[game + 1]);
+                scores[game] = score;
+                partial.histogram[score]++;
+                partial.totalScore += score;
+            }
+            return partial;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package de.genios.archive;
+
+import lombok.Getter;
+
+/**
+ * Final score of every game of an archive plus the aggregates over all of them.
+ */
+@Getter
+public class ArchiveSummary {
+    public static final int MAX_SCORE = 300;
+
+    private final int[] scores;
+    //number of games per final score 0..300
+    private final long[] histogram;
+    private final long totalScore;
+
+    ArchiveSummary(final int[] scores, final long[] histogram, final long totalScore) {
+        this.scores = scores;
+        this.histogram = histogram;
+        this.totalScore = totalScore;
+    }
+
+    public int getGameCount() {
+        return scores.length;
+    }
+
+    public long getPerfectGames() {
+        return histogram[MAX_SCORE];
+    }
+
+    public double getMeanScore() {
+        return scores.length == 0 ? 0 : (double) totalScore / scores.length;
+    }
+}
@@ -0,0 +1,17 @@
+package de.genios.archive;
+
+import de.genios.helper.RollCodec;
+
+/**
+ * Layout of a game record file: an 8 byte header (magic, format version, 3 reserved bytes) followed by fixed size
+ * {@link RollCodec} records, so record n starts at HEADER_BYTES + n * RECORD_BYTES.
+ */
+final class GameRecordFormat {
+    static final int MAGIC = 0x42574C47; // "BWLG"
+    static final byte VERSION = 1;
+    static final int HEADER_BYTES = 8;
+    static final int RECORD_BYTES = RollCodec.RECORD_BYTES;
+
+    private GameRecordFormat() {
+    }
+}
@@ -0,0 +1,97 @@
+package de.genios.archive;
+
+import de.genios.helper.Constants;
+import de.genios.helper.CorruptRecordException;
+import de.genios.helper.RollCodec;
+import de.genios.model.BowlingScorer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a record file through memory mapped chunks of whole records. Records are decoded into one reused roll
+ * buffer, so streaming through the file does not allocate per record.
+ */
+public class GameRecordReader implements Closeable {
+    private static final int RECORDS_PER_CHUNK = Integer.MAX_VALUE / GameRecordFormat.RECORD_BYTES;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] chunks;
+    private final long recordCount;
+    private final int[] rolls = new int[Constants.MAX_NUMBER_OF_ROLLS];
+
+    public GameRecordReader(final Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < GameRecordFormat.HEADER_BYTES || (size - GameRecordFormat.HEADER_BYTES) % GameRecordFormat.RECORD_BYTES != 0) {
+                throw new IOException("Not a game record file: " + file);
+            }
+            ByteBuffer header = ByteBuffer.allocate(GameRecordFormat.HEADER_BYTES);
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0) {
+                    throw new IOException("Not a game record file: " + file);
+                }
+            }
+            if (header.getInt(0) != GameRecordFormat.MAGIC || header.get(4) != GameRecordFormat.VERSION) {
+                throw new IOException("Not a game record file: " + file);
+            }
+
+            recordCount = (size - GameRecordFormat.HEADER_BYTES) / GameRecordFormat.RECORD_BYTES;
+            chunks = new MappedByteBuffer[(int) ((recordCount + RECORDS_PER_CHUNK - 1) / RECORDS_PER_CHUNK)];
+            for (int n = 0; n < chunks.length; n++) {
+                long first = (long) n * RECORDS_PER_CHUNK;
+                long records = Math.min(RECORDS_PER_CHUNK, recordCount - first);
+                chunks[n] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        GameRecordFormat.HEADER_BYTES + first * GameRecordFormat.RECORD_BYTES, records * GameRecordFormat.RECORD_BYTES);
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * @return number of rolls copied into target
+     * @throws CorruptRecordException if the record is not a game
+     */
+    public int read(final long record, final int[] target) {
+        int chunk = (int) (record / RECORDS_PER_CHUNK);
+        int index = (int) (record % RECORDS_PER_CHUNK) * GameRecordFormat.RECORD_BYTES;
+        return RollCodec.read(chunks[chunk], index, target);
+    }
+
+    public int score(final long record) {
+        int count = read(record, rolls);
+        return BowlingScorer.score(rolls, 0, count);
+    }
+
+    /**
+     * hands every record to the consumer; the roll array is reused for the next record
+     */
+    public void forEach(final RecordConsumer consumer) {
+        for (long record = 0; record < recordCount; record++) {
+            int count = read(record, rolls);
+            consumer.accept(record, rolls, count);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    @FunctionalInterface
+    public interface RecordConsumer {
+        void accept(long record, int[] rolls, int count);
+    }
+}
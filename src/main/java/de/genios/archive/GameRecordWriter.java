@@ -0,0 +1,61 @@
+package de.genios.archive;
+
+import de.genios.helper.RollCodec;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes games into a new record file. Records are collected in one reused direct buffer and written in blocks.
+ */
+public class GameRecordWriter implements Closeable {
+    private static final int RECORDS_PER_BLOCK = 4096;
+
+    private final FileChannel channel;
+    private final ByteBuffer block = ByteBuffer.allocateDirect(RECORDS_PER_BLOCK * GameRecordFormat.RECORD_BYTES);
+
+    public GameRecordWriter(final Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+
+        ByteBuffer header = ByteBuffer.allocate(GameRecordFormat.HEADER_BYTES);
+        header.putInt(0, GameRecordFormat.MAGIC).put(4, GameRecordFormat.VERSION);
+        writeFully(header);
+    }
+
+    public void write(final int[] rolls) throws IOException {
+        write(rolls, 0, rolls.length);
+    }
+
+    public void write(final int[] rolls, final int from, final int count) throws IOException {
+        if (block.remaining() < GameRecordFormat.RECORD_BYTES) {
+            flush();
+        }
+        RollCodec.write(block, block.position(), rolls, from, count);
+        block.position(block.position() + GameRecordFormat.RECORD_BYTES);
+    }
+
+    public void flush() throws IOException {
+        block.flip();
+        writeFully(block);
+        block.clear();
+    }
+
+    private void writeFully(final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package de.genios.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.DispatcherType;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the requests of the GameController on virtual threads if web.execution is "virtual": the request is put
+ * into async mode and handled on its own virtual thread, so the container thread is free again at once and a
+ * request that blocks on I/O only parks its virtual thread. Virtual threads need JDK 21; the executor is looked up
+ * by reflection because the application is built for JDK 11, and without it requests stay on the container threads
+ * as in the default "platform" mode. Registered through a DelegatingFilterProxy in the servlet initializer.
+ * <p>
+ * The container leaves the scope of the request once this filter returns, and Jetty resets the context and servlet
+ * path of the request then, so the rest of the chain gets the request with the paths and the servlet context read
+ * on the container thread. The request has no container timeout, as Jetty recycles a timed out request while its
+ * handler may still be writing to it; instead web.async-timeout-ms bounds the wait for the executor, and a request
+ * that waited longer is answered with 503 without being handled. The offload path runs end to end with a platform
+ * thread pool in the load test (execution=offload); virtual threads themselves have not run yet, as that needs a
+ * JDK 21.
+ */
+@Component("executionModeFilter")
+@Slf4j
+public class ExecutionModeFilter implements Filter, InitializingBean, DisposableBean {
+    public static final String PLATFORM = "platform";
+    public static final String VIRTUAL = "virtual";
+
+    @Autowired
+    PropertyConfig propertiesConfig;
+
+    private ExecutorService executor;
+    private Set<String> paths;
+    private long asyncTimeoutMs;
+
+    public ExecutionModeFilter() {
+    }
+
+    /**
+     * @param executor runs the requests to the paths, null to run them on the container threads
+     */
+    public ExecutionModeFilter(final ExecutorService executor, final Set<String> paths, final long asyncTimeoutMs) {
+        this.executor = executor;
+        this.paths = paths;
+        this.asyncTimeoutMs = asyncTimeoutMs;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        paths = Set.of("/" + propertiesConfig.getStartPath(), "/" + propertiesConfig.getBowlPath(),
+                "/" + propertiesConfig.getScoreboardPath());
+        asyncTimeoutMs = propertiesConfig.getWebAsyncTimeoutMs();
+        String mode = propertiesConfig.getWebExecution();
+        if (VIRTUAL.equals(mode)) {
+            executor = newVirtualThreadPerTaskExecutor();
+            if (executor == null) {
+                log.warn("Virtual threads need JDK 21, running requests on platform threads on JDK {}",
+                        System.getProperty("java.version"));
+            } else {
+                log.info("Running the requests to {} on virtual threads", paths);
+            }
+        } else if (!PLATFORM.equals(mode)) {
+            throw new IllegalArgumentException("Unknown web.execution: " + mode);
+        }
+    }
+
+    /**
+     * @return whether requests are handed to virtual threads
+     */
+    public boolean isOffloading() {
+        return executor != null;
+    }
+
+    @Override
+    public void doFilter(final ServletRequest request, final ServletResponse response, final FilterChain chain)
+            throws IOException, ServletException {
+        if (executor == null || request.getDispatcherType() != DispatcherType.REQUEST || !request.isAsyncSupported()
+                || !paths.contains(path((HttpServletRequest) request))) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        ServletRequest offloaded = new OffloadedRequest((HttpServletRequest) request);
+        AsyncContext asyncContext = request.startAsync(request, response);
+        //only this filter completes the request, a container timeout would recycle it under a running handler
+        asyncContext.setTimeout(0);
+        long queuedNanos = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                try {
+                    if (System.nanoTime() - queuedNanos > TimeUnit.MILLISECONDS.toNanos(asyncTimeoutMs)) {
+                        log.warn("Request waited longer than {} ms for its virtual thread", asyncTimeoutMs);
+                        respond(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+                    } else {
+                        chain.doFilter(offloaded, response);
+                    }
+                } catch (IOException | ServletException | RuntimeException e) {
+                    log.warn("Request failed on its virtual thread", e);
+                    respond(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+                } finally {
+                    asyncContext.complete();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            //shutting down
+            asyncContext.complete();
+            throw new ServletException("Request rejected", e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    private static void respond(final ServletResponse response, final int status) {
+        if (!response.isCommitted()) {
+            ((HttpServletResponse) response).setStatus(status);
+        }
+    }
+
+    private static String path(final HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    /**
+     * the request with the paths and the servlet context it has while the container thread is in its scope
+     */
+    private static class OffloadedRequest extends HttpServletRequestWrapper {
+        private final String contextPath;
+        private final String servletPath;
+        private final String pathInfo;
+        private final String requestUri;
+        private final ServletContext servletContext;
+
+        OffloadedRequest(final HttpServletRequest request) {
+            super(request);
+            contextPath = request.getContextPath();
+            servletPath = request.getServletPath();
+            pathInfo = request.getPathInfo();
+            requestUri = request.getRequestURI();
+            servletContext = request.getServletContext();
+        }
+
+        @Override
+        public String getContextPath() {
+            return contextPath;
+        }
+
+        @Override
+        public String getServletPath() {
+            return servletPath;
+        }
+
+        @Override
+        public String getPathInfo() {
+            return pathInfo;
+        }
+
+        @Override
+        public String getRequestURI() {
+            return requestUri;
+        }
+
+        @Override
+        public ServletContext getServletContext() {
+            return servletContext;
+        }
+    }
+
+    /**
+     * @return Executors.newVirtualThreadPerTaskExecutor() or null before JDK 21
+     */
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -27,6 +27,64 @@ public class PropertyConfig {
 
     @Value("${index.page}")
     private String indexPage;
+
+    @Value("${start-controller.path}")
+    private String startPath;
+
+    @Value("${bowl-controller.path}")
+    private String bowlPath;
+
+    @Value("${scoreboard-controller.path}")
+    private String scoreboardPath;
+
+    @Value("${game.not.found}")
+    private String gameNotFound;
+
+    @Value("${game-store.capacity}")
+    private int gameStoreCapacity;
+
+    @Value("${game-store.shards}")
+    private int gameStoreShards;
+
+    @Value("${game-store.idle-timeout-minutes}")
+    private long gameStoreIdleTimeoutMinutes;
+
+    @Value("${game-store.parked-capacity}")
+    private int gameStoreParkedCapacity;
+
+    @Value("${game-store.parked-timeout-minutes}")
+    private long gameStoreParkedTimeoutMinutes;
+
+    @Value("${push.fan-out-threads}")
+    private int pushFanOutThreads;
+
+    @Value("${push.queue-capacity}")
+    private int pushQueueCapacity;
+
+    @Value("${push.emitter-timeout-ms}")
+    private long pushEmitterTimeoutMs;
+
+    @Value("${push.send-timeout-ms}")
+    private long pushSendTimeoutMs;
+
+    @Value("${journal.enabled}")
+    private boolean journalEnabled;
+
+    @Value("${journal.directory}")
+    private String journalDirectory;
+
+    @Value("${journal.fsync}")
+    private boolean journalFsync;
+
+    @Value("${web.execution}")
+    private String webExecution;
+
+    @Value("${web.async-timeout-ms}")
+    private long webAsyncTimeoutMs;
+
+    @Value("${web.rendering}")
+    private String webRendering;
+
     //this bean needed to resolve ${property.name} syntax
     @Bean
     public static PropertySourcesPlaceholderConfigurer propertyConfigInDev() {
@@ -1,14 +1,20 @@
 package de.genios.config;
 
-import de.genios.model.BowlingGame;
+import de.genios.metrics.GameMetrics;
+import de.genios.metrics.RenderTimingInterceptor;
+import de.genios.controller.GameController;
+import de.genios.store.GameStore;
+import de.genios.view.ShellView;
+import de.genios.view.ShellViewResolver;
 import lombok.Getter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.*;
 import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
-import org.springframework.web.context.WebApplicationContext;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.thymeleaf.spring5.SpringTemplateEngine;
@@ -16,7 +22,10 @@ import org.thymeleaf.spring5.templateresolver.SpringResourceTemplateResolver;
 import org.thymeleaf.spring5.view.ThymeleafViewResolver;
 import org.thymeleaf.templatemode.TemplateMode;
 
+import java.util.concurrent.TimeUnit;
+
 @EnableWebMvc
+@EnableScheduling
 @Configuration
 @ComponentScan({"de.genios"})
 public class SpringWebConfig implements WebMvcConfigurer {
@@ -24,6 +33,21 @@ public class SpringWebConfig implements WebMvcConfigurer {
     @Autowired
     private ApplicationContext applicationContext;
 
+    @Autowired
+    private PropertyConfig propertyConfig;
+
+    @Autowired
+    private GameMetrics gameMetrics;
+
+    @Value("/${start-controller.path}")
+    private String startPath;
+
+    @Value("/${bowl-controller.path}")
+    private String bowlPath;
+
+    @Value("/${scoreboard-controller.path}")
+    private String scoreboardPath;
+
     @Override
     public void addResourceHandlers(final ResourceHandlerRegistry registry) {
         registry.addResourceHandler("/css/**").addResourceLocations("/resources/core/css/");
@@ -31,6 +55,12 @@ public class SpringWebConfig implements WebMvcConfigurer {
         registry.addResourceHandler("/webjars/**").addResourceLocations("/webjars/");
     }
 
+    @Override
+    public void addInterceptors(final InterceptorRegistry registry) {
+        registry.addInterceptor(new RenderTimingInterceptor(gameMetrics)).addPathPatterns(startPath, bowlPath,
+                scoreboardPath);
+    }
+
     // Spring + Thymeleaf
     @Bean
     public SpringResourceTemplateResolver templateResolver() {
@@ -73,11 +103,17 @@ public class SpringWebConfig implements WebMvcConfigurer {
         return viewResolver;
     }
 
+    // ahead of the Thymeleaf view resolver for the game page
+    @Bean
+    public ShellViewResolver shellViewResolver() {
+        return new ShellViewResolver(propertyConfig.getWebRendering(), propertyConfig.getIndexPage(),
+                new ShellView(templateEngine(), propertyConfig.getIndexPage(), GameController.PAGE_ATTRIBUTES));
+    }
+
     @Bean
-    @Scope(
-            value = WebApplicationContext.SCOPE_SESSION,
-            proxyMode = ScopedProxyMode.TARGET_CLASS)
-    public BowlingGame bowlingGame() {
-        return new BowlingGame();
+    public GameStore gameStore() {
+        return new GameStore(propertyConfig.getGameStoreCapacity(), propertyConfig.getGameStoreShards(),
+                propertyConfig.getGameStoreIdleTimeoutMinutes(), propertyConfig.getGameStoreParkedCapacity(),
+                propertyConfig.getGameStoreParkedTimeoutMinutes(), TimeUnit.MINUTES);
     }
 }
\ No newline at end of file
@@ -0,0 +1,136 @@
+package de.genios.controller;
+
+import de.genios.api.ApiError;
+import de.genios.api.GameCard;
+import de.genios.api.GameNotFoundException;
+import de.genios.api.Outlook;
+import de.genios.api.RollRequest;
+import de.genios.api.RollResponse;
+import de.genios.config.PropertyConfig;
+import de.genios.helper.ExceptionConstants;
+import de.genios.metrics.RollStatistics;
+import de.genios.model.GameSnapshot;
+import de.genios.model.PinFallModel;
+import de.genios.service.GameService;
+import de.genios.service.GameStatistics;
+import de.genios.service.RollResult;
+import de.genios.service.ScoreboardPublisher;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+
+/**
+ * JSON API for lane terminals. A roll answers with the changed frames only instead of the rendered page, spectators
+ * get the same changes pushed as server-sent events.
+ */
+@RestController
+@RequestMapping("/games")
+@Slf4j
+public class GameApiController {
+    private static final String SUBSCRIBED = "subscribed";
+
+    @Autowired
+    PropertyConfig propertiesConfig;
+
+    @Autowired
+    GameService gameService;
+
+    @Autowired
+    ScoreboardPublisher scoreboardPublisher;
+
+    @Autowired
+    GameStatistics gameStatistics;
+
+    /**
+     * starts a game; its rolls count towards the statistics of the player and the lane if they are given
+     */
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public GameCard create(@RequestParam(required = false) String player, @RequestParam(required = false) String lane) {
+        String gameId = gameService.create();
+        log.info("Game started: {}", gameId);
+        if (player != null || lane != null) {
+            gameStatistics.assign(gameId, player, lane);
+        }
+
+        return GameCard.of(gameId, GameSnapshot.EMPTY);
+    }
+
+    /**
+     * answers with 304 if the If-None-Match header holds the version of the game, which is the ETag of the card
+     */
+    @GetMapping("/{gameId}")
+    public GameCard card(@PathVariable String gameId, WebRequest webRequest) {
+        GameSnapshot snapshot = gameService.snapshot(gameId);
+        if (webRequest.checkNotModified(String.valueOf(snapshot.getVersion()))) {
+            return null;
+        }
+        return GameCard.of(gameId, snapshot);
+    }
+
+    /**
+     * the final scores the game can still reach, their probabilities under the pin falls of the player if given
+     */
+    @GetMapping("/{gameId}/outlook")
+    public Outlook outlook(@PathVariable String gameId, @RequestParam(required = false) String player) {
+        RollStatistics statistics = player == null ? null : gameStatistics.getPlayer(player);
+        PinFallModel model = statistics == null ? PinFallModel.uniform() : statistics.pinFallModel();
+        return Outlook.of(gameId, gameService.snapshot(gameId), model);
+    }
+
+    /**
+     * answers a roll without pins with 400 and a rejected roll with 422 and the reason, without an exception on
+     * the way
+     */
+    @PostMapping("/{gameId}/rolls")
+    public ResponseEntity<Object> roll(@PathVariable String gameId, @RequestBody RollRequest rollRequest) {
+        if (rollRequest.getPins() == null) {
+            return ResponseEntity.badRequest().body(new ApiError(ExceptionConstants.PINS_MISSING));
+        }
+        RollResult result = gameService.tryRoll(gameId, rollRequest.getPins());
+        if (!result.isAccepted()) {
+            return ResponseEntity.unprocessableEntity().body(new ApiError(result.getStatus().getMessage()));
+        }
+        return ResponseEntity.ok(RollResponse.of(gameId, result.getSnapshot()));
+    }
+
+    /**
+     * streams a "roll" event with the changed frames of every roll of the game, after a comment that opens the
+     * stream at once; the headers would otherwise wait for the first roll
+     */
+    @GetMapping(value = "/{gameId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@PathVariable String gameId) throws IOException {
+        gameService.snapshot(gameId);
+
+        SseEmitter emitter = new SseEmitter(propertiesConfig.getPushEmitterTimeoutMs());
+        emitter.send(SseEmitter.event().comment(SUBSCRIBED));
+        Runnable unsubscribe = scoreboardPublisher.subscribe(gameId, new ScoreboardPublisher.EventSink() {
+            @Override
+            public void send(String event) throws IOException {
+                emitter.send(SseEmitter.event().name("roll").data(event, MediaType.APPLICATION_JSON));
+            }
+
+            @Override
+            public void close() {
+                emitter.complete();
+            }
+        });
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(e -> unsubscribe.run());
+        return emitter;
+    }
+
+    @ExceptionHandler(GameNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public ApiError notFound(GameNotFoundException e) {
+        return new ApiError(e.getMessage());
+    }
+}
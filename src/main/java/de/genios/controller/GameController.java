@@ -1,75 +1,156 @@
 package de.genios.controller;
 
 import de.genios.config.PropertyConfig;
+import de.genios.helper.Constants;
 import de.genios.helper.Util;
-import de.genios.model.BowlingGame;
+import de.genios.api.GameNotFoundException;
+import de.genios.metrics.GameMetrics;
+import de.genios.model.GameSnapshot;
+import de.genios.model.RollStatus;
+import de.genios.model.Scoreboard;
+import de.genios.service.GameService;
+import de.genios.service.RollResult;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
-import org.springframework.util.NumberUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import javax.servlet.http.HttpServletResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 @Controller
 @Slf4j
 public class GameController {
+    private static final String[] FRAME_KEYS = modelKeys("frame");
+    private static final String[] SCORE_KEYS = modelKeys("score");
+    /**
+     * the model attributes of the game page, left out of the cached shell when web.rendering is "shell"
+     */
+    public static final List<String> PAGE_ATTRIBUTES = pageAttributes();
 
     @Autowired
     PropertyConfig propertiesConfig;
 
     @Autowired
-    BowlingGame bowlingGame;
+    GameService gameService;
+
+    @Autowired
+    GameMetrics gameMetrics;
 
     @GetMapping(value = "/${start-controller.path}")
     public String start(Model model) {
-        bowlingGame.resetGame();
-        log.info("Game started");
+        String gameId = gameService.create();
+        log.info("Game started: {}", gameId);
 
+        model.addAttribute("gameId", gameId);
         return propertiesConfig.getIndexPage();
     }
 
     @GetMapping(value = ("/${bowl-controller.path}"))
-    public String bowl(Model model, @RequestParam("pins") String pins) {
-        if (!Util.validateInput(pins)) {
-            log.info("Input not valid. pins: " + pins);
+    public String bowl(Model model, @RequestParam("gameId") String gameId, @RequestParam("pins") String pins) {
+        model.addAttribute("gameId", gameId);
+
+        int pinCount = Util.parsePins(pins);
+        if (pinCount < 0) {
+            log.debug("Input not valid. pins: {}", pins);
+            gameMetrics.rejected(RollStatus.INVALID_ROLL);
 
             model.addAttribute("message", propertiesConfig.getWrongInput());
+            refreshScoreBoard(model, gameService.snapshot(gameId).getScoreboard());
             return propertiesConfig.getIndexPage();
         }
 
-        //ROLL
-        bowlingGame.roll(NumberUtils.parseNumber(pins, Integer.class));
+        //ROLL, a rejected roll is reported as status and leaves the game unchanged
+        RollResult result = gameService.tryRoll(gameId, pinCount);
+        GameSnapshot snapshot = result.isAccepted() ? result.getSnapshot() : gameService.snapshot(gameId);
+
+        if (result.getStatus() == RollStatus.PIN_COUNT_EXCEEDING) {
+            log.debug("Roll rejected. pins: {}", pinCount);
+            model.addAttribute("message", propertiesConfig.getPinExceeding());
+        }
 
         //Game over check
-        if (bowlingGame.isGameOver()) {
-            log.info("Game ended!");
+        if (snapshot.isGameOver()) {
+            if (result.isAccepted()) {
+                log.info("Game ended: {}", gameId);
+            }
             model.addAttribute("message", propertiesConfig.getGameOver());
-            model.addAttribute("finalScore", propertiesConfig.getFinalScore() + bowlingGame.score());
+            model.addAttribute("finalScore", propertiesConfig.getFinalScore() + snapshot.score());
         }
 
         //update the scoreboard
-        refreshScoreBoard(model);
+        refreshScoreBoard(model, snapshot.getScoreboard());
 
         return propertiesConfig.getIndexPage();
     }
 
-    @ExceptionHandler(value = IllegalStateException.class)
-    public String error(Model model) {
-
-        model.addAttribute("message", propertiesConfig.getPinExceeding());
-        refreshScoreBoard(model);
+    /**
+     * renders the scoreboard for lane displays polling it; the version of the game is the ETag, so a poll with the
+     * current version is answered with 304 before the scoreboard or the template is touched. An unknown or evicted
+     * game is answered with 404 and an empty scoreboard; unlike a roll, a poll does not start a new game
+     */
+    @GetMapping(value = ("/${scoreboard-controller.path}"))
+    public String scoreboard(Model model, WebRequest webRequest, HttpServletResponse response,
+                             @RequestParam("gameId") String gameId) {
+        GameSnapshot snapshot;
+        try {
+            snapshot = gameService.snapshot(gameId);
+        } catch (GameNotFoundException e) {
+            log.debug(e.getMessage());
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            model.addAttribute("message", propertiesConfig.getGameNotFound());
+            return propertiesConfig.getIndexPage();
+        }
+        if (webRequest.checkNotModified(String.valueOf(snapshot.getVersion()))) {
+            return null;
+        }
 
+        model.addAttribute("gameId", gameId);
+        if (snapshot.isGameOver()) {
+            model.addAttribute("message", propertiesConfig.getGameOver());
+            model.addAttribute("finalScore", propertiesConfig.getFinalScore() + snapshot.score());
+        }
+        refreshScoreBoard(model, snapshot.getScoreboard());
         return propertiesConfig.getIndexPage();
     }
 
-    public void refreshScoreBoard(Model model) {
-        List<String[]> scoreBoard = bowlingGame.calculateScoreboard();
+    /**
+     * starts a new game in place of the unknown one a roll was meant for
+     */
+    @ExceptionHandler(value = GameNotFoundException.class)
+    public String notFound(Model model, GameNotFoundException e) {
+        log.info(e.getMessage());
 
-        for (int n = 0; n < bowlingGame.getFrames().size(); n++) {
-            model.addAttribute("frame" + (n + 1), scoreBoard.get(n)[0]);
-            model.addAttribute("score" + (n + 1), scoreBoard.get(n)[1]);
+        model.addAttribute("message", propertiesConfig.getGameNotFound());
+        return start(model);
+    }
+
+    public void refreshScoreBoard(Model model, Scoreboard scoreboard) {
+        for (int n = 0; n < scoreboard.getFrameCount(); n++) {
+            model.addAttribute(FRAME_KEYS[n], scoreboard.getFrameCell(n));
+            model.addAttribute(SCORE_KEYS[n], scoreboard.getScoreCell(n));
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * @return the model attribute names prefix1 to prefix10 of the scoreboard cells
+     */
+    private static String[] modelKeys(String prefix) {
+        String[] keys = new String[Constants.TOTAL_NUMBER_OF_FRAMES];
+        for (int n = 0; n < keys.length; n++) {
+            keys[n] = prefix + (n + 1);
+        }
+        return keys;
+    }
+
+    private static List<String> pageAttributes() {
+        List<String> attributes = new ArrayList<>(List.of("gameId", "message", "finalScore"));
+        attributes.addAll(Arrays.asList(FRAME_KEYS));
+        attributes.addAll(Arrays.asList(SCORE_KEYS));
+        return List.copyOf(attributes);
+    }
+}
@@ -0,0 +1,43 @@
+package de.genios.controller;
+
+import de.genios.api.ApiError;
+import de.genios.api.GameNotFoundException;
+import de.genios.api.Standing;
+import de.genios.service.Leaderboard;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * JSON view of the leaderboard for the displays of the venue.
+ */
+@RestController
+@RequestMapping("/leaderboard")
+public class LeaderboardController {
+    private static final int MAX_TOP = 1000;
+
+    @Autowired
+    Leaderboard leaderboard;
+
+    @GetMapping
+    public List<Standing> top(@RequestParam(defaultValue = "10") int top) {
+        return leaderboard.top(Math.max(0, Math.min(top, MAX_TOP)));
+    }
+
+    @GetMapping("/{gameId}")
+    public Standing standing(@PathVariable String gameId) {
+        Standing standing = leaderboard.standing(gameId);
+        if (standing == null) {
+            throw new GameNotFoundException(gameId);
+        }
+        return standing;
+    }
+
+    @ExceptionHandler(GameNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public ApiError notFound(GameNotFoundException e) {
+        return new ApiError(e.getMessage());
+    }
+}
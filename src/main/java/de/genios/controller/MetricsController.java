@@ -0,0 +1,24 @@
+package de.genios.controller;
+
+import de.genios.metrics.GameMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Exposes {@link GameMetrics} in the Prometheus text format for a local scraper.
+ */
+@RestController
+public class MetricsController {
+    private static final String TEXT_FORMAT = "text/plain; version=0.0.4; charset=utf-8";
+
+    @Autowired
+    GameMetrics gameMetrics;
+
+    @GetMapping(value = "/metrics", produces = TEXT_FORMAT)
+    public String metrics() {
+        StringBuilder out = new StringBuilder(2048);
+        gameMetrics.writeTo(out);
+        return out.toString();
+    }
+}
@@ -0,0 +1,46 @@
+package de.genios.controller;
+
+import de.genios.api.ApiError;
+import de.genios.api.StatisticsView;
+import de.genios.metrics.RollStatistics;
+import de.genios.service.GameStatistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * JSON view of the roll statistics of the venue, of a player and of a lane.
+ */
+@RestController
+@RequestMapping("/statistics")
+public class StatisticsController {
+
+    @Autowired
+    GameStatistics gameStatistics;
+
+    @GetMapping
+    public StatisticsView venue() {
+        return gameStatistics.getVenue().view();
+    }
+
+    @GetMapping("/players/{player}")
+    public ResponseEntity<Object> player(@PathVariable String player) {
+        return view(gameStatistics.getPlayer(player), "Player not found: " + player);
+    }
+
+    @GetMapping("/lanes/{lane}")
+    public ResponseEntity<Object> lane(@PathVariable String lane) {
+        return view(gameStatistics.getLane(lane), "Lane not found: " + lane);
+    }
+
+    private static ResponseEntity<Object> view(final RollStatistics statistics, final String notFound) {
+        if (statistics == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ApiError(notFound));
+        }
+        return ResponseEntity.ok(statistics.view());
+    }
+}
@@ -3,4 +3,5 @@ package de.genios.helper;
 public class Constants {
     public final static int TOTAL_NUMBER_OF_PINS = 10;
     public final static int TOTAL_NUMBER_OF_FRAMES = 10;
+    public final static int MAX_NUMBER_OF_ROLLS = 21;
 }
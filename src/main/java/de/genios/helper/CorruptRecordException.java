@@ -0,0 +1,11 @@
+package de.genios.helper;
+
+/**
+ * Thrown when a {@link RollCodec} record read from a buffer cannot have been written by it, e.g. a roll count above
+ * the rolls of a game.
+ */
+public class CorruptRecordException extends RuntimeException {
+    public CorruptRecordException(String message) {
+        super(message);
+    }
+}
@@ -4,4 +4,5 @@ public class ExceptionConstants {
     public static final String INVALID_ROLL = "Invalid Roll";
     public static final String PIN_COUNT_EXCEEDING = "Pin count exceeds pins on the lane";
     public static final String GAME_IS_OVER = "Cannot roll after game is over";
+    public static final String PINS_MISSING = "The roll needs the pins";
 }
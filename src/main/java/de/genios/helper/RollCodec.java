@@ -0,0 +1,91 @@
+package de.genios.helper;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+
+/**
+ * Packs the rolls of one game into a fixed size record: one byte with the number of rolls followed by up to 21 pin
+ * counts of 4 bits each, the even rolls in the low and the odd rolls in the high nibble. On streams the record is
+ * cut after the last roll.
+ */
+public class RollCodec {
+    public static final int RECORD_BYTES = 1 + (Constants.MAX_NUMBER_OF_ROLLS + 1) / 2;
+
+    /**
+     * writes the record at the given byte index without moving the buffer position
+     */
+    public static void write(ByteBuffer buffer, int index, int[] rolls, int from, int count) {
+        if (count > Constants.MAX_NUMBER_OF_ROLLS) {
+            throw new IllegalArgumentException("a game has at most " + Constants.MAX_NUMBER_OF_ROLLS + " rolls");
+        }
+        buffer.put(index, (byte) count);
+        for (int n = 0; n < RECORD_BYTES - 1; n++) {
+            int low = 2 * n < count ? pins(rolls[from + 2 * n]) : 0;
+            int high = 2 * n + 1 < count ? pins(rolls[from + 2 * n + 1]) : 0;
+            buffer.put(index + 1 + n, (byte) (low | high << 4));
+        }
+    }
+
+    /**
+     * reads the record at the given byte index without moving the buffer position
+     *
+     * @return number of rolls copied into rolls
+     * @throws CorruptRecordException if the roll count is out of range, before rolls is touched
+     */
+    public static int read(ByteBuffer buffer, int index, int[] rolls) {
+        int count = buffer.get(index) & 0xFF;
+        if (count > Constants.MAX_NUMBER_OF_ROLLS) {
+            throw new CorruptRecordException("roll count out of range: " + count);
+        }
+        for (int n = 0; n < count; n++) {
+            int packed = buffer.get(index + 1 + (n >> 1));
+            rolls[n] = (n & 1) == 0 ? packed & 0xF : (packed >> 4) & 0xF;
+        }
+        return count;
+    }
+
+    /**
+     * writes the record without the bytes after the last roll
+     */
+    public static void write(DataOutput out, int[] rolls, int from, int count) throws IOException {
+        if (count > Constants.MAX_NUMBER_OF_ROLLS) {
+            throw new IllegalArgumentException("a game has at most " + Constants.MAX_NUMBER_OF_ROLLS + " rolls");
+        }
+        out.writeByte(count);
+        for (int n = 0; 2 * n < count; n++) {
+            int low = pins(rolls[from + 2 * n]);
+            int high = 2 * n + 1 < count ? pins(rolls[from + 2 * n + 1]) : 0;
+            out.writeByte(low | high << 4);
+        }
+    }
+
+    /**
+     * reads a record written by {@link #write(DataOutput, int[], int, int)}
+     *
+     * @return number of rolls copied into rolls
+     */
+    public static int read(DataInput in, int[] rolls) throws IOException {
+        int count = in.readUnsignedByte();
+        if (count > Constants.MAX_NUMBER_OF_ROLLS) {
+            throw new StreamCorruptedException("roll count out of range: " + count);
+        }
+        for (int n = 0; 2 * n < count; n++) {
+            int packed = in.readUnsignedByte();
+            rolls[2 * n] = packed & 0xF;
+            if (2 * n + 1 < count) {
+                rolls[2 * n + 1] = packed >> 4;
+            }
+        }
+        return count;
+    }
+
+    private static int pins(int pins) {
+        if (pins < 0 || pins > Constants.TOTAL_NUMBER_OF_PINS) {
+            throw new IllegalArgumentException("pin count out of range: " + pins);
+        }
+        return pins;
+    }
+}
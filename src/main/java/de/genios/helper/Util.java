@@ -1,13 +1,22 @@
 package de.genios.helper;
 
-import java.util.Arrays;
-
 public class Util {
 
     public static boolean validateInput(String pins) {
-        if (!Arrays.asList("0", "1", "2", "3", "4", "5", "6", "7", "8", "9", "10").contains(pins)) {
-            return false;
+        return parsePins(pins) >= 0;
+    }
+
+    /**
+     * @return the pin count "0" to "10" stands for or -1 for any other input
+     */
+    public static int parsePins(String pins) {
+        if (pins == null || pins.isEmpty() || pins.length() > 2) {
+            return -1;
+        }
+        int first = pins.charAt(0) - '0';
+        if (pins.length() == 1) {
+            return first >= 0 && first <= 9 ? first : -1;
         }
-        return true;
+        return first == 1 && pins.charAt(1) == '0' ? Constants.TOTAL_NUMBER_OF_PINS : -1;
     }
 }
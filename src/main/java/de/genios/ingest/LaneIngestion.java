@@ -0,0 +1,98 @@
+package de.genios.ingest;
+
+import de.genios.model.BowlingGame;
+import de.genios.model.RollStatus;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+
+/**
+ * Ingests the roll feed of the pinsetters of all lanes. One producer thread publishes the rolls into a
+ * {@link RollRingBuffer}; every lane has a consumer thread that owns the {@link BowlingGame} of the lane, so rolls
+ * are scored without a lock and without allocating. A roll after the end of a game starts the next game of the lane.
+ * Lanes are numbered from 0.
+ */
+@Slf4j
+public class LaneIngestion implements Closeable {
+    private final RollRingBuffer ring;
+    private final LaneListener listener;
+    private final Thread[] consumers;
+    private volatile boolean running = true;
+
+    /**
+     * starts one consumer thread per lane
+     *
+     * @param ringSize number of rolls that may be published ahead of the slowest lane, rounded up to a power of two
+     */
+    public LaneIngestion(final int lanes, final int ringSize, final LaneListener listener) {
+        this.ring = new RollRingBuffer(ringSize, lanes);
+        this.listener = listener;
+        this.consumers = new Thread[lanes];
+        for (int lane = 0; lane < lanes; lane++) {
+            int consumerLane = lane;
+            consumers[lane] = new Thread(() -> consume(consumerLane), "lane-" + lane);
+            consumers[lane].setDaemon(true);
+            consumers[lane].start();
+        }
+    }
+
+    public int getLanes() {
+        return consumers.length;
+    }
+
+    /**
+     * publishes a roll of the lane and waits while the ring is full. Must only be called from one thread at a time,
+     * the producer.
+     */
+    public void publish(final int lane, final int pins) {
+        if (lane < 0 || lane >= consumers.length) {
+            throw new IllegalArgumentException("No such lane: " + lane);
+        }
+        ring.publish(lane, pins, System.nanoTime());
+    }
+
+    /**
+     * waits until every roll published so far has been handled by its lane. Must be called from the producer.
+     */
+    public void flush() {
+        ring.awaitConsumers(ring.published());
+    }
+
+    /**
+     * handles the rolls published so far and stops the lanes
+     */
+    @Override
+    public void close() {
+        flush();
+        running = false;
+        for (Thread consumer : consumers) {
+            consumer.interrupt();
+        }
+        for (Thread consumer : consumers) {
+            try {
+                consumer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void consume(final int lane) {
+        BowlingGame game = new BowlingGame();
+        RollRingBuffer.Handler handler = event -> {
+            if (game.isGameOver()) {
+                game.resetGame();
+            }
+            RollStatus status = game.tryRoll(event.pins);
+            try {
+                listener.rolled(lane, event.pins, status, game, event.publishedNanos);
+            } catch (RuntimeException e) {
+                log.warn("Listener failed on a roll of lane {}", lane, e);
+            }
+        };
+        while (running) {
+            ring.consume(lane, handler);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package de.genios.ingest;
+
+import de.genios.model.BowlingGame;
+import de.genios.model.RollStatus;
+
+/**
+ * Told about every roll of a lane on the consumer thread of the lane, so it must be quick and must not throw.
+ */
+public interface LaneListener {
+
+    /**
+     * @param game           the game of the lane after the roll; it stays owned by the lane, so it must not be
+     *                       kept or read after returning
+     * @param publishedNanos System.nanoTime() when the roll was published
+     */
+    void rolled(int lane, int pins, RollStatus status, BowlingGame game, long publishedNanos);
+}
@@ -0,0 +1,11 @@
+package de.genios.ingest;
+
+/**
+ * A slot of the {@link RollRingBuffer}, reused for every roll that passes through it.
+ */
+final class RollEvent {
+    int lane;
+    int pins;
+    //System.nanoTime() when the roll was published
+    long publishedNanos;
+}
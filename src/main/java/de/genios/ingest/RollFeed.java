@@ -0,0 +1,72 @@
+package de.genios.ingest;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads the roll feed of the pinsetters from a stream, e.g. a socket or a recorded file. Every line holds the lane
+ * and the pins of one roll separated by blanks, e.g. "12 7". The bytes are parsed in place, so reading allocates
+ * nothing but the buffer.
+ */
+public final class RollFeed {
+    private static final int BUFFER_BYTES = 64 * 1024;
+    //larger numbers are malformed, which also keeps the parsed values from overflowing
+    private static final int MAX_VALUE = 9999;
+
+    private final LaneIngestion ingestion;
+    private final int[] fields = new int[2];
+    private int fieldCount;
+    private int value = -1;
+    private boolean malformed;
+    private long published;
+
+    private RollFeed(final LaneIngestion ingestion) {
+        this.ingestion = ingestion;
+    }
+
+    /**
+     * publishes every roll of the stream until it ends; lines that are not two numbers or name an unknown lane are
+     * skipped, pin counts are left to the lane to reject
+     *
+     * @return number of rolls published
+     */
+    public static long publish(final InputStream in, final LaneIngestion ingestion) throws IOException {
+        RollFeed feed = new RollFeed(ingestion);
+        byte[] buffer = new byte[BUFFER_BYTES];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            for (int n = 0; n < read; n++) {
+                feed.accept(buffer[n]);
+            }
+        }
+        //the last line may lack its line break
+        feed.accept((byte) '\n');
+        return feed.published;
+    }
+
+    private void accept(final byte b) {
+        if (b >= '0' && b <= '9') {
+            value = value < 0 ? b - '0' : Math.min(value * 10 + b - '0', MAX_VALUE + 1);
+            return;
+        }
+        if (value >= 0) {
+            if (fieldCount < fields.length && value <= MAX_VALUE) {
+                fields[fieldCount] = value;
+            } else {
+                malformed = true;
+            }
+            fieldCount++;
+            value = -1;
+        }
+        if (b == '\n') {
+            if (!malformed && fieldCount == fields.length && fields[0] < ingestion.getLanes()) {
+                ingestion.publish(fields[0], fields[1]);
+                published++;
+            }
+            fieldCount = 0;
+            malformed = false;
+        } else if (b != ' ' && b != '\t' && b != '\r') {
+            malformed = true;
+        }
+    }
+}
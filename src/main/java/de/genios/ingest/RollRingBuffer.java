@@ -0,0 +1,155 @@
+package de.genios.ingest;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded ring of preallocated roll events with one producer and one consumer per lane. Every consumer reads every
+ * event and handles those of its lane, so the events of a lane are handled in order by one thread. The producer
+ * fills a slot only after all consumers have passed it, publishing never allocates.
+ * <p>
+ * A consumer with nothing to read parks. The producer only wakes the consumer of the lane it published to; the
+ * other consumers skip the event whenever they wake up next, and are woken when the ring is full and waits for them.
+ */
+final class RollRingBuffer {
+    //how long a consumer spins before it parks and how long it parks at most, so that a missed wake up only delays it
+    private static final int SPINS = 100;
+    private static final long MAX_PARK_NANOS = 1_000_000L;
+
+    private final RollEvent[] events;
+    private final int mask;
+    //sequence of the last published event, written by the producer only
+    private final AtomicLong cursor = new AtomicLong(-1);
+    private final Consumer[] consumers;
+
+    //owned by the producer
+    private long nextSequence;
+    private long cachedGate = -1;
+
+    /**
+     * @param size number of events, rounded up to a power of two
+     */
+    RollRingBuffer(final int size, final int consumerCount) {
+        int capacity = Integer.highestOneBit(Math.max(2, size) - 1) << 1;
+        events = new RollEvent[capacity];
+        for (int n = 0; n < capacity; n++) {
+            events[n] = new RollEvent();
+        }
+        mask = capacity - 1;
+        consumers = new Consumer[consumerCount];
+        for (int n = 0; n < consumerCount; n++) {
+            consumers[n] = new Consumer();
+        }
+    }
+
+    int capacity() {
+        return events.length;
+    }
+
+    /**
+     * publishes a roll; waits while the ring is full. Must only be called from the producer thread.
+     */
+    void publish(final int lane, final int pins, final long publishedNanos) {
+        long sequence = nextSequence;
+        long wrapPoint = sequence - events.length;
+        if (wrapPoint > cachedGate) {
+            cachedGate = awaitConsumers(wrapPoint);
+        }
+        RollEvent event = events[(int) sequence & mask];
+        event.lane = lane;
+        event.pins = pins;
+        event.publishedNanos = publishedNanos;
+        nextSequence = sequence + 1;
+        cursor.set(sequence);
+
+        Consumer consumer = consumers[lane];
+        if (consumer.waiting) {
+            LockSupport.unpark(consumer.thread);
+        }
+    }
+
+    /**
+     * @return sequence of the last published event
+     */
+    long published() {
+        return nextSequence - 1;
+    }
+
+    /**
+     * @return sequence of the last event every consumer has passed
+     */
+    long consumed() {
+        long min = Long.MAX_VALUE;
+        for (Consumer consumer : consumers) {
+            min = Math.min(min, consumer.sequence.get());
+        }
+        return min;
+    }
+
+    /**
+     * hands the next published events to the handler on the consumer thread of the lane and waits if there are none
+     *
+     * @return false if there were no events before the wait timed out or the thread was interrupted
+     */
+    boolean consume(final int lane, final Handler handler) {
+        Consumer consumer = consumers[lane];
+        long next = consumer.sequence.get() + 1;
+        long available = cursor.get();
+        for (int spin = 0; available < next && spin < SPINS; spin++) {
+            Thread.onSpinWait();
+            available = cursor.get();
+        }
+        if (available < next) {
+            consumer.thread = Thread.currentThread();
+            consumer.waiting = true;
+            //the producer publishes before it checks waiting, so either it sees the flag or this sees the event
+            available = cursor.get();
+            if (available < next) {
+                LockSupport.parkNanos(this, MAX_PARK_NANOS);
+                available = cursor.get();
+            }
+            consumer.waiting = false;
+            if (available < next) {
+                return false;
+            }
+        }
+
+        for (long sequence = next; sequence <= available; sequence++) {
+            RollEvent event = events[(int) sequence & mask];
+            if (event.lane == lane) {
+                handler.handle(event);
+            }
+        }
+        consumer.sequence.lazySet(available);
+        return true;
+    }
+
+    /**
+     * waits until every consumer has passed the sequence, waking those parked before it
+     *
+     * @return sequence of the last event every consumer has passed
+     */
+    long awaitConsumers(final long sequence) {
+        long gate;
+        while ((gate = consumed()) < sequence) {
+            for (Consumer consumer : consumers) {
+                if (consumer.waiting && consumer.sequence.get() < sequence) {
+                    LockSupport.unpark(consumer.thread);
+                }
+            }
+            Thread.yield();
+        }
+        return gate;
+    }
+
+    interface Handler {
+        void handle(RollEvent event);
+    }
+
+    private static class Consumer {
+        //sequence of the last event this consumer has passed
+        private final AtomicLong sequence = new AtomicLong(-1);
+        private volatile boolean waiting;
+        private volatile Thread thread;
+    }
+}
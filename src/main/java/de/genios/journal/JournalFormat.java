@@ -0,0 +1,30 @@
+package de.genios.journal;
+
+import de.genios.helper.RollCodec;
+
+/**
+ * Layout of journal segments and snapshots: an 8 byte header (magic, format version, 3 reserved bytes) followed by
+ * fixed size entries. An entry holds the game id, the version of the game and its rolls as a {@link RollCodec}
+ * record, i.e. the whole state after a roll, so replaying keeps the entry with the highest version of every game and
+ * does not depend on the order the entries were written in.
+ * <p>
+ * A game that left the store for good is marked by an entry with version {@link #REMOVED} and no rolls; it outranks
+ * every other entry of the game, so replaying leaves the game out.
+ */
+final class JournalFormat {
+    static final int MAGIC = 0x424A524E; // "BJRN"
+    static final byte VERSION = 1;
+    static final int HEADER_BYTES = 8;
+    static final int ENTRY_BYTES = 2 * Long.BYTES + Long.BYTES + RollCodec.RECORD_BYTES;
+    static final long REMOVED = Long.MAX_VALUE;
+
+    static final String SEGMENT_PREFIX = "segment-";
+    static final String SEGMENT_SUFFIX = ".log";
+    static final String SNAPSHOT_PREFIX = "snapshot-";
+    static final String SNAPSHOT_SUFFIX = ".dat";
+    //a snapshot being written, renamed once it is complete
+    static final String TEMP_SUFFIX = ".tmp";
+
+    private JournalFormat() {
+    }
+}
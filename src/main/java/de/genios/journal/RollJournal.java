@@ -0,0 +1,368 @@
+package de.genios.journal;
+
+import de.genios.helper.Constants;
+import de.genios.helper.CorruptRecordException;
+import de.genios.helper.RollCodec;
+import de.genios.model.ConcurrentBowlingGame;
+import de.genios.model.GameSnapshot;
+import de.genios.store.GameStore;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static de.genios.journal.JournalFormat.*;
+
+/**
+ * Append-only journal of accepted rolls. Appends are buffered and made durable by group commit: a thread that needs
+ * its entry on disk either finds it already covered by another thread's fsync or writes and fsyncs everything
+ * appended so far, so concurrent rolls share one fsync.
+ * <p>
+ * The journal is split into numbered segments. A snapshot n holds every live game and replaces all segments before
+ * n; rolls after it go to segment n. {@link #open(Path, boolean, GameStore)} replays the latest snapshot and the
+ * segments after it and deletes the snapshots a crash left unfinished.
+ */
+@Slf4j
+public class RollJournal implements Closeable {
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final Path directory;
+    private final boolean fsync;
+    private final Object syncLock = new Object();
+    private final Object snapshotLock = new Object();
+
+    //guarded by this
+    private final ByteBuffer pending = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private final int[] rolls = new int[Constants.MAX_NUMBER_OF_ROLLS];
+    private FileChannel segment;
+    private long segmentNumber;
+    private long written;
+
+    //guarded by syncLock
+    private long synced;
+
+    private int recoveredGames;
+
+    private RollJournal(final Path directory, final boolean fsync) {
+        this.directory = directory;
+        this.fsync = fsync;
+    }
+
+    /**
+     * rebuilds the games of the journal in the directory into the store and opens a new segment for appends
+     *
+     * @param fsync false to leave flushing the written entries to the operating system
+     */
+    public static RollJournal open(final Path directory, final boolean fsync, final GameStore gameStore) throws IOException {
+        Files.createDirectories(directory);
+        deleteUnfinishedSnapshots(directory);
+        RollJournal journal = new RollJournal(directory, fsync);
+        journal.recover(gameStore);
+        return journal;
+    }
+
+    public int getRecoveredGames() {
+        return recoveredGames;
+    }
+
+    /**
+     * appends the state after a roll and returns once it is on disk
+     */
+    public void append(final String gameId, final GameSnapshot snapshot) throws IOException {
+        UUID id = UUID.fromString(gameId);
+        long sequence;
+        synchronized (this) {
+            if (pending.remaining() < ENTRY_BYTES) {
+                writePending();
+            }
+            int count = snapshot.getRollCount();
+            for (int n = 0; n < count; n++) {
+                rolls[n] = snapshot.getRoll(n);
+            }
+            putEntry(pending, id, snapshot.getVersion(), rolls, count);
+            sequence = ++written;
+        }
+        sync(sequence);
+    }
+
+    /**
+     * marks the game as gone for good, so replaying leaves it out; the mark is only buffered and goes to disk with
+     * the next appended roll, snapshot or close, so it can be written under the lock of a store shard
+     */
+    public void remove(final String gameId) throws IOException {
+        UUID id = UUID.fromString(gameId);
+        synchronized (this) {
+            if (pending.remaining() < ENTRY_BYTES) {
+                writePending();
+            }
+            putEntry(pending, id, REMOVED, rolls, 0);
+            written++;
+        }
+    }
+
+    /**
+     * writes every game of the store to a new snapshot and deletes the segments and snapshots it replaces
+     */
+    public void snapshot(final GameStore gameStore) throws IOException {
+        synchronized (snapshotLock) {
+            long number = rotate();
+            Path target = file(SNAPSHOT_PREFIX, number, SNAPSHOT_SUFFIX);
+            Path temp = target.resolveSibling(target.getFileName() + TEMP_SUFFIX);
+
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+                int[] snapshotRolls = new int[Constants.MAX_NUMBER_OF_ROLLS];
+                putHeader(buffer);
+                try {
+                    gameStore.forEach((gameId, game) -> {
+                        GameSnapshot snapshot = game.snapshot();
+                        for (int n = 0; n < snapshot.getRollCount(); n++) {
+                            snapshotRolls[n] = snapshot.getRoll(n);
+                        }
+                        if (buffer.remaining() < ENTRY_BYTES) {
+                            write(channel, buffer);
+                        }
+                        putEntry(buffer, UUID.fromString(gameId), snapshot.getVersion(), snapshotRolls,
+                                snapshot.getRollCount());
+                    });
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+                write(channel, buffer);
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+
+            for (long old : numbers(SEGMENT_PREFIX, SEGMENT_SUFFIX).headSet(number)) {
+                Files.deleteIfExists(file(SEGMENT_PREFIX, old, SEGMENT_SUFFIX));
+            }
+            for (long old : numbers(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX).headSet(number)) {
+                Files.deleteIfExists(file(SNAPSHOT_PREFIX, old, SNAPSHOT_SUFFIX));
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (syncLock) {
+            synchronized (this) {
+                writePending();
+                if (fsync) {
+                    segment.force(false);
+                }
+                segment.close();
+            }
+        }
+    }
+
+    private void sync(final long sequence) throws IOException {
+        synchronized (syncLock) {
+            if (synced >= sequence) {
+                //an fsync of another thread covered this entry
+                return;
+            }
+            long upTo;
+            FileChannel channel;
+            synchronized (this) {
+                writePending();
+                upTo = written;
+                channel = segment;
+            }
+            //appends go on while this thread waits for the disk, they are covered by the next fsync
+            if (fsync) {
+                channel.force(false);
+            }
+            synced = upTo;
+        }
+    }
+
+    /**
+     * @return number of the new segment
+     */
+    private long rotate() throws IOException {
+        synchronized (syncLock) {
+            synchronized (this) {
+                writePending();
+                if (fsync) {
+                    segment.force(false);
+                }
+                segment.close();
+                segment = openSegment(segmentNumber + 1);
+                segmentNumber++;
+                synced = written;
+                return segmentNumber;
+            }
+        }
+    }
+
+    private void recover(final GameStore gameStore) throws IOException {
+        TreeSet<Long> snapshots = numbers(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+        long snapshotNumber = snapshots.isEmpty() ? 0 : snapshots.last();
+        long nextSegment = snapshotNumber;
+
+        Map<UUID, RecoveredGame> games = new HashMap<>();
+        if (!snapshots.isEmpty()) {
+            readEntries(file(SNAPSHOT_PREFIX, snapshotNumber, SNAPSHOT_SUFFIX), games);
+        }
+        for (long number : numbers(SEGMENT_PREFIX, SEGMENT_SUFFIX).tailSet(snapshotNumber)) {
+            readEntries(file(SEGMENT_PREFIX, number, SEGMENT_SUFFIX), games);
+            nextSegment = number + 1;
+        }
+
+        int recovered = 0;
+        for (Map.Entry<UUID, RecoveredGame> entry : games.entrySet()) {
+            RecoveredGame game = entry.getValue();
+            if (game.version == REMOVED) {
+                continue;
+            }
+            GameSnapshot snapshot;
+            try {
+                snapshot = GameSnapshot.restore(game.rolls, game.count, game.version);
+            } catch (IllegalStateException e) {
+                throw new IOException("Corrupt journal entry of game " + entry.getKey(), e);
+            }
+            gameStore.put(entry.getKey().toString(), new ConcurrentBowlingGame(snapshot));
+            recovered++;
+        }
+        recoveredGames = recovered;
+
+        segmentNumber = nextSegment;
+        segment = openSegment(segmentNumber);
+    }
+
+    /**
+     * keeps the entry with the highest version of every game; a corrupt entry ends the file as a torn one does, the
+     * entries after it are ignored
+     */
+    private static void readEntries(final Path file, final Map<UUID, RecoveredGame> games) throws IOException {
+        int[] entryRolls = new int[Constants.MAX_NUMBER_OF_ROLLS];
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES) {
+                //crashed while the segment was created
+                return;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt(0) != MAGIC || buffer.get(4) != VERSION) {
+                throw new IOException("Not a journal file: " + file);
+            }
+            long entries = (size - HEADER_BYTES) / ENTRY_BYTES;
+            if ((size - HEADER_BYTES) % ENTRY_BYTES != 0) {
+                log.warn("Ignoring the torn last entry of {}", file);
+            }
+
+            for (int index = HEADER_BYTES; index < HEADER_BYTES + entries * ENTRY_BYTES; index += ENTRY_BYTES) {
+                UUID id = new UUID(buffer.getLong(index), buffer.getLong(index + Long.BYTES));
+                long version = buffer.getLong(index + 2 * Long.BYTES);
+                int count;
+                try {
+                    count = RollCodec.read(buffer, index + 3 * Long.BYTES, entryRolls);
+                } catch (CorruptRecordException e) {
+                    log.warn("Ignoring the entries of {} from the corrupt one at byte {}: {}", file, index,
+                            e.getMessage());
+                    return;
+                }
+
+                RecoveredGame game = games.get(id);
+                if (game == null) {
+                    game = new RecoveredGame();
+                    games.put(id, game);
+                } else if (game.version >= version) {
+                    continue;
+                }
+                game.version = version;
+                game.count = count;
+                System.arraycopy(entryRolls, 0, game.rolls, 0, count);
+            }
+        }
+    }
+
+    private static void deleteUnfinishedSnapshots(final Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                if (name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(TEMP_SUFFIX)) {
+                    log.warn("Deleting the unfinished snapshot {}", file);
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private FileChannel openSegment(final long number) throws IOException {
+        FileChannel channel = FileChannel.open(file(SEGMENT_PREFIX, number, SEGMENT_SUFFIX),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        putHeader(header);
+        header.flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        return channel;
+    }
+
+    private void writePending() throws IOException {
+        pending.flip();
+        while (pending.hasRemaining()) {
+            segment.write(pending);
+        }
+        pending.clear();
+    }
+
+    private static void write(final FileChannel channel, final ByteBuffer buffer) {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.clear();
+    }
+
+    private static void putHeader(final ByteBuffer buffer) {
+        buffer.putInt(MAGIC).put(VERSION).put((byte) 0).putShort((short) 0);
+    }
+
+    private static void putEntry(final ByteBuffer buffer, final UUID id, final long version, final int[] rolls,
+                                 final int count) {
+        buffer.putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits()).putLong(version);
+        RollCodec.write(buffer, buffer.position(), rolls, 0, count);
+        buffer.position(buffer.position() + RollCodec.RECORD_BYTES);
+    }
+
+    private Path file(final String prefix, final long number, final String suffix) {
+        return directory.resolve(String.format("%s%016d%s", prefix, number, suffix));
+    }
+
+    private TreeSet<Long> numbers(final String prefix, final String suffix) throws IOException {
+        TreeSet<Long> numbers = new TreeSet<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(prefix) && name.endsWith(suffix))
+                    .forEach(name -> numbers.add(Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length()))));
+        }
+        return numbers;
+    }
+
+    private static class RecoveredGame {
+        private final int[] rolls = new int[Constants.MAX_NUMBER_OF_ROLLS];
+        private int count;
+        private long version;
+    }
+}
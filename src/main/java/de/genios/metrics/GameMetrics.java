@@ -0,0 +1,148 @@
+package de.genios.metrics;
+
+import de.genios.model.RollStatus;
+import de.genios.store.GameStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of the game service, written in the Prometheus text format by {@link #writeTo(StringBuilder)}. All
+ * counters are {@link LongAdder}s, so recording never takes a lock; rates such as rolls per second are derived by
+ * the scraper from the totals. Reading the clock twice costs about 70 ns, half of a roll through the store as
+ * GameServiceBenchmark measures it, so only one in {@value #ROLL_SAMPLE_RATE} rolls is timed for the latency
+ * histogram while every roll is counted.
+ */
+@Component
+public class GameMetrics {
+    public static final int ROLL_SAMPLE_RATE = 16;
+
+    @Autowired(required = false)
+    GameStore gameStore;
+
+    private final LatencyHistogram rollDuration = new LatencyHistogram("bowling_roll_duration_seconds",
+            "Time to score and store an accepted roll, sampled.", micros(1), micros(2), micros(5), micros(10),
+            micros(25), micros(50), micros(100), micros(250), micros(1000), micros(10_000));
+
+    private final LatencyHistogram renderDuration = new LatencyHistogram("bowling_scoreboard_render_seconds",
+            "Time to render the scoreboard page.", micros(50), micros(100), micros(250), micros(500), micros(1000),
+            micros(2500), micros(5000), micros(10_000), micros(50_000));
+
+    private final LongAdder rolls = new LongAdder();
+    private final LongAdder completedGames = new LongAdder();
+    private final LongAdder invalidRolls = new LongAdder();
+    private final LongAdder exceedingRolls = new LongAdder();
+    private final LongAdder rollsAfterGameOver = new LongAdder();
+    private final LongAdder journalFailures = new LongAdder();
+
+    /**
+     * @return whether the caller should time the next roll and pass the duration to {@link #timed(long)}
+     */
+    public boolean sampleRoll() {
+        return ThreadLocalRandom.current().nextInt(ROLL_SAMPLE_RATE) == 0;
+    }
+
+    public void timed(final long nanos) {
+        rollDuration.record(nanos);
+    }
+
+    public void rolled(final boolean gameOver) {
+        rolls.increment();
+        if (gameOver) {
+            completedGames.increment();
+        }
+    }
+
+    public void rejected(final RollStatus status) {
+        rejections(status).increment();
+    }
+
+    /**
+     * counts a game change that could not be written to the journal and would be lost on a restart
+     */
+    public void journalFailed() {
+        journalFailures.increment();
+    }
+
+    public void rendered(final long nanos) {
+        renderDuration.record(nanos);
+    }
+
+    public long getRollCount() {
+        return rolls.sum();
+    }
+
+    public long getCompletedGames() {
+        return completedGames.sum();
+    }
+
+    public long getRejections(final RollStatus status) {
+        return rejections(status).sum();
+    }
+
+    public long getJournalFailures() {
+        return journalFailures.sum();
+    }
+
+    public void writeTo(final StringBuilder out) {
+        out.append("# HELP bowling_rolls_total Accepted rolls.\n");
+        out.append("# TYPE bowling_rolls_total counter\n");
+        out.append("bowling_rolls_total ").append(rolls.sum()).append('\n');
+
+        rollDuration.writeTo(out);
+
+        out.append("# HELP bowling_rolls_rejected_total Rejected rolls by reason.\n");
+        out.append("# TYPE bowling_rolls_rejected_total counter\n");
+        for (RollStatus status : RollStatus.values()) {
+            if (!status.isAccepted()) {
+                out.append("bowling_rolls_rejected_total{reason=\"").append(status.name()).append("\"} ")
+                        .append(rejections(status).sum()).append('\n');
+            }
+        }
+
+        out.append("# HELP bowling_games_completed_total Games rolled to the end.\n");
+        out.append("# TYPE bowling_games_completed_total counter\n");
+        out.append("bowling_games_completed_total ").append(completedGames.sum()).append('\n');
+
+        out.append("# HELP bowling_journal_failures_total Game changes that could not be journaled.\n");
+        out.append("# TYPE bowling_journal_failures_total counter\n");
+        out.append("bowling_journal_failures_total ").append(journalFailures.sum()).append('\n');
+
+        if (gameStore != null) {
+            out.append("# HELP bowling_games_active Games on the heap that are not over.\n");
+            out.append("# TYPE bowling_games_active gauge\n");
+            out.append("bowling_games_active ").append(gameStore.activeSize()).append('\n');
+            out.append("# HELP bowling_games_stored Games on the heap, finished ones included.\n");
+            out.append("# TYPE bowling_games_stored gauge\n");
+            out.append("bowling_games_stored ").append(gameStore.size()).append('\n');
+            out.append("# HELP bowling_games_parked Idle games parked off the heap.\n");
+            out.append("# TYPE bowling_games_parked gauge\n");
+            out.append("bowling_games_parked ").append(gameStore.parkedSize()).append('\n');
+            out.append("# HELP bowling_games_dropped_total Games evicted from the heap that could not be parked.\n");
+            out.append("# TYPE bowling_games_dropped_total counter\n");
+            out.append("bowling_games_dropped_total ").append(gameStore.droppedCount()).append('\n');
+        }
+
+        renderDuration.writeTo(out);
+    }
+
+    private LongAdder rejections(final RollStatus status) {
+        switch (status) {
+            case INVALID_ROLL:
+                return invalidRolls;
+            case PIN_COUNT_EXCEEDING:
+                return exceedingRolls;
+            case GAME_IS_OVER:
+                return rollsAfterGameOver;
+            default:
+                throw new IllegalArgumentException("Not a rejection: " + status);
+        }
+    }
+
+    private static long micros(final long micros) {
+        return TimeUnit.MICROSECONDS.toNanos(micros);
+    }
+}
@@ -0,0 +1,72 @@
+package de.genios.metrics;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of durations with fixed bucket bounds, written in the Prometheus text format. Recording is a
+ * scan over a handful of bounds and two {@link LongAdder} increments.
+ */
+public class LatencyHistogram {
+    private final String name;
+    private final String help;
+    private final long[] upperBoundsNanos;
+    private final String[] upperBoundLabels;
+    //one more than the bounds for durations above the last bound
+    private final LongAdder[] buckets;
+    private final LongAdder sumNanos = new LongAdder();
+
+    public LatencyHistogram(final String name, final String help, final long... upperBoundsNanos) {
+        this.name = name;
+        this.help = help;
+        this.upperBoundsNanos = upperBoundsNanos.clone();
+        this.upperBoundLabels = new String[upperBoundsNanos.length];
+        this.buckets = new LongAdder[upperBoundsNanos.length + 1];
+
+        for (int n = 0; n < upperBoundsNanos.length; n++) {
+            upperBoundLabels[n] = seconds(upperBoundsNanos[n]);
+        }
+        for (int n = 0; n < buckets.length; n++) {
+            buckets[n] = new LongAdder();
+        }
+    }
+
+    public void record(final long nanos) {
+        int bucket = 0;
+        while (bucket < upperBoundsNanos.length && nanos > upperBoundsNanos[bucket]) {
+            bucket++;
+        }
+        buckets[bucket].increment();
+        sumNanos.add(nanos);
+    }
+
+    public long getCount() {
+        long count = 0;
+        for (LongAdder bucket : buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    /**
+     * appends the cumulative buckets, the sum and the count; the count is the sum of the buckets read, so the
+     * +Inf bucket always equals the count even while rolls are recorded
+     */
+    public void writeTo(final StringBuilder out) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(" histogram\n");
+
+        long cumulative = 0;
+        for (int n = 0; n < buckets.length; n++) {
+            cumulative += buckets[n].sum();
+            String upperBound = n < upperBoundLabels.length ? upperBoundLabels[n] : "+Inf";
+            out.append(name).append("_bucket{le=\"").append(upperBound).append("\"} ").append(cumulative).append('\n');
+        }
+        out.append(name).append("_sum ").append(seconds(sumNanos.sum())).append('\n');
+        out.append(name).append("_count ").append(cumulative).append('\n');
+    }
+
+    private static String seconds(final long nanos) {
+        return BigDecimal.valueOf(nanos, 9).stripTrailingZeros().toPlainString();
+    }
+}
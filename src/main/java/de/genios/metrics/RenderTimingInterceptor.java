@@ -0,0 +1,36 @@
+package de.genios.metrics;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Times the view render of the scoreboard pages: the view is rendered between postHandle and afterCompletion.
+ */
+public class RenderTimingInterceptor implements HandlerInterceptor {
+    private static final String RENDER_START = RenderTimingInterceptor.class.getName() + ".start";
+
+    private final GameMetrics gameMetrics;
+
+    public RenderTimingInterceptor(final GameMetrics gameMetrics) {
+        this.gameMetrics = gameMetrics;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        request.setAttribute(RENDER_START, System.nanoTime());
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        //not set if the handler threw, the error page is not counted
+        Object start = request.getAttribute(RENDER_START);
+        if (start != null && ex == null) {
+            gameMetrics.rendered(System.nanoTime() - (Long) start);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package de.genios.metrics;
+
+import de.genios.api.StatisticsView;
+import de.genios.helper.Constants;
+import de.genios.model.GameState;
+import de.genios.model.PinFallModel;
+import de.genios.model.RollTable;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running totals of the rolls of one player, one lane or the whole venue. Every roll is classified by the
+ * {@link RollTable} state it was thrown in, so the counters are updated from the roll alone and a game is never
+ * read again. A strike chance is a ball thrown at newly set pins and a spare chance one thrown at the pins left
+ * standing, so the fill balls of the tenth frame count too.
+ * <p>
+ * The counters are {@link LongAdder}s, as the venue is updated by every roll of every request thread; a view read
+ * while rolls come in may have some counters one roll ahead of others.
+ */
+public class RollStatistics {
+    private static final int PINS = Constants.TOTAL_NUMBER_OF_PINS;
+    //the pin fall model is built again once the rolls have grown by this fraction, so that the score distributions
+    //kept with it are reused meanwhile
+    private static final int MODEL_REBUILD_DIVISOR = 10;
+
+    private final LongAdder rolls = new LongAdder();
+    private final LongAdder frames = new LongAdder();
+    private final LongAdder strikeChances = new LongAdder();
+    private final LongAdder strikes = new LongAdder();
+    private final LongAdder spareChances = new LongAdder();
+    private final LongAdder spares = new LongAdder();
+    private final LongAdder openFrames = new LongAdder();
+    private final LongAdder[] firstBallPins = adders(PINS + 1);
+    private final LongAdder tenthFramePins = new LongAdder();
+    private final LongAdder tenthFrameStrikes = new LongAdder();
+    private final LongAdder games = new LongAdder();
+    private final LongAdder totalScore = new LongAdder();
+    private final LongAccumulator bestScore = new LongAccumulator(Math::max, 0);
+    //per pins standing how often each pin count was rolled
+    private final LongAdder[][] pinFalls = new LongAdder[PINS + 1][];
+
+    //guarded by this, only taken to rebuild the model
+    private PinFallModel pinFallModel;
+    private long pinFallModelRolls;
+
+    public RollStatistics() {
+        for (int standing = 0; standing <= PINS; standing++) {
+            pinFalls[standing] = adders(standing + 1);
+        }
+    }
+
+    /**
+     * @param state the {@link RollTable} state the roll was thrown in
+     */
+    public void rolled(final int state, final int pins) {
+        rolls.increment();
+        GameState gameState = RollTable.gameState(state);
+        int standing = RollTable.standing(state);
+        pinFalls[standing][pins].increment();
+
+        if (gameState == GameState.FIRST_ROLL || gameState == GameState.FIRST_ROLL_TENTH_FRAME) {
+            frames.increment();
+            firstBallPins[pins].increment();
+        }
+        if (RollTable.freshRack(state)) {
+            strikeChances.increment();
+            if (pins == PINS) {
+                strikes.increment();
+                if (RollTable.frame(state) == Constants.TOTAL_NUMBER_OF_FRAMES - 1) {
+                    tenthFrameStrikes.increment();
+                }
+            }
+        } else {
+            spareChances.increment();
+            if (pins == standing) {
+                spares.increment();
+            } else if (gameState != GameState.BONUS_ROLL_TENTH_FRAME) {
+                openFrames.increment();
+            }
+        }
+    }
+
+    /**
+     * counts a finished game; its tenth frame is complete now as well
+     *
+     * @param tenthFramePins the pins of all balls of its tenth frame
+     */
+    public void completed(final int score, final int tenthFramePins) {
+        games.increment();
+        totalScore.add(score);
+        bestScore.accumulate(score);
+        this.tenthFramePins.add(tenthFramePins);
+    }
+
+    /**
+     * @return how the counted balls fell, for the score distributions of the {@link de.genios.model.ScoreOracle}
+     */
+    public synchronized PinFallModel pinFallModel() {
+        long rollCount = rolls.sum();
+        if (pinFallModel == null || rollCount - pinFallModelRolls > pinFallModelRolls / MODEL_REBUILD_DIVISOR) {
+            long[][] counts = new long[PINS + 1][PINS + 1];
+            for (int standing = 0; standing <= PINS; standing++) {
+                for (int pins = 0; pins <= standing; pins++) {
+                    counts[standing][pins] = pinFalls[standing][pins].sum();
+                }
+            }
+            pinFallModel = PinFallModel.fromCounts(counts);
+            pinFallModelRolls = rollCount;
+        }
+        return pinFallModel;
+    }
+
+    public StatisticsView view() {
+        long frameCount = frames.sum();
+        long gameCount = games.sum();
+        long[] firstBalls = new long[firstBallPins.length];
+        for (int pins = 0; pins < firstBalls.length; pins++) {
+            firstBalls[pins] = firstBallPins[pins].sum();
+        }
+        return new StatisticsView(gameCount, rolls.sum(), frameCount, percent(strikes.sum(), strikeChances.sum()),
+                percent(spares.sum(), spareChances.sum()), percent(openFrames.sum(), frameCount), firstBalls,
+                average(tenthFramePins.sum(), gameCount), tenthFrameStrikes.sum(), average(totalScore.sum(), gameCount),
+                (int) bestScore.get());
+    }
+
+    private static LongAdder[] adders(final int count) {
+        LongAdder[] adders = new LongAdder[count];
+        for (int n = 0; n < count; n++) {
+            adders[n] = new LongAdder();
+        }
+        return adders;
+    }
+
+    private static double percent(final long count, final long total) {
+        return total == 0 ? 0.0 : 100.0 * count / total;
+    }
+
+    private static double average(final long sum, final long count) {
+        return count == 0 ? 0.0 : (double) sum / count;
+    }
+}
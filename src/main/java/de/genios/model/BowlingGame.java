@@ -1,202 +1,150 @@
 package de.genios.model;
 
 import de.genios.helper.Constants;
-import de.genios.helper.ExceptionConstants;
+import de.genios.helper.RollCodec;
+import lombok.AccessLevel;
 import lombok.Getter;
 
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * A game of one lane. It is serialized as its rolls only, e.g. to keep it in a replicated session: a format version
+ * byte, the rolls as a {@link RollCodec} record cut after the last roll and the game state, which is checked when
+ * the rolls are replayed on reading. A game takes at most 14 bytes besides the stream header.
+ */
 @Getter
-public class BowlingGame {
-    private final List<Frame> frames = new ArrayList<>();
-    private GameState gameState = GameState.FIRST_ROLL;
+public class BowlingGame implements Externalizable {
+    private static final long serialVersionUID = 1L;
+    private static final int FORMAT_VERSION = 1;
 
-    //we need the reference to two previous frames in order to update their scores in case of strike or spare
-    private Frame currentFrame = null;
-    private Frame previousFrame = null;
-    private Frame previousPreviousFrame = null;
+    //rolls and frame scores are kept in primitive arrays, Frame objects are only built when they are read
+    @Getter(AccessLevel.NONE)
+    private final ScoringEngine engine = new ScoringEngine();
 
     public void resetGame() {
-        gameState = GameState.FIRST_ROLL;
-        currentFrame = null;
-        previousFrame = null;
-        previousPreviousFrame = null;
-        frames.clear();
+        engine.reset();
     }
 
     public void roll(final int pins) {
-        if (pins < 0) {
-            throw new IllegalStateException(ExceptionConstants.INVALID_ROLL);
-        }
-        if (pins > Constants.TOTAL_NUMBER_OF_PINS) {
-            throw new IllegalStateException(ExceptionConstants.PIN_COUNT_EXCEEDING);
-        }
-        switch (gameState) {
-            case FIRST_ROLL:
-                handleFirst(pins);
-                break;
-            case SECOND_ROLL:
-                handleSecond(pins);
-                break;
-            case FIRST_ROLL_TENTH_FRAME:
-                handleTenthFirst(pins);
-                break;
-            case SECOND_ROLL_TENTH_FRAME:
-                handleTenthSecond(pins);
-                break;
-            case BONUS_ROLL_TENTH_FRAME:
-                handleTenthFillBall(pins);
-                break;
-            case GAME_OVER:
-                handleGameOver();
-        }
+        engine.roll(pins);
     }
 
-    private void handleFirst(final int pins) {
-        currentFrame = new Frame(pins);
-        frames.add(currentFrame);
-
-        updatePreviousFramesOnFirstRoll();
-
-        currentFrame.setPreviousFrameScoreSum(getPreviousFrameScoreAccumulation());
-
-        if (pins == Constants.TOTAL_NUMBER_OF_PINS) {
-            if (inSecondLastFrame()) {
-                gameState = GameState.FIRST_ROLL_TENTH_FRAME;
-            } else {
-                gameState = GameState.FIRST_ROLL;
-            }
-        } else {
-            gameState = GameState.SECOND_ROLL;
-        }
+    /**
+     * rolls without throwing for invalid input, e.g. from a lane terminal; a rejected roll leaves the game unchanged
+     */
+    public RollStatus tryRoll(final int pins) {
+        return engine.tryRoll(pins);
     }
 
-    private void handleSecond(final int pins) {
-        currentFrame.setSecondRollScore(pins);
-        currentFrame.setPreviousFrameScoreSum(getPreviousFrameScoreAccumulation());
-
-        if (!inLastFrame() && currentFrame.getIndividualFrameScore() > Constants.TOTAL_NUMBER_OF_PINS) {
-            currentFrame.setSecondRollScore(0);
-            throw new IllegalStateException(ExceptionConstants.PIN_COUNT_EXCEEDING);
-        }
-
-        updatePreviousFrameOnSecondRoll();
-
-        if (inSecondLastFrame()) {
-            gameState = GameState.FIRST_ROLL_TENTH_FRAME;
-        } else {
-            gameState = GameState.FIRST_ROLL;
-        }
+    public GameState getGameState() {
+        return engine.getGameState();
     }
 
-
-    private void handleTenthFirst(final int pins) {
-        currentFrame = new Frame(pins);
-
-        frames.add(currentFrame);
-        updatePreviousFramesOnFirstRoll();
-
-        currentFrame.setPreviousFrameScoreSum(getPreviousFrameScoreAccumulation());
-
-        gameState = GameState.SECOND_ROLL_TENTH_FRAME;
+    public boolean isGameOver() {
+        return engine.isGameOver();
     }
 
-    private void handleTenthSecond(final int pins) {
-        Frame tenthFrame = frames.get(9);
-        tenthFrame.setSecondRollScore(pins);
-
-        updatePreviousFrameOnSecondRoll();
-
-        if (tenthFrame.getIndividualFrameScore() < Constants.TOTAL_NUMBER_OF_PINS) {
-            gameState = GameState.GAME_OVER;
-        } else {
-            gameState = GameState.BONUS_ROLL_TENTH_FRAME;
-        }
+    public int score() {
+        return engine.score();
     }
 
-    private void handleTenthFillBall(final int pins) {
-        if (currentFrame.getFirstRollScore() == Constants.TOTAL_NUMBER_OF_PINS && currentFrame.getSecondRollScore() != Constants.TOTAL_NUMBER_OF_PINS && currentFrame.getSecondRollScore() + pins > Constants.TOTAL_NUMBER_OF_PINS) {
-            throw new IllegalStateException(ExceptionConstants.PIN_COUNT_EXCEEDING);
+    /**
+     * @return a snapshot of the frames played so far, built on every call
+     */
+    public List<Frame> getFrames() {
+        List<Frame> frames = new ArrayList<>(engine.getFrameCount());
+        for (int n = 0; n < engine.getFrameCount(); n++) {
+            frames.add(frameView(n));
         }
-        currentFrame.setBonusRollScoreLastStrike(pins);
-        gameState = GameState.GAME_OVER;
+        return frames;
     }
 
-    private void handleGameOver() {
-        throw new IllegalStateException(ExceptionConstants.GAME_IS_OVER);
+    public Frame getCurrentFrame() {
+        return frameFromEnd(1);
     }
 
-    private boolean inSecondLastFrame() {
-        return frames.size() == Constants.TOTAL_NUMBER_OF_FRAMES - 1;
+    public Frame getPreviousFrame() {
+        return frameFromEnd(2);
     }
 
-    private boolean inLastFrame() {
-        return frames.size() == Constants.TOTAL_NUMBER_OF_FRAMES;
+    public Frame getPreviousPreviousFrame() {
+        return frameFromEnd(3);
     }
 
-    public boolean isGameOver() {
-        return gameState == GameState.GAME_OVER;
+    private Frame frameFromEnd(final int distance) {
+        int n = engine.getFrameCount() - distance;
+        return n < 0 ? null : frameView(n);
     }
 
-    public int score() {
-        int result = frames.stream().mapToInt(Frame::getIndividualFrameScore).sum();
+    private Frame frameView(final int n) {
+        int rollCount = engine.getFrameRollCount(n);
+        int ownPins = engine.getFrameRoll(n, 0);
 
-        return result;
+        Frame frame = new Frame(ownPins);
+        if (rollCount > 1) {
+            frame.setSecondRollScore(engine.getFrameRoll(n, 1));
+            ownPins += engine.getFrameRoll(n, 1);
+        }
+        if (rollCount > 2) {
+            frame.setBonusRollScoreLastStrike(engine.getFrameRoll(n, 2));
+            ownPins += engine.getFrameRoll(n, 2);
+        }
+        frame.setStrikeSpareBonusScore(engine.getFrameScore(n) - ownPins);
+        frame.setPreviousFrameScoreSum(engine.getAccumulatedFrameScore(n) - engine.getFrameScore(n));
+        return frame;
     }
 
-    /**
-     * updates the "bonus" scores on the previous 2 frames
-     */
-    private void updatePreviousFramesOnFirstRoll() {
-        previousFrame = frames.indexOf(currentFrame) > 0 ? frames.get(frames.indexOf(currentFrame) - 1) : null;
-        previousPreviousFrame = frames.indexOf(currentFrame) > 1 ? frames.get(frames.indexOf(currentFrame) - 2) : null;
-
-        //add the score of the first roll to the previous frame if the previous frame was strike
-        //add the score of the first roll to the previous frame if the previous frame was spare
-        if (previousFrame != null && (previousFrame.isSpare() || previousFrame.isStrike())) {
-            previousFrame.addStrikeSpareBonus(currentFrame.getFirstRollScore());
-        }
+    public List<String[]> calculateScoreboard() {
+        List<String[]> scoreBoard = new ArrayList<>(engine.getFrameCount());
 
-        //add the score of the first roll to the previous-previous frame if the last two frames BOTH were strike
-        if (previousFrame != null && previousPreviousFrame != null && previousFrame.isStrike() && previousPreviousFrame.isStrike()) {
-            previousPreviousFrame.addStrikeSpareBonus(currentFrame.getFirstRollScore());
+        for (int n = 0; n < engine.getFrameCount(); n++) {
+            scoreBoard.add(new String[]{frameDisplay(n), Scoreboard.scoreCell(engine.getAccumulatedFrameScore(n))});
         }
+        return scoreBoard;
     }
 
     /**
-     * updates the "bonus" scores on the previous frame
+     * @return the rolls of the frame as shown on the scoreboard, e.g. "X | 0" or "7 | /"
      */
-    private void updatePreviousFrameOnSecondRoll() {
-
-        //add the score of the second roll to the previous frame if the previous frame was strike
-        if (previousFrame != null && previousFrame.isStrike()) {
-            previousFrame.addStrikeSpareBonus(currentFrame.getSecondRollScore());
-        }
+    public String frameDisplay(final int n) {
+        return Scoreboard.frameCell(engine, n);
     }
 
-    private int getPreviousFrameScoreAccumulation() {
-        int previousFrameScoreSum = previousFrame!=null ? previousFrame.getPreviousFrameScoreSum() + previousFrame.getIndividualFrameScore() : 0;
-        return previousFrameScoreSum;
+    @Override
+    public void writeExternal(final ObjectOutput out) throws IOException {
+        int[] rolls = new int[Constants.MAX_NUMBER_OF_ROLLS];
+        for (int n = 0; n < engine.getRollCount(); n++) {
+            rolls[n] = engine.getRoll(n);
+        }
+        out.writeByte(FORMAT_VERSION);
+        RollCodec.write(out, rolls, 0, engine.getRollCount());
+        out.writeByte(engine.getGameState().ordinal());
     }
 
-    public List<String[]> calculateScoreboard() {
-        List<String[]> scoreBoard = new ArrayList<>();
-        int previousFrameScore = 0;
-        Integer accumulatedScore = null;
-        String individialRollScores = null;
-
-        for (int n = 0; n < frames.size(); n++) {
-            Frame frame = frames.get(n);
-
-            previousFrameScore += n > 0 ? frames.get(n - 1).getIndividualFrameScore() : 0;
-            accumulatedScore = frame.getIndividualFrameScore() + previousFrameScore;
-
-            String appendFillBall = frame.bonusRollScoreFormatted();
-            individialRollScores = frame.firstRollScoreFormatted() + " | " + frame.secondRollScoreFormatted() + (n == Constants.TOTAL_NUMBER_OF_FRAMES-1 ? appendFillBall : "");
-
-            scoreBoard.add(new String[]{individialRollScores, accumulatedScore + ""});
+    @Override
+    public void readExternal(final ObjectInput in) throws IOException {
+        int version = in.readUnsignedByte();
+        if (version != FORMAT_VERSION) {
+            throw new InvalidObjectException("Unknown game format version: " + version);
+        }
+        int[] rolls = new int[Constants.MAX_NUMBER_OF_ROLLS];
+        int count = RollCodec.read(in, rolls);
+        engine.reset();
+        for (int n = 0; n < count; n++) {
+            RollStatus status = engine.tryRoll(rolls[n]);
+            if (!status.isAccepted()) {
+                throw new InvalidObjectException("Illegal roll " + rolls[n] + " in stream: " + status.getMessage());
+            }
+        }
+        int state = in.readUnsignedByte();
+        if (state != engine.getGameState().ordinal()) {
+            throw new InvalidObjectException("Game state " + state + " does not match the rolls");
         }
-        return scoreBoard;
     }
-}
\ No newline at end of file
+}
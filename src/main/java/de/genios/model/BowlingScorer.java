@@ -0,0 +1,126 @@
+package de.genios.model;
+
+import de.genios.helper.Constants;
+import de.genios.helper.ExceptionConstants;
+
+/**
+ * Stateless scoring of whole roll sequences, e.g. for re-scoring recorded games in bulk. Applies the same rules and
+ * throws the same exceptions as rolling the sequence into a {@link BowlingGame} one by one. A sequence that stops
+ * before the game is over is scored like a game in progress.
+ */
+public final class BowlingScorer {
+    private static final int PINS = Constants.TOTAL_NUMBER_OF_PINS;
+
+    private BowlingScorer() {
+    }
+
+    public static int score(final int[] rolls) {
+        return score(rolls, 0, rolls.length);
+    }
+
+    /**
+     * scores the rolls from index from (inclusive) to index to (exclusive)
+     */
+    public static int score(final int[] rolls, final int from, final int to) {
+        int total = 0;
+        int n = from;
+
+        for (int frame = 0; frame < Constants.TOTAL_NUMBER_OF_FRAMES - 1 && n < to; frame++) {
+            int first = validPins(rolls[n]);
+            if (first == PINS) {
+                total += PINS + rollOrZero(rolls, n + 1, to) + rollOrZero(rolls, n + 2, to);
+                n++;
+                continue;
+            }
+            if (n + 1 == to) {
+                return total + first;
+            }
+            int second = validPins(rolls[n + 1]);
+            if (first + second > PINS) {
+                throw new IllegalStateException(ExceptionConstants.PIN_COUNT_EXCEEDING);
+            }
+            total += first + second;
+            if (first + second == PINS) {
+                total += rollOrZero(rolls, n + 2, to);
+            }
+            n += 2;
+        }
+
+        if (n < to) {
+            int end = tenthFrameEnd(rolls, n, to);
+            for (; n < end; n++) {
+                total += rolls[n];
+            }
+        }
+        if (n < to) {
+            validPins(rolls[n]);
+            throw new IllegalStateException(ExceptionConstants.GAME_IS_OVER);
+        }
+        return total;
+    }
+
+    /**
+     * validates the tenth frame starting at index from
+     *
+     * @return index of the first roll after the tenth frame
+     */
+    private static int tenthFrameEnd(final int[] rolls, final int from, final int to) {
+        int first = validPins(rolls[from]);
+        if (from + 1 == to) {
+            return to;
+        }
+        int second = validPins(rolls[from + 1]);
+        if (first < PINS && first + second > PINS) {
+            throw new IllegalStateException(ExceptionConstants.PIN_COUNT_EXCEEDING);
+        }
+        if (first + second < PINS) {
+            return from + 2;
+        }
+        if (from + 2 == to) {
+            return to;
+        }
+        int fill = validPins(rolls[from + 2]);
+        if (first == PINS && second != PINS && second + fill > PINS) {
+            throw new IllegalStateException(ExceptionConstants.PIN_COUNT_EXCEEDING);
+        }
+        return from + 3;
+    }
+
+    /**
+     * scores every game of the archive
+     */
+    public static int[] scoreAll(final int[][] games) {
+        int[] scores = new int[games.length];
+        for (int n = 0; n < games.length; n++) {
+            scores[n] = score(games[n], 0, games[n].length);
+        }
+        return scores;
+    }
+
+    /**
+     * scores games stored back to back in one array
+     *
+     * @param offsets index of the first roll of every game, followed by the end index of the last game
+     */
+    public static int[] scoreAll(final int[] rolls, final int[] offsets) {
+        int[] scores = new int[offsets.length - 1];
+        for (int n = 0; n < scores.length; n++) {
+            scores[n] = score(rolls, offsets[n], offsets[n + 1]);
+        }
+        return scores;
+    }
+
+    private static int validPins(final int pins) {
+        if (pins < 0) {
+            throw new IllegalStateException(ExceptionConstants.INVALID_ROLL);
+        }
+        if (pins > PINS) {
+            throw new IllegalStateException(ExceptionConstants.PIN_COUNT_EXCEEDING);
+        }
+        return pins;
+    }
+
+    private static int rollOrZero(final int[] rolls, final int n, final int to) {
+        return n < to ? rolls[n] : 0;
+    }
+}
@@ -0,0 +1,109 @@
+package de.genios.model;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A game that can be rolled from several threads at once. Every roll builds the next immutable {@link GameSnapshot}
+ * and swaps it in with a compare-and-set, retrying if another roll got in first, so concurrent rolls take effect
+ * one after another without a lock and readers always see a whole snapshot.
+ * <p>
+ * A game taken out of its store, e.g. to be parked, is retired: its state is swapped for a marker, so a roll on a
+ * stale reference fails its compare-and-set instead of changing a game the store no longer holds. Readers still get
+ * the last state.
+ */
+public class ConcurrentBowlingGame {
+    //an instance of its own, compared by identity only
+    private static final GameSnapshot RETIRED = GameSnapshot.EMPTY.reset();
+
+    private final AtomicReference<GameSnapshot> state;
+    //the state the game was retired with, written before the marker is swapped in
+    private volatile GameSnapshot last;
+
+    public ConcurrentBowlingGame() {
+        this(GameSnapshot.EMPTY);
+    }
+
+    /**
+     * @param snapshot the state to continue from, e.g. one restored from the journal
+     */
+    public ConcurrentBowlingGame(final GameSnapshot snapshot) {
+        state = new AtomicReference<>(snapshot);
+    }
+
+    /**
+     * @return the snapshot this roll produced or null if the game is retired
+     */
+    public GameSnapshot roll(final int pins) {
+        while (true) {
+            GameSnapshot current = state.get();
+            if (current == RETIRED) {
+                return null;
+            }
+            GameSnapshot next = current.roll(pins);
+            if (state.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    /**
+     * rolls only if the game is still in the expected state, e.g. after the roll was checked against it
+     *
+     * @return the snapshot this roll produced or null if another roll or reset got in first or the game is retired
+     */
+    public GameSnapshot rollIfUnchanged(final GameSnapshot expected, final int pins) {
+        GameSnapshot next = expected.roll(pins);
+        return state.compareAndSet(expected, next) ? next : null;
+    }
+
+    /**
+     * @return the snapshot after the reset or null if the game is retired
+     */
+    public GameSnapshot resetGame() {
+        while (true) {
+            GameSnapshot current = state.get();
+            if (current == RETIRED) {
+                return null;
+            }
+            GameSnapshot next = current.reset();
+            if (state.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    /**
+     * makes every later roll and reset fail; the rolls that got in before are part of the returned state
+     *
+     * @return the last state of the game
+     */
+    public GameSnapshot retire() {
+        while (true) {
+            GameSnapshot current = state.get();
+            if (current == RETIRED) {
+                return last;
+            }
+            last = current;
+            if (state.compareAndSet(current, RETIRED)) {
+                return current;
+            }
+        }
+    }
+
+    public boolean isRetired() {
+        return state.get() == RETIRED;
+    }
+
+    public GameSnapshot snapshot() {
+        GameSnapshot current = state.get();
+        return current == RETIRED ? last : current;
+    }
+
+    public int score() {
+        return snapshot().score();
+    }
+
+    public boolean isGameOver() {
+        return snapshot().isGameOver();
+    }
+}
@@ -0,0 +1,233 @@
+package de.genios.model;
+
+/**
+ * Immutable state of a game. The rolls are packed 4 bits each into two longs, the score and the game state are
+ * kept next to them so that reading a snapshot never replays the game. A roll advances the {@link RollTable} state
+ * and the running score by one lookup each, and updates the accumulated scores of the at most three frames it pays
+ * into, which are packed 9 bits each next to the index of the first roll of every frame. The version grows with
+ * every roll and reset. Each snapshot carries its scoreboard, which shares the display cells of all frames the last
+ * roll did not change.
+ */
+public final class GameSnapshot {
+    public static final GameSnapshot EMPTY = new GameSnapshot(0L, 0L, 0, 0L, 0, 0L, 0L, 0, 0, RollTable.START, 0L,
+            Scoreboard.EMPTY);
+
+    private static final int ROLLS_PER_LONG = Long.SIZE / 4;
+    private static final int START_BITS = 5;
+    private static final int SCORE_BITS = 9;
+    private static final int SCORES_PER_LONG = Long.SIZE / SCORE_BITS;
+    private static final long START_MASK = (1L << START_BITS) - 1;
+    private static final long SCORE_MASK = (1L << SCORE_BITS) - 1;
+
+    private final long lowRolls;
+    private final long highRolls;
+    private final int rollCount;
+    //index of the first roll of every frame
+    private final long frameStarts;
+    private final int frameCount;
+    //score of every frame plus all frames before it
+    private final long lowScores;
+    private final long highScores;
+    private final int score;
+    private final int firstChangedFrame;
+    //the RollTable state of the next roll
+    private final int state;
+    private final long version;
+    private final Scoreboard scoreboard;
+
+    /**
+     * @param previous the scoreboard before the last roll, which is brought up to date from this state; null for
+     *                 the intermediate states of {@link #restore(int[], int, long)}, which are never handed out
+     */
+    private GameSnapshot(final long lowRolls, final long highRolls, final int rollCount, final long frameStarts,
+                         final int frameCount, final long lowScores, final long highScores, final int score,
+                         final int firstChangedFrame, final int state, final long version, final Scoreboard previous) {
+        this.lowRolls = lowRolls;
+        this.highRolls = highRolls;
+        this.rollCount = rollCount;
+        this.frameStarts = frameStarts;
+        this.frameCount = frameCount;
+        this.lowScores = lowScores;
+        this.highScores = highScores;
+        this.score = score;
+        this.firstChangedFrame = firstChangedFrame;
+        this.state = state;
+        this.version = version;
+        this.scoreboard = previous == null ? null : previous.next(this);
+    }
+
+    /**
+     * @return the snapshot after the roll; throws the IllegalStateException of {@link BowlingGame#roll(int)} if
+     * the roll is not allowed
+     */
+    public GameSnapshot roll(final int pins) {
+        return rolled(pins, version + 1, scoreboard);
+    }
+
+    private GameSnapshot rolled(final int pins, final long nextVersion, final Scoreboard previous) {
+        int next = RollTable.next(state, pins);
+        if (next == RollTable.REJECTED) {
+            throw new IllegalStateException(RollTable.status(state, pins).getMessage());
+        }
+        int weight = RollTable.weight(state);
+        int frame = RollTable.frame(state);
+        boolean startsFrame = RollTable.frameRoll(state) == 0;
+
+        long low = lowRolls;
+        long high = highRolls;
+        if (rollCount < ROLLS_PER_LONG) {
+            low |= (long) pins << (4 * rollCount);
+        } else {
+            high |= (long) pins << (4 * (rollCount - ROLLS_PER_LONG));
+        }
+        long starts = startsFrame ? frameStarts | (long) rollCount << (START_BITS * frame) : frameStarts;
+
+        //the roll counts once for its frame and once for each of the frames right before it it pays a bonus to,
+        //so the accumulated score of the n-th of those frames grows by n times the pins
+        int changed = frame - (weight - 1);
+        long lowAccumulated = lowScores;
+        long highAccumulated = highScores;
+        for (int n = changed; n <= frame; n++) {
+            int accumulated = (n < frame ? getAccumulatedFrameScore(n) : score) + pins * (n - changed + 1);
+            if (n < SCORES_PER_LONG) {
+                lowAccumulated = lowAccumulated & ~(SCORE_MASK << (SCORE_BITS * n))
+                        | (long) accumulated << (SCORE_BITS * n);
+            } else {
+                int shift = SCORE_BITS * (n - SCORES_PER_LONG);
+                highAccumulated = highAccumulated & ~(SCORE_MASK << shift) | (long) accumulated << shift;
+            }
+        }
+        return new GameSnapshot(low, high, rollCount + 1, starts, startsFrame ? frame + 1 : frameCount,
+                lowAccumulated, highAccumulated, score + pins * weight, changed, next, nextVersion, previous);
+    }
+
+    /**
+     * checks the roll against this state without rolling it
+     */
+    public RollStatus check(final int pins) {
+        return RollTable.status(state, pins);
+    }
+
+    /**
+     * rebuilds a snapshot from its rolls and version, e.g. when a game is read back from the journal; throws the
+     * IllegalStateException of {@link BowlingGame#roll(int)} if the rolls are not a legal game
+     */
+    public static GameSnapshot restore(final int[] rolls, final int count, final long version) {
+        if (count == 0) {
+            return EMPTY.reset(version);
+        }
+        GameSnapshot snapshot = EMPTY;
+        for (int n = 0; n < count - 1; n++) {
+            snapshot = snapshot.rolled(rolls[n], version, null);
+        }
+        //the scoreboard is only rendered for the last roll, all at once
+        return snapshot.rolled(rolls[count - 1], version, Scoreboard.EMPTY);
+    }
+
+    public GameSnapshot reset() {
+        return reset(version + 1);
+    }
+
+    private GameSnapshot reset(final long nextVersion) {
+        return new GameSnapshot(0L, 0L, 0, 0L, 0, 0L, 0L, 0, 0, RollTable.START, nextVersion, Scoreboard.EMPTY);
+    }
+
+    public int getRoll(final int index) {
+        long packed = index < ROLLS_PER_LONG ? lowRolls >>> (4 * index) : highRolls >>> (4 * (index - ROLLS_PER_LONG));
+        return (int) (packed & 0xF);
+    }
+
+    public int getRollCount() {
+        return rollCount;
+    }
+
+    public int score() {
+        return score;
+    }
+
+    /**
+     * @return the score the game ends with if every remaining roll knocks down all pins that are standing
+     */
+    public int maxScore() {
+        return ScoreOracle.maxScore(this);
+    }
+
+    /**
+     * @return the lowest frame the roll that led to this snapshot changed
+     */
+    public int getFirstChangedFrame() {
+        return firstChangedFrame;
+    }
+
+    public GameState getGameState() {
+        return RollTable.gameState(state);
+    }
+
+    public boolean isGameOver() {
+        return state == RollTable.GAME_OVER;
+    }
+
+    public int getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * @return number of rolls thrown in the frame so far, up to 3 in the tenth frame
+     */
+    public int getFrameRollCount(final int frame) {
+        int end = frame == frameCount - 1 ? rollCount : frameStart(frame + 1);
+        return end - frameStart(frame);
+    }
+
+    /**
+     * @param roll 0 for the first roll of the frame, 1 for the second and 2 for the fill ball of the tenth
+     */
+    public int getFrameRoll(final int frame, final int roll) {
+        return getRoll(frameStart(frame) + roll);
+    }
+
+    /**
+     * @return the score of the frame plus all frames before it
+     */
+    public int getAccumulatedFrameScore(final int frame) {
+        long packed = frame < SCORES_PER_LONG ? lowScores >>> (SCORE_BITS * frame)
+                : highScores >>> (SCORE_BITS * (frame - SCORES_PER_LONG));
+        return (int) (packed & SCORE_MASK);
+    }
+
+    /**
+     * @return the RollTable state of the next roll
+     */
+    int getTableState() {
+        return state;
+    }
+
+    /**
+     * @return the version the current game started with, the same for all snapshots between two resets, also after
+     * the game was parked or restored from the journal, as every roll adds one to the version and to the rolls
+     */
+    public long getGameStartVersion() {
+        return version - rollCount;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Scoreboard getScoreboard() {
+        return scoreboard;
+    }
+
+    private int frameStart(final int frame) {
+        return (int) (frameStarts >>> (START_BITS * frame) & START_MASK);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder rolls = new StringBuilder("(");
+        for (int n = 0; n < rollCount; n++) {
+            rolls.append(n == 0 ? "" : ",").append(getRoll(n));
+        }
+        return rolls.append(") v").append(version).toString();
+    }
+}
@@ -0,0 +1,86 @@
+package de.genios.model;
+
+import de.genios.helper.Constants;
+
+/**
+ * How likely a ball knocks down each number of the pins standing, e.g. for one player. The distributions of the
+ * final score the {@link ScoreOracle} derives from a model are kept with the model, so every game asking with the
+ * same model shares them.
+ */
+public final class PinFallModel {
+    private static final int PINS = Constants.TOTAL_NUMBER_OF_PINS;
+    private static final PinFallModel UNIFORM = fromCounts(new long[PINS + 1][PINS + 1]);
+
+    //per pins standing the probability of every pin count up to them
+    private final double[][] probabilities;
+    //per RollTable state the distribution of the points the rest of the game brings, worked out on first use
+    private double[][] remaining;
+
+    private PinFallModel(final double[][] probabilities) {
+        this.probabilities = probabilities;
+    }
+
+    /**
+     * @return the model of a bowler who knocks down any number of the pins standing with the same probability
+     */
+    public static PinFallModel uniform() {
+        return UNIFORM;
+    }
+
+    /**
+     * @param counts per pins standing how often each pin count was rolled; standing pins never rolled at are taken
+     *               as uniform
+     */
+    public static PinFallModel fromCounts(final long[][] counts) {
+        double[][] probabilities = new double[PINS + 1][];
+        for (int standing = 0; standing <= PINS; standing++) {
+            probabilities[standing] = new double[standing + 1];
+            long total = 0;
+            for (int pins = 0; pins <= standing; pins++) {
+                total += counts[standing][pins];
+            }
+            for (int pins = 0; pins <= standing; pins++) {
+                probabilities[standing][pins] = total == 0 ? 1.0 / (standing + 1) : (double) counts[standing][pins] / total;
+            }
+        }
+        return new PinFallModel(probabilities);
+    }
+
+    public double probability(final int standing, final int pins) {
+        return probabilities[standing][pins];
+    }
+
+    /**
+     * @return the probability of every number of points the rest of a game in the state brings, by points
+     */
+    synchronized double[] remaining(final int state) {
+        if (remaining == null) {
+            remaining = distributions();
+        }
+        return remaining[state];
+    }
+
+    private double[][] distributions() {
+        double[][] distributions = new double[RollTable.stateCount()][];
+        for (int state : RollTable.backwardOrder()) {
+            double[] distribution = new double[RollTable.maxRemaining(state) + 1];
+            if (state == RollTable.GAME_OVER) {
+                distribution[0] = 1.0;
+            }
+            int standing = RollTable.standing(state);
+            int weight = RollTable.weight(state);
+            for (int pins = 0; pins <= standing && state != RollTable.GAME_OVER; pins++) {
+                double probability = probabilities[standing][pins];
+                if (probability > 0.0) {
+                    double[] rest = distributions[RollTable.next(state, pins)];
+                    int points = pins * weight;
+                    for (int n = 0; n < rest.length; n++) {
+                        distribution[points + n] += probability * rest[n];
+                    }
+                }
+            }
+            distributions[state] = distribution;
+        }
+        return distributions;
+    }
+}
@@ -0,0 +1,28 @@
+package de.genios.model;
+
+import de.genios.helper.ExceptionConstants;
+
+/**
+ * Outcome of {@link BowlingGame#tryRoll(int)}. A rejection carries the message the same roll throws with from
+ * {@link BowlingGame#roll(int)}.
+ */
+public enum RollStatus {
+    ACCEPTED(null),
+    INVALID_ROLL(ExceptionConstants.INVALID_ROLL),
+    PIN_COUNT_EXCEEDING(ExceptionConstants.PIN_COUNT_EXCEEDING),
+    GAME_IS_OVER(ExceptionConstants.GAME_IS_OVER);
+
+    private final String message;
+
+    RollStatus(final String message) {
+        this.message = message;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public boolean isAccepted() {
+        return this == ACCEPTED;
+    }
+}
@@ -0,0 +1,370 @@
+package de.genios.model;
+
+import de.genios.helper.Constants;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Table driven validation and scoring of rolls. All that matters for the next roll is the frame, the roll within the
+ * frame, the pins standing and the strike and spare bonuses owed to the next two rolls, which gives a few hundred
+ * states. They are enumerated once at class initialisation into a transition table and a weight table: a roll of p
+ * pins adds p * weight(state) to the score, the weight being 1 plus the bonuses the roll pays, and moves the game to
+ * next(state, p). An illegal roll moves to the absorbing {@link #REJECTED} state, so scoring a game is one lookup
+ * per roll without branching on the rules.
+ */
+public final class RollTable {
+    public static final int START = 0;
+    public static final int GAME_OVER;
+    public static final int REJECTED;
+
+    private static final int PINS = Constants.TOTAL_NUMBER_OF_PINS;
+    private static final int LAST_FRAME = Constants.TOTAL_NUMBER_OF_FRAMES - 1;
+    //one column for every pin count 0 to 10 and one for any count out of range
+    private static final int COLUMNS = PINS + 2;
+    private static final int OUT_OF_RANGE = PINS + 1;
+
+    //per state and column the row of the next state in the upper bits and the points of the roll in the lowest byte
+    private static final int[] TRANSITIONS;
+    private static final int POINTS_BITS = 8;
+    private static final int POINTS_MASK = (1 << POINTS_BITS) - 1;
+    private static final byte[] STATUSES;
+    private static final byte[] WEIGHTS;
+    private static final byte[] STANDING;
+    private static final boolean[] FRESH_RACKS;
+    private static final byte[] FRAMES;
+    private static final byte[] FRAME_ROLLS;
+    private static final GameState[] GAME_STATES;
+    //the legal states, each after all the states its legal rolls lead to
+    private static final int[] BACKWARD_ORDER;
+    //the most points the rest of the game can bring from every state
+    private static final short[] MAX_REMAINING;
+
+    static {
+        Generator generator = new Generator();
+        generator.generate();
+
+        GAME_OVER = generator.gameOver;
+        REJECTED = generator.rejected;
+        int states = generator.keys.size();
+        TRANSITIONS = new int[states * COLUMNS];
+        STATUSES = new byte[states * COLUMNS];
+        WEIGHTS = new byte[states];
+        STANDING = new byte[states];
+        FRESH_RACKS = new boolean[states];
+        FRAMES = new byte[states];
+        FRAME_ROLLS = new byte[states];
+        GAME_STATES = new GameState[states];
+        for (int state = 0; state < states; state++) {
+            WEIGHTS[state] = (byte) generator.weights.get(state).intValue();
+            STANDING[state] = (byte) generator.standing.get(state).intValue();
+            FRESH_RACKS[state] = generator.freshRacks.get(state);
+            FRAMES[state] = (byte) generator.frames.get(state).intValue();
+            FRAME_ROLLS[state] = (byte) generator.frameRolls.get(state).intValue();
+            GAME_STATES[state] = generator.gameStates.get(state);
+            for (int column = 0; column < COLUMNS; column++) {
+                int points = column == OUT_OF_RANGE ? 0 : column * WEIGHTS[state];
+                TRANSITIONS[state * COLUMNS + column] = generator.next.get(state)[column] * COLUMNS << POINTS_BITS | points;
+                STATUSES[state * COLUMNS + column] = (byte) generator.statuses.get(state)[column].ordinal();
+            }
+        }
+
+        BACKWARD_ORDER = new int[states - 1];
+        int ordered = order(START, new boolean[states], 0);
+        if (ordered != BACKWARD_ORDER.length) {
+            throw new IllegalStateException(ordered + " of " + BACKWARD_ORDER.length + " legal states reachable");
+        }
+        MAX_REMAINING = new short[states];
+        for (int state : BACKWARD_ORDER) {
+            int best = 0;
+            for (int pins = 0; pins <= PINS; pins++) {
+                if (accepted(state, pins)) {
+                    best = Math.max(best, pins * WEIGHTS[state] + MAX_REMAINING[next(state, pins)]);
+                }
+            }
+            MAX_REMAINING[state] = (short) best;
+        }
+    }
+
+    private RollTable() {
+    }
+
+    public static int next(final int state, final int pins) {
+        return (TRANSITIONS[state * COLUMNS + column(pins)] >>> POINTS_BITS) / COLUMNS;
+    }
+
+    /**
+     * @return how often the pins of a roll in this state count: once for the frame plus once for every strike or
+     * spare bonus the roll pays
+     */
+    public static int weight(final int state) {
+        return WEIGHTS[state];
+    }
+
+    /**
+     * @return the pins standing for the roll in this state, 0 once the game is over
+     */
+    public static int standing(final int state) {
+        return STANDING[state];
+    }
+
+    /**
+     * @return whether the roll in this state is thrown at a full rack of newly set pins, so that 10 pins are a strike
+     */
+    public static boolean freshRack(final int state) {
+        return FRESH_RACKS[state];
+    }
+
+    /**
+     * @return the frame, 0 to 9, the roll in this state belongs to; 0 once the game is over
+     */
+    public static int frame(final int state) {
+        return FRAMES[state];
+    }
+
+    /**
+     * @return 0 for the first roll of the frame, 1 for the second and 2 for the fill ball of the tenth
+     */
+    public static int frameRoll(final int state) {
+        return FRAME_ROLLS[state];
+    }
+
+    /**
+     * @return the status {@link BowlingGame#tryRoll(int)} returns for the roll in this state
+     */
+    public static RollStatus status(final int state, final int pins) {
+        if (pins < 0) {
+            return RollStatus.INVALID_ROLL;
+        }
+        return RollStatus.values()[STATUSES[state * COLUMNS + column(pins)]];
+    }
+
+    /**
+     * @return the game state the state belongs to, null for {@link #REJECTED}
+     */
+    public static GameState gameState(final int state) {
+        return GAME_STATES[state];
+    }
+
+    /**
+     * @return the most points the remaining rolls of a game in this state can score
+     */
+    public static int maxRemaining(final int state) {
+        return MAX_REMAINING[state];
+    }
+
+    public static int stateCount() {
+        return WEIGHTS.length;
+    }
+
+    /**
+     * Every legal roll moves the game on to a later roll, so the legal states form a graph without cycles and can be
+     * ordered backwards: from {@link #GAME_OVER} on, every state comes after all the states its legal rolls lead to.
+     * A value worked out per state from the values of the next states, such as the most or the reachable points of
+     * the rest of the game, finds them all known when the states are walked in this order.
+     *
+     * @return every state but {@link #REJECTED} in backward order
+     */
+    public static int[] backwardOrder() {
+        return BACKWARD_ORDER.clone();
+    }
+
+    public static int score(final int[] rolls) {
+        return score(rolls, 0, rolls.length);
+    }
+
+    /**
+     * scores the rolls from index from (inclusive) to index to (exclusive) with the same results and exceptions as
+     * {@link BowlingScorer#score(int[], int, int)}
+     */
+    public static int score(final int[] rolls, final int from, final int to) {
+        int row = START * COLUMNS;
+        int total = 0;
+        for (int n = from; n < to; n++) {
+            int transition = TRANSITIONS[row + column(rolls[n])];
+            total += transition & POINTS_MASK;
+            row = transition >>> POINTS_BITS;
+        }
+        if (row == REJECTED * COLUMNS) {
+            throw new IllegalStateException(firstRejection(rolls, from, to).getMessage());
+        }
+        return total;
+    }
+
+    private static RollStatus firstRejection(final int[] rolls, final int from, final int to) {
+        int state = START;
+        for (int n = from; n < to; n++) {
+            RollStatus status = status(state, rolls[n]);
+            if (!status.isAccepted()) {
+                return status;
+            }
+            state = next(state, rolls[n]);
+        }
+        throw new IllegalArgumentException("rolls were not rejected");
+    }
+
+    /**
+     * numbers the state after all the states reachable from it that have no number yet, depth first
+     *
+     * @return the count of states numbered so far
+     */
+    private static int order(final int state, final boolean[] visited, final int ordered) {
+        visited[state] = true;
+        int count = ordered;
+        for (int pins = 0; pins <= PINS; pins++) {
+            if (accepted(state, pins) && !visited[next(state, pins)]) {
+                count = order(next(state, pins), visited, count);
+            }
+        }
+        BACKWARD_ORDER[count] = state;
+        return count + 1;
+    }
+
+    private static boolean accepted(final int state, final int pins) {
+        return STATUSES[state * COLUMNS + pins] == RollStatus.ACCEPTED.ordinal();
+    }
+
+    private static int column(final int pins) {
+        return Integer.compareUnsigned(pins, PINS) <= 0 ? pins : OUT_OF_RANGE;
+    }
+
+    /**
+     * walks the rules from the empty game and numbers every state it reaches
+     */
+    private static final class Generator {
+        //a key packs frame, roll in frame, pins standing, the bonuses owed to the next two rolls, in the tenth
+        //frame whether its first roll was a strike, and whether the pins were just set
+        private static final int GAME_OVER_KEY = -1;
+        private static final int REJECTED_KEY = -2;
+
+        private final Map<Integer, Integer> ids = new HashMap<>();
+        private final List<Integer> keys = new ArrayList<>();
+        private final List<int[]> next = new ArrayList<>();
+        private final List<RollStatus[]> statuses = new ArrayList<>();
+        private final List<Integer> weights = new ArrayList<>();
+        private final List<Integer> standing = new ArrayList<>();
+        private final List<Boolean> freshRacks = new ArrayList<>();
+        private final List<Integer> frames = new ArrayList<>();
+        private final List<Integer> frameRolls = new ArrayList<>();
+        private final List<GameState> gameStates = new ArrayList<>();
+        private int gameOver;
+        private int rejected;
+
+        private void generate() {
+            id(key(0, 0, PINS, 0, 0, false, true));
+            for (int state = 0; state < keys.size(); state++) {
+                expand(state, keys.get(state));
+            }
+            gameOver = id(GAME_OVER_KEY);
+            rejected = id(REJECTED_KEY);
+            //the terminal states may have been numbered after the loop had passed them
+            for (int state = next.size(); state < keys.size(); state++) {
+                expand(state, keys.get(state));
+            }
+        }
+
+        private void expand(final int state, final int key) {
+            int[] targets = new int[COLUMNS];
+            RollStatus[] rollStatuses = new RollStatus[COLUMNS];
+            next.add(targets);
+            statuses.add(rollStatuses);
+
+            if (key == GAME_OVER_KEY || key == REJECTED_KEY) {
+                weights.add(0);
+                standing.add(0);
+                freshRacks.add(false);
+                frames.add(0);
+                frameRolls.add(0);
+                gameStates.add(key == GAME_OVER_KEY ? GameState.GAME_OVER : null);
+                for (int column = 0; column < COLUMNS; column++) {
+                    targets[column] = id(REJECTED_KEY);
+                    rollStatuses[column] = column == OUT_OF_RANGE || key == REJECTED_KEY
+                            ? RollStatus.PIN_COUNT_EXCEEDING : RollStatus.GAME_IS_OVER;
+                }
+                return;
+            }
+
+            int frame = key >> 12;
+            int roll = (key >> 10) & 0x3;
+            int pinsStanding = (key >> 6) & 0xF;
+            int nextBonus = (key >> 4) & 0x3;
+            int secondBonus = (key >> 3) & 0x1;
+            boolean strikeFirst = ((key >> 2) & 0x1) == 1;
+            boolean freshRack = ((key >> 1) & 0x1) == 1;
+
+            weights.add(1 + nextBonus);
+            standing.add(pinsStanding);
+            freshRacks.add(freshRack);
+            frames.add(frame);
+            frameRolls.add(roll);
+            gameStates.add(gameState(frame, roll));
+            for (int pins = 0; pins < COLUMNS; pins++) {
+                if (pins > pinsStanding) {
+                    targets[pins] = id(REJECTED_KEY);
+                    rollStatuses[pins] = RollStatus.PIN_COUNT_EXCEEDING;
+                } else {
+                    targets[pins] = id(after(frame, roll, pinsStanding, secondBonus, strikeFirst, pins));
+                    rollStatuses[pins] = RollStatus.ACCEPTED;
+                }
+            }
+        }
+
+        /**
+         * @return key of the state after a legal roll
+         */
+        private static int after(final int frame, final int roll, final int standing, final int secondBonus,
+                                 final boolean strikeFirst, final int pins) {
+            if (frame < LAST_FRAME) {
+                if (roll == 0 && pins == PINS) {
+                    //a strike pays a bonus on the next two rolls
+                    return key(frame + 1, 0, PINS, secondBonus + 1, 1, false, true);
+                }
+                if (roll == 0) {
+                    return key(frame, 1, PINS - pins, secondBonus, 0, false, false);
+                }
+                //a spare pays a bonus on the next roll
+                return key(frame + 1, 0, PINS, pins == standing ? 1 : 0, 0, false, true);
+            }
+
+            //the rolls of the tenth frame pay no bonus themselves
+            if (roll == 0) {
+                return key(frame, 1, pins == PINS ? PINS : PINS - pins, secondBonus, 0, pins == PINS, pins == PINS);
+            }
+            if (roll == 1 && strikeFirst) {
+                return key(frame, 2, pins == PINS ? PINS : PINS - pins, 0, 0, true, pins == PINS);
+            }
+            if (roll == 1 && pins == standing) {
+                return key(frame, 2, PINS, 0, 0, false, true);
+            }
+            return GAME_OVER_KEY;
+        }
+
+        private static GameState gameState(final int frame, final int roll) {
+            if (frame < LAST_FRAME) {
+                return roll == 0 ? GameState.FIRST_ROLL : GameState.SECOND_ROLL;
+            }
+            if (roll == 0) {
+                return GameState.FIRST_ROLL_TENTH_FRAME;
+            }
+            return roll == 1 ? GameState.SECOND_ROLL_TENTH_FRAME : GameState.BONUS_ROLL_TENTH_FRAME;
+        }
+
+        private static int key(final int frame, final int roll, final int standing, final int nextBonus,
+                               final int secondBonus, final boolean strikeFirst, final boolean freshRack) {
+            return frame << 12 | roll << 10 | standing << 6 | nextBonus << 4 | secondBonus << 3 | (strikeFirst ? 1 : 0) << 2
+                    | (freshRack ? 1 : 0) << 1;
+        }
+
+        private int id(final int key) {
+            Integer id = ids.get(key);
+            if (id == null) {
+                id = keys.size();
+                ids.put(key, id);
+                keys.add(key);
+            }
+            return id;
+        }
+    }
+}
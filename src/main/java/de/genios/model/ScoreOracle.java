@@ -0,0 +1,118 @@
+package de.genios.model;
+
+/**
+ * Answers what a game in progress can still end with: the highest and lowest final score, which final scores can
+ * be reached at all, and how likely each is under a {@link PinFallModel}. A game's future depends on its
+ * {@link RollTable} state only, so the points the rest of a game can bring are worked out once per state, by
+ * combining the results of the states the next roll leads to in {@link RollTable#backwardOrder()}, and shared by all
+ * games. The reachable points are
+ * computed at class initialisation, the distributions on demand and kept with their model.
+ */
+public final class ScoreOracle {
+    //per state a bit set of the points the rest of the game can bring
+    private static final long[][] REACHABLE;
+
+    static {
+        REACHABLE = new long[RollTable.stateCount()][];
+        for (int state : RollTable.backwardOrder()) {
+            long[] points = new long[(RollTable.maxRemaining(state) >> 6) + 1];
+            if (state == RollTable.GAME_OVER) {
+                points[0] = 1L;
+            }
+            int standing = RollTable.standing(state);
+            int weight = RollTable.weight(state);
+            for (int pins = 0; pins <= standing && state != RollTable.GAME_OVER; pins++) {
+                or(points, REACHABLE[RollTable.next(state, pins)], pins * weight);
+            }
+            REACHABLE[state] = points;
+        }
+    }
+
+    private ScoreOracle() {
+    }
+
+    /**
+     * @return the state of the game in the {@link RollTable}
+     */
+    public static int state(final GameSnapshot snapshot) {
+        return snapshot.getTableState();
+    }
+
+    /**
+     * @return the score the game ends with if every remaining roll knocks down all pins that are standing
+     */
+    public static int maxScore(final GameSnapshot snapshot) {
+        return snapshot.score() + RollTable.maxRemaining(state(snapshot));
+    }
+
+    /**
+     * @return the score the game ends with if every remaining roll misses; a miss is always legal and scores nothing
+     */
+    public static int minScore(final GameSnapshot snapshot) {
+        return snapshot.score();
+    }
+
+    /**
+     * @return how many different final scores the game can still end with
+     */
+    public static int reachableScoreCount(final GameSnapshot snapshot) {
+        int count = 0;
+        for (long word : REACHABLE[legal(state(snapshot))]) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    public static boolean isReachable(final GameSnapshot snapshot, final int finalScore) {
+        int points = finalScore - snapshot.score();
+        long[] reachable = REACHABLE[legal(state(snapshot))];
+        return points >= 0 && points < reachable.length * Long.SIZE && (reachable[points >> 6] & 1L << points) != 0;
+    }
+
+    /**
+     * @return by final score the probability that the game ends with it when every ball falls as the model says,
+     * from 0 up to {@link #maxScore(GameSnapshot)}
+     */
+    public static double[] distribution(final GameSnapshot snapshot, final PinFallModel model) {
+        double[] remaining = model.remaining(legal(state(snapshot)));
+        double[] distribution = new double[snapshot.score() + remaining.length];
+        System.arraycopy(remaining, 0, distribution, snapshot.score(), remaining.length);
+        return distribution;
+    }
+
+    /**
+     * @return the mean of a distribution by final score
+     */
+    public static double expectedScore(final double[] distribution) {
+        double expected = 0.0;
+        for (int score = 0; score < distribution.length; score++) {
+            expected += score * distribution[score];
+        }
+        return expected;
+    }
+
+    private static int legal(final int state) {
+        if (state == RollTable.REJECTED) {
+            throw new IllegalArgumentException("Game has an illegal roll");
+        }
+        return state;
+    }
+
+    /**
+     * sets the bits of the source shifted up by shift in the target
+     */
+    private static void or(final long[] target, final long[] source, final int shift) {
+        int words = shift >> 6;
+        int bits = shift & 63;
+        for (int n = 0; n < source.length; n++) {
+            if (source[n] == 0) {
+                continue;
+            }
+            int word = n + words;
+            target[word] |= source[n] << bits;
+            if (bits != 0 && word + 1 < target.length) {
+                target[word + 1] |= source[n] >>> (64 - bits);
+            }
+        }
+    }
+}
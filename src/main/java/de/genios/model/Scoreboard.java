@@ -0,0 +1,100 @@
+package de.genios.model;
+
+import de.genios.helper.Constants;
+
+import java.util.Arrays;
+
+/**
+ * The display cells of a scoreboard: the rolls of every frame as shown on the card, e.g. "X | 0", and the
+ * accumulated score. Every cell that can occur is built once at class initialisation, so rendering a frame is an
+ * array lookup, and {@link #next(GameSnapshot)} re-renders only the frames the last roll changed.
+ */
+public final class Scoreboard {
+    public static final Scoreboard EMPTY = new Scoreboard(new String[0], new String[0]);
+
+    private static final int PIN_VALUES = Constants.TOTAL_NUMBER_OF_PINS + 1;
+    private static final int MAX_SCORE = 300;
+
+    //indexed by first * 11 + second
+    private static final String[] FRAME_CELLS = new String[PIN_VALUES * PIN_VALUES];
+    //indexed by (first * 11 + second) * 11 + fill
+    private static final String[] TENTH_FRAME_CELLS = new String[PIN_VALUES * PIN_VALUES * PIN_VALUES];
+    private static final String[] SCORE_CELLS = new String[MAX_SCORE + 1];
+
+    static {
+        for (int first = 0; first < PIN_VALUES; first++) {
+            for (int second = 0; second < PIN_VALUES; second++) {
+                Frame frame = new Frame(first);
+                frame.setSecondRollScore(second);
+                String cell = frame.firstRollScoreFormatted() + " | " + frame.secondRollScoreFormatted();
+                FRAME_CELLS[first * PIN_VALUES + second] = cell;
+
+                for (int fill = 0; fill < PIN_VALUES; fill++) {
+                    frame.setBonusRollScoreLastStrike(fill);
+                    TENTH_FRAME_CELLS[(first * PIN_VALUES + second) * PIN_VALUES + fill] = cell + frame.bonusRollScoreFormatted();
+                }
+            }
+        }
+        for (int score = 0; score <= MAX_SCORE; score++) {
+            SCORE_CELLS[score] = String.valueOf(score);
+        }
+    }
+
+    private final String[] frameCells;
+    private final String[] scoreCells;
+
+    private Scoreboard(final String[] frameCells, final String[] scoreCells) {
+        this.frameCells = frameCells;
+        this.scoreCells = scoreCells;
+    }
+
+    /**
+     * @param snapshot the game right after the roll that followed the state of this scoreboard
+     * @return a scoreboard sharing the cells of all frames the roll did not change
+     */
+    public Scoreboard next(final GameSnapshot snapshot) {
+        int frameCount = snapshot.getFrameCount();
+        String[] nextFrameCells = Arrays.copyOf(frameCells, frameCount);
+        String[] nextScoreCells = Arrays.copyOf(scoreCells, frameCount);
+
+        for (int n = Math.min(snapshot.getFirstChangedFrame(), frameCells.length); n < frameCount; n++) {
+            int rollCount = snapshot.getFrameRollCount(n);
+            nextFrameCells[n] = frameCell(n, snapshot.getFrameRoll(n, 0),
+                    rollCount > 1 ? snapshot.getFrameRoll(n, 1) : 0, rollCount > 2 ? snapshot.getFrameRoll(n, 2) : 0);
+            nextScoreCells[n] = SCORE_CELLS[snapshot.getAccumulatedFrameScore(n)];
+        }
+        return new Scoreboard(nextFrameCells, nextScoreCells);
+    }
+
+    /**
+     * @return the rolls of the frame as shown on the scoreboard; rolls not thrown yet show as 0
+     */
+    public static String frameCell(final ScoringEngine engine, final int n) {
+        int rollCount = engine.getFrameRollCount(n);
+        return frameCell(n, engine.getFrameRoll(n, 0), rollCount > 1 ? engine.getFrameRoll(n, 1) : 0,
+                rollCount > 2 ? engine.getFrameRoll(n, 2) : 0);
+    }
+
+    private static String frameCell(final int n, final int first, final int second, final int fill) {
+        if (n == Constants.TOTAL_NUMBER_OF_FRAMES - 1) {
+            return TENTH_FRAME_CELLS[(first * PIN_VALUES + second) * PIN_VALUES + fill];
+        }
+        return FRAME_CELLS[first * PIN_VALUES + second];
+    }
+
+    public static String scoreCell(final int score) {
+        return SCORE_CELLS[score];
+    }
+
+    public int getFrameCount() {
+        return frameCells.length;
+    }
+
+    public String getFrameCell(final int n) {
+        return frameCells[n];
+    }
+
+    public String getScoreCell(final int n) {
+        return scoreCells[n];
+    }
+}
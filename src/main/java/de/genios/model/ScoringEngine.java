@@ -0,0 +1,271 @@
+package de.genios.model;
+
+import de.genios.helper.Constants;
+
+import java.util.Arrays;
+
+/**
+ * Scoring engine behind {@link BowlingGame}. All rolls of a game are kept in one fixed array and frames are
+ * addressed by the index of their first roll, so rolling and scoring never allocate. The running total and the
+ * accumulated score of every frame are updated as each roll is applied, so reading them is a lookup.
+ */
+public class ScoringEngine {
+    private final byte[] rolls = new byte[Constants.MAX_NUMBER_OF_ROLLS];
+    //index into rolls of the first roll of every frame
+    private final byte[] frameStarts = new byte[Constants.TOTAL_NUMBER_OF_FRAMES];
+    //score of every frame including its strike or spare bonus
+    private final int[] frameScores = new int[Constants.TOTAL_NUMBER_OF_FRAMES];
+    //score of every frame plus all frames before it, as shown on the scoreboard
+    private final int[] accumulatedScores = new int[Constants.TOTAL_NUMBER_OF_FRAMES];
+
+    private int rollCount = 0;
+    private int frameCount = 0;
+    private int totalScore = 0;
+    //lowest frame whose rolls or score the last roll changed
+    private int firstChangedFrame = 0;
+    private GameState gameState = GameState.FIRST_ROLL;
+
+    public void reset() {
+        rollCount = 0;
+        frameCount = 0;
+        totalScore = 0;
+        firstChangedFrame = 0;
+        Arrays.fill(frameScores, 0);
+        Arrays.fill(accumulatedScores, 0);
+        gameState = GameState.FIRST_ROLL;
+    }
+
+    public void roll(final int pins) {
+        RollStatus status = tryRoll(pins);
+        if (!status.isAccepted()) {
+            throw new IllegalStateException(status.getMessage());
+        }
+    }
+
+    /**
+     * rolls like {@link #roll(int)} but reports a rejected roll instead of throwing; a rejected roll leaves the
+     * game unchanged
+     */
+    public RollStatus tryRoll(final int pins) {
+        RollStatus status = check(gameState, rollCount > 0 ? rolls[rollCount - 1] : 0,
+                rollCount > 1 ? rolls[rollCount - 2] : 0, pins);
+        if (!status.isAccepted()) {
+            return status;
+        }
+        switch (gameState) {
+            case FIRST_ROLL:
+                handleFirst(pins);
+                break;
+            case SECOND_ROLL:
+                handleSecond(pins);
+                break;
+            case FIRST_ROLL_TENTH_FRAME:
+                handleTenthFirst(pins);
+                break;
+            case SECOND_ROLL_TENTH_FRAME:
+                handleTenthSecond(pins);
+                break;
+            case BONUS_ROLL_TENTH_FRAME:
+                handleTenthFillBall(pins);
+                break;
+        }
+        return RollStatus.ACCEPTED;
+    }
+
+    /**
+     * checks a roll against the pins left standing, which only depend on the game state and the last two rolls
+     *
+     * @param lastRoll   the last roll of the game, 0 if there is none
+     * @param rollBefore the roll before the last roll, 0 if there is none
+     */
+    public static RollStatus check(final GameState gameState, final int lastRoll, final int rollBefore, final int pins) {
+        if (pins < 0) {
+            return RollStatus.INVALID_ROLL;
+        }
+        if (pins > Constants.TOTAL_NUMBER_OF_PINS) {
+            return RollStatus.PIN_COUNT_EXCEEDING;
+        }
+        switch (gameState) {
+            case SECOND_ROLL:
+                //the last roll is the first roll of the frame
+                return lastRoll + pins > Constants.TOTAL_NUMBER_OF_PINS
+                        ? RollStatus.PIN_COUNT_EXCEEDING : RollStatus.ACCEPTED;
+            case SECOND_ROLL_TENTH_FRAME:
+                return lastRoll < Constants.TOTAL_NUMBER_OF_PINS && lastRoll + pins > Constants.TOTAL_NUMBER_OF_PINS
+                        ? RollStatus.PIN_COUNT_EXCEEDING : RollStatus.ACCEPTED;
+            case BONUS_ROLL_TENTH_FRAME:
+                //after a strike the pins are only reset for the fill ball if the second roll was a strike too
+                return rollBefore == Constants.TOTAL_NUMBER_OF_PINS && lastRoll != Constants.TOTAL_NUMBER_OF_PINS
+                        && lastRoll + pins > Constants.TOTAL_NUMBER_OF_PINS
+                        ? RollStatus.PIN_COUNT_EXCEEDING : RollStatus.ACCEPTED;
+            case GAME_OVER:
+                return RollStatus.GAME_IS_OVER;
+            default:
+                return RollStatus.ACCEPTED;
+        }
+    }
+
+    private void handleFirst(final int pins) {
+        startFrame(pins);
+
+        if (pins == Constants.TOTAL_NUMBER_OF_PINS) {
+            gameState = nextFrameState();
+        } else {
+            gameState = GameState.SECOND_ROLL;
+        }
+    }
+
+    private void handleSecond(final int pins) {
+        addRoll(pins);
+
+        gameState = nextFrameState();
+    }
+
+    private void handleTenthFirst(final int pins) {
+        startFrame(pins);
+
+        gameState = GameState.SECOND_ROLL_TENTH_FRAME;
+    }
+
+    private void handleTenthSecond(final int pins) {
+        int first = firstRollOfCurrentFrame();
+        addRoll(pins);
+
+        if (first + pins < Constants.TOTAL_NUMBER_OF_PINS) {
+            gameState = GameState.GAME_OVER;
+        } else {
+            gameState = GameState.BONUS_ROLL_TENTH_FRAME;
+        }
+    }
+
+    private void handleTenthFillBall(final int pins) {
+        addRoll(pins);
+
+        gameState = GameState.GAME_OVER;
+    }
+
+    private GameState nextFrameState() {
+        return frameCount == Constants.TOTAL_NUMBER_OF_FRAMES - 1 ? GameState.FIRST_ROLL_TENTH_FRAME : GameState.FIRST_ROLL;
+    }
+
+    private int firstRollOfCurrentFrame() {
+        return rolls[frameStarts[frameCount - 1]];
+    }
+
+    private void startFrame(final int pins) {
+        frameStarts[frameCount++] = (byte) rollCount;
+        addRoll(pins);
+    }
+
+    /**
+     * stores the roll in the current frame, adds it as bonus to the previous two frames where it is due and
+     * brings the accumulated scores of the touched frames up to date
+     */
+    private void addRoll(final int pins) {
+        int rollIndex = rollCount;
+        rolls[rollCount++] = (byte) pins;
+
+        int current = frameCount - 1;
+        int firstTouchedFrame = current;
+        frameScores[current] += pins;
+        totalScore += pins;
+
+        for (int frame = Math.max(0, current - 2); frame < current; frame++) {
+            if (rollIndex - frameEnd(frame) < bonusRollCount(frame)) {
+                frameScores[frame] += pins;
+                totalScore += pins;
+                firstTouchedFrame = Math.min(firstTouchedFrame, frame);
+            }
+        }
+
+        firstChangedFrame = firstTouchedFrame;
+        int accumulated = firstTouchedFrame > 0 ? accumulatedScores[firstTouchedFrame - 1] : 0;
+        for (int frame = firstTouchedFrame; frame <= current; frame++) {
+            accumulated += frameScores[frame];
+            accumulatedScores[frame] = accumulated;
+        }
+    }
+
+    //index of the first roll after the own rolls of a frame out of the first nine
+    private int frameEnd(final int frame) {
+        return frameStarts[frame] + (isStrike(frame) ? 1 : 2);
+    }
+
+    private int bonusRollCount(final int frame) {
+        if (isStrike(frame)) {
+            return 2;
+        }
+        return isSpare(frame) ? 1 : 0;
+    }
+
+    public boolean isStrike(final int frame) {
+        return rolls[frameStarts[frame]] == Constants.TOTAL_NUMBER_OF_PINS;
+    }
+
+    public boolean isSpare(final int frame) {
+        return !isStrike(frame) && getFrameRollCount(frame) > 1
+                && rolls[frameStarts[frame]] + rolls[frameStarts[frame] + 1] == Constants.TOTAL_NUMBER_OF_PINS;
+    }
+
+    public int score() {
+        return totalScore;
+    }
+
+    public GameState getGameState() {
+        return gameState;
+    }
+
+    public boolean isGameOver() {
+        return gameState == GameState.GAME_OVER;
+    }
+
+    public int getRollCount() {
+        return rollCount;
+    }
+
+    public int getRoll(final int index) {
+        return rolls[index];
+    }
+
+    public int getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * @return the score of the frame including its strike or spare bonus, without the previous frames
+     */
+    public int getFrameScore(final int frame) {
+        return frameScores[frame];
+    }
+
+    /**
+     * @return the lowest frame the last roll changed; it and all frames after it need to be redrawn
+     */
+    public int getFirstChangedFrame() {
+        return firstChangedFrame;
+    }
+
+    /**
+     * @return the score of the frame plus all frames before it
+     */
+    public int getAccumulatedFrameScore(final int frame) {
+        return accumulatedScores[frame];
+    }
+
+    /**
+     * @return number of rolls thrown in the frame so far, up to 3 in the tenth frame
+     */
+    public int getFrameRollCount(final int frame) {
+        if (frame == frameCount - 1) {
+            return rollCount - frameStarts[frame];
+        }
+        return frameStarts[frame + 1] - frameStarts[frame];
+    }
+
+    /**
+     * @param roll 0 for the first roll of the frame, 1 for the second and 2 for the fill ball of the tenth
+     */
+    public int getFrameRoll(final int frame, final int roll) {
+        return rolls[frameStarts[frame] + roll];
+    }
+}
@@ -0,0 +1,106 @@
+package de.genios.service;
+
+import de.genios.config.PropertyConfig;
+import de.genios.journal.RollJournal;
+import de.genios.metrics.GameMetrics;
+import de.genios.model.GameSnapshot;
+import de.genios.store.GameStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Keeps the games of the {@link GameStore} in a {@link RollJournal} if journal.enabled is set: the games are rebuilt
+ * from it on startup, {@link GameService} has every created game and accepted roll appended before it returns, games
+ * leaving the store are marked removed and a snapshot is written periodically and on shutdown.
+ * <p>
+ * Appending waits for the fsync of the group commit, which is why it is not a {@link RollListener}. A change that
+ * cannot be written is logged and counted in bowling_journal_failures_total; the roll itself stands, since it is
+ * already visible to other requests.
+ */
+@Service
+@Slf4j
+public class GameJournal implements InitializingBean, DisposableBean {
+
+    @Autowired
+    PropertyConfig propertiesConfig;
+
+    @Autowired
+    GameStore gameStore;
+
+    @Autowired
+    GameMetrics gameMetrics;
+
+    private RollJournal journal;
+
+    @Override
+    public void afterPropertiesSet() throws IOException {
+        if (!propertiesConfig.isJournalEnabled()) {
+            return;
+        }
+        String directory = propertiesConfig.getJournalDirectory();
+        if (directory == null || directory.trim().isEmpty()) {
+            throw new IllegalArgumentException("journal.enabled needs a journal.directory");
+        }
+        long start = System.nanoTime();
+        journal = RollJournal.open(Paths.get(directory), propertiesConfig.isJournalFsync(), gameStore);
+        gameStore.setRemovalListener(this::removed);
+        log.info("Recovered {} games from {} in {} ms", journal.getRecoveredGames(), directory,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * appends the new game and returns once it is on disk
+     */
+    public void created(final String gameId) {
+        rolled(gameId, GameSnapshot.EMPTY);
+    }
+
+    /**
+     * appends the state after the roll and returns once it is on disk
+     */
+    public void rolled(final String gameId, final GameSnapshot snapshot) {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.append(gameId, snapshot);
+        } catch (IOException e) {
+            gameMetrics.journalFailed();
+            log.error("Could not journal roll of game {}", gameId, e);
+        }
+    }
+
+    /**
+     * marks a game that left the store, so that a restart does not bring it back
+     */
+    void removed(final String gameId) {
+        try {
+            journal.remove(gameId);
+        } catch (IOException e) {
+            gameMetrics.journalFailed();
+            log.error("Could not journal removal of game {}", gameId, e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${journal.snapshot-interval-ms}")
+    public void snapshot() throws IOException {
+        if (journal != null) {
+            journal.snapshot(gameStore);
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        if (journal != null) {
+            journal.snapshot(gameStore);
+            journal.close();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package de.genios.service;
+
+import de.genios.api.GameNotFoundException;
+import de.genios.metrics.GameMetrics;
+import de.genios.model.ConcurrentBowlingGame;
+import de.genios.model.GameSnapshot;
+import de.genios.model.RollStatus;
+import de.genios.store.GameStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entry point for the controllers: looks games up in the {@link GameStore}, has created games and accepted rolls
+ * journaled by the {@link GameJournal} and then tells every {@link RollListener} about accepted rolls.
+ */
+@Service
+public class GameService {
+
+    @Autowired
+    GameStore gameStore;
+
+    @Autowired
+    GameMetrics gameMetrics;
+
+    @Autowired(required = false)
+    GameJournal gameJournal;
+
+    @Autowired(required = false)
+    List<RollListener> rollListeners = new ArrayList<>();
+
+    public String create() {
+        String gameId = gameStore.create();
+        if (gameJournal != null) {
+            gameJournal.created(gameId);
+        }
+        return gameId;
+    }
+
+    /**
+     * reads a parked game where it is, only a roll brings it back to the heap
+     */
+    public GameSnapshot snapshot(final String gameId) {
+        GameSnapshot snapshot = gameStore.snapshot(gameId);
+        if (snapshot == null) {
+            throw new GameNotFoundException(gameId);
+        }
+        return snapshot;
+    }
+
+    /**
+     * @return the state right after this roll
+     * @throws IllegalStateException with the message of the {@link RollStatus} if the roll is rejected
+     */
+    public GameSnapshot roll(final String gameId, final int pins) {
+        RollResult result = tryRoll(gameId, pins);
+        if (!result.isAccepted()) {
+            throw new IllegalStateException(result.getStatus().getMessage());
+        }
+        return result.getSnapshot();
+    }
+
+    /**
+     * rolls like {@link #roll(String, int)} but reports a rejected roll as status instead of throwing, so that
+     * invalid rolls cost no more than a check and allocate nothing
+     */
+    public RollResult tryRoll(final String gameId, final int pins) {
+        ConcurrentBowlingGame bowlingGame = find(gameId);
+
+        boolean timed = gameMetrics.sampleRoll();
+        long start = timed ? System.nanoTime() : 0L;
+        while (true) {
+            GameSnapshot current = bowlingGame.snapshot();
+            RollStatus status = current.check(pins);
+            if (!status.isAccepted()) {
+                gameMetrics.rejected(status);
+                return RollResult.rejected(status);
+            }
+            GameSnapshot snapshot = bowlingGame.rollIfUnchanged(current, pins);
+            if (snapshot != null) {
+                accepted(gameId, snapshot, timed, start);
+                return RollResult.accepted(snapshot);
+            }
+            if (bowlingGame.isRetired()) {
+                //parked or dropped since it was looked up, roll it where the store keeps it now
+                bowlingGame = find(gameId);
+            }
+        }
+    }
+
+    private void accepted(final String gameId, final GameSnapshot snapshot, final boolean timed, final long start) {
+        if (timed) {
+            gameMetrics.timed(System.nanoTime() - start);
+        }
+        gameMetrics.rolled(snapshot.isGameOver());
+
+        if (gameJournal != null) {
+            gameJournal.rolled(gameId, snapshot);
+        }
+        for (RollListener rollListener : rollListeners) {
+            rollListener.rolled(gameId, snapshot);
+        }
+    }
+
+    private ConcurrentBowlingGame find(final String gameId) {
+        ConcurrentBowlingGame bowlingGame = gameStore.get(gameId);
+        if (bowlingGame == null) {
+            throw new GameNotFoundException(gameId);
+        }
+        return bowlingGame;
+    }
+}
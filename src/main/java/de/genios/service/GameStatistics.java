@@ -0,0 +1,164 @@
+package de.genios.service;
+
+import de.genios.config.PropertyConfig;
+import de.genios.helper.Constants;
+import de.genios.metrics.RollStatistics;
+import de.genios.model.GameSnapshot;
+import de.genios.model.RollTable;
+import de.genios.store.GameStore;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aggregates the rolls of all games into statistics per player, per lane and for the whole venue. Every game is
+ * followed by a tracker holding its {@link RollTable} state, so a roll event is classified with a table lookup and
+ * only the new rolls of a snapshot are read. A roll reported out of order is caught up from the snapshot that
+ * overtook it and ignored when it arrives. A reset is told by the start version of the game, which changes with
+ * every reset however many rolls follow it.
+ * <p>
+ * A tracker is kept as long as the {@link GameStore} holds its game, parked ones included, so a game rolled again
+ * after a week keeps its player and lane and its earlier rolls are not counted twice.
+ */
+@Service
+public class GameStatistics implements RollListener, InitializingBean {
+
+    @Autowired
+    PropertyConfig propertiesConfig;
+
+    @Autowired
+    GameStore gameStore;
+
+    private final RollStatistics venue = new RollStatistics();
+    private final ConcurrentMap<String, RollStatistics> players = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, RollStatistics> lanes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Tracker> trackers = new ConcurrentHashMap<>();
+
+    private long idleTimeoutNanos;
+
+    public GameStatistics() {
+    }
+
+    /**
+     * @param idleTimeout games not rolled for this long are looked up in the store by {@link #evictIdle()}
+     */
+    public GameStatistics(final GameStore gameStore, final long idleTimeout, final TimeUnit unit) {
+        this.gameStore = gameStore;
+        idleTimeoutNanos = unit.toNanos(idleTimeout);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        idleTimeoutNanos = TimeUnit.MINUTES.toNanos(propertiesConfig.getGameStoreIdleTimeoutMinutes());
+    }
+
+    /**
+     * counts the rolls of the game for the player and the lane as well; either may be null
+     */
+    public void assign(final String gameId, final String player, final String lane) {
+        RollStatistics playerStatistics = player == null ? null : players.computeIfAbsent(player, p -> new RollStatistics());
+        RollStatistics laneStatistics = lane == null ? null : lanes.computeIfAbsent(lane, l -> new RollStatistics());
+        trackers.put(gameId, new Tracker(venue, playerStatistics, laneStatistics));
+    }
+
+    @Override
+    public void rolled(final String gameId, final GameSnapshot snapshot) {
+        Tracker tracker = trackers.computeIfAbsent(gameId, id -> new Tracker(venue, null, null));
+        synchronized (tracker) {
+            if (snapshot.getVersion() <= tracker.version) {
+                return;
+            }
+            if (snapshot.getGameStartVersion() != tracker.gameStartVersion) {
+                //the game was reset since the last snapshot
+                tracker.gameStartVersion = snapshot.getGameStartVersion();
+                tracker.state = RollTable.START;
+                tracker.rollCount = 0;
+                tracker.tenthFramePins = 0;
+            }
+            for (int n = tracker.rollCount; n < snapshot.getRollCount(); n++) {
+                int pins = snapshot.getRoll(n);
+                for (RollStatistics statistics : tracker.statistics) {
+                    statistics.rolled(tracker.state, pins);
+                }
+                if (RollTable.frame(tracker.state) == Constants.TOTAL_NUMBER_OF_FRAMES - 1) {
+                    tracker.tenthFramePins += pins;
+                }
+                tracker.state = RollTable.next(tracker.state, pins);
+                if (tracker.state == RollTable.GAME_OVER) {
+                    for (RollStatistics statistics : tracker.statistics) {
+                        statistics.completed(snapshot.score(), tracker.tenthFramePins);
+                    }
+                }
+            }
+            tracker.rollCount = snapshot.getRollCount();
+            tracker.version = snapshot.getVersion();
+            tracker.lastUpdate = System.nanoTime();
+        }
+    }
+
+    public RollStatistics getVenue() {
+        return venue;
+    }
+
+    /**
+     * @return the statistics of the player or null if no game was assigned to the player
+     */
+    public RollStatistics getPlayer(final String player) {
+        return players.get(player);
+    }
+
+    /**
+     * @return the statistics of the lane or null if no game was assigned to the lane
+     */
+    public RollStatistics getLane(final String lane) {
+        return lanes.get(lane);
+    }
+
+    /**
+     * forgets the games the store no longer holds; only games not rolled within the idle timeout of the store are
+     * looked up, as the others are still on its heap. Their rolls stay counted.
+     */
+    @Scheduled(fixedDelayString = "${game-store.sweep-interval-ms}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        Iterator<Map.Entry<String, Tracker>> iterator = trackers.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Tracker> entry = iterator.next();
+            Tracker tracker = entry.getValue();
+            synchronized (tracker) {
+                if (now - tracker.lastUpdate > idleTimeoutNanos && !gameStore.contains(entry.getKey())) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    private static class Tracker {
+        private final RollStatistics[] statistics;
+        private int state = RollTable.START;
+        private int rollCount;
+        private int tenthFramePins;
+        private long gameStartVersion;
+        private long version = -1;
+        private long lastUpdate = System.nanoTime();
+
+        private Tracker(final RollStatistics venue, final RollStatistics player, final RollStatistics lane) {
+            int count = 1 + (player == null ? 0 : 1) + (lane == null ? 0 : 1);
+            statistics = new RollStatistics[count];
+            statistics[0] = venue;
+            if (player != null) {
+                statistics[1] = player;
+            }
+            if (lane != null) {
+                statistics[count - 1] = lane;
+            }
+        }
+    }
+}
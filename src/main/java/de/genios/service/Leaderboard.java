@@ -0,0 +1,203 @@
+package de.genios.service;
+
+import de.genios.api.Standing;
+import de.genios.config.PropertyConfig;
+import de.genios.helper.Constants;
+import de.genios.model.GameSnapshot;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Ranks all running games by score as they are rolled. A score is at most 300, so the games are kept in one bucket
+ * per score: moving a game after a roll is O(1), the rank of a game is the number of games in the buckets above it
+ * and the top n are read from the highest buckets down. Rolls of the same game may be reported out of order, the
+ * highest version wins. Readers do not lock the board, so a game rolled while the top n are read may show up with
+ * the rank of its previous score.
+ */
+@Service
+public class Leaderboard implements RollListener, InitializingBean {
+    public static final int MAX_SCORE = Constants.TOTAL_NUMBER_OF_FRAMES * 3 * Constants.TOTAL_NUMBER_OF_PINS;
+
+    @Autowired
+    PropertyConfig propertiesConfig;
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final List<Set<String>> buckets = new ArrayList<>(MAX_SCORE + 1);
+    private final AtomicIntegerArray counts = new AtomicIntegerArray(MAX_SCORE + 1);
+
+    private long idleTimeoutNanos;
+
+    public Leaderboard() {
+        for (int score = 0; score <= MAX_SCORE; score++) {
+            buckets.add(ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    /**
+     * @param idleTimeout games not rolled for this long are dropped by {@link #evictIdle()}
+     */
+    public Leaderboard(final long idleTimeout, final TimeUnit unit) {
+        this();
+        idleTimeoutNanos = unit.toNanos(idleTimeout);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        idleTimeoutNanos = TimeUnit.MINUTES.toNanos(propertiesConfig.getGameStoreIdleTimeoutMinutes());
+    }
+
+    @Override
+    public void rolled(final String gameId, final GameSnapshot snapshot) {
+        while (true) {
+            Entry entry = entries.computeIfAbsent(gameId, Entry::new);
+            synchronized (entry) {
+                if (entry.removed) {
+                    //evicted between the lookup and the lock, add it again
+                    continue;
+                }
+                if (entry.version >= snapshot.getVersion()) {
+                    return;
+                }
+                int oldScore = entry.score;
+                entry.version = snapshot.getVersion();
+                entry.score = snapshot.score();
+                entry.maxScore = snapshot.maxScore();
+                entry.gameOver = snapshot.isGameOver();
+                entry.lastUpdate = System.nanoTime();
+                if (!entry.placed) {
+                    buckets.get(entry.score).add(gameId);
+                    counts.incrementAndGet(entry.score);
+                    entry.placed = true;
+                } else if (oldScore != entry.score) {
+                    move(gameId, oldScore, entry.score);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return the best n games, best first
+     */
+    public List<Standing> top(final int n) {
+        List<Standing> standings = new ArrayList<>(Math.min(n, entries.size()));
+        int above = 0;
+        for (int score = MAX_SCORE; score >= 0 && standings.size() < n; score--) {
+            int count = counts.get(score);
+            if (count == 0) {
+                continue;
+            }
+            for (String gameId : buckets.get(score)) {
+                Entry entry = entries.get(gameId);
+                if (entry == null) {
+                    continue;
+                }
+                standings.add(entry.standing(above + 1));
+                if (standings.size() == n) {
+                    break;
+                }
+            }
+            above += count;
+        }
+        return standings;
+    }
+
+    /**
+     * @return the standing of the game or null if it has not been rolled yet or was dropped
+     */
+    public Standing standing(final String gameId) {
+        Entry entry = entries.get(gameId);
+        if (entry == null) {
+            return null;
+        }
+        synchronized (entry) {
+            return entry.placed && !entry.removed ? entry.standing(rank(entry.score)) : null;
+        }
+    }
+
+    public void remove(final String gameId) {
+        Entry entry = entries.remove(gameId);
+        if (entry != null) {
+            synchronized (entry) {
+                unplace(entry);
+            }
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * drops every game that has not been rolled within the idle timeout of the game store
+     */
+    @Scheduled(fixedDelayString = "${game-store.sweep-interval-ms}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next().getValue();
+            synchronized (entry) {
+                //a new entry is placed by the roll that created it
+                if (entry.placed && now - entry.lastUpdate > idleTimeoutNanos) {
+                    iterator.remove();
+                    unplace(entry);
+                }
+            }
+        }
+    }
+
+    private int rank(final int score) {
+        int above = 0;
+        for (int higher = score + 1; higher <= MAX_SCORE; higher++) {
+            above += counts.get(higher);
+        }
+        return above + 1;
+    }
+
+    private void unplace(final Entry entry) {
+        entry.removed = true;
+        if (entry.placed) {
+            buckets.get(entry.score).remove(entry.gameId);
+            counts.decrementAndGet(entry.score);
+        }
+    }
+
+    private void move(final String gameId, final int from, final int to) {
+        buckets.get(to).add(gameId);
+        counts.incrementAndGet(to);
+        buckets.get(from).remove(gameId);
+        counts.decrementAndGet(from);
+    }
+
+    private static class Entry {
+        private final String gameId;
+        private long version = -1;
+        private int score;
+        private int maxScore;
+        private boolean gameOver;
+        private long lastUpdate;
+        private boolean placed;
+        private boolean removed;
+
+        private Entry(final String gameId) {
+            this.gameId = gameId;
+        }
+
+        private synchronized Standing standing(final int rank) {
+            return new Standing(rank, gameId, score, maxScore, gameOver);
+        }
+    }
+}
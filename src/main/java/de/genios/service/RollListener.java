@@ -0,0 +1,15 @@
+package de.genios.service;
+
+import de.genios.model.GameSnapshot;
+
+/**
+ * Notified by {@link GameService} after every accepted roll. Listeners run on the request thread, so they have to
+ * be quick and must not throw.
+ */
+public interface RollListener {
+
+    /**
+     * @param snapshot the state right after the roll; the pins of the roll are its last roll
+     */
+    void rolled(String gameId, GameSnapshot snapshot);
+}
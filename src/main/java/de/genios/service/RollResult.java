@@ -0,0 +1,49 @@
+package de.genios.service;
+
+import de.genios.model.GameSnapshot;
+import de.genios.model.RollStatus;
+
+/**
+ * Result of {@link GameService#tryRoll(String, int)}: the status and, for an accepted roll, the snapshot the roll
+ * produced. The results of rejected rolls are shared constants, so a rejected roll allocates nothing.
+ */
+public final class RollResult {
+    private static final RollResult[] REJECTED = new RollResult[RollStatus.values().length];
+
+    static {
+        for (RollStatus status : RollStatus.values()) {
+            REJECTED[status.ordinal()] = new RollResult(status, null);
+        }
+    }
+
+    private final RollStatus status;
+    private final GameSnapshot snapshot;
+
+    private RollResult(final RollStatus status, final GameSnapshot snapshot) {
+        this.status = status;
+        this.snapshot = snapshot;
+    }
+
+    static RollResult accepted(final GameSnapshot snapshot) {
+        return new RollResult(RollStatus.ACCEPTED, snapshot);
+    }
+
+    static RollResult rejected(final RollStatus status) {
+        return REJECTED[status.ordinal()];
+    }
+
+    public RollStatus getStatus() {
+        return status;
+    }
+
+    public boolean isAccepted() {
+        return status.isAccepted();
+    }
+
+    /**
+     * @return the state right after the roll, null if the roll was rejected
+     */
+    public GameSnapshot getSnapshot() {
+        return snapshot;
+    }
+}
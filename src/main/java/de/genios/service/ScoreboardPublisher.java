@@ -0,0 +1,251 @@
+package de.genios.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.genios.api.RollResponse;
+import de.genios.config.PropertyConfig;
+import de.genios.model.GameSnapshot;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes the changed frames of every roll to the spectators of a game. The event is serialized once per roll and
+ * queued for every subscriber; each subscriber is drained by one task at a time on the fan-out pool, so a slow
+ * client never blocks the roll. A subscriber whose queue is full has fallen behind and is dropped.
+ * <p>
+ * Sends are blocking writes, so a client that stops reading would hold a fan-out thread. {@link #evictStalled()}
+ * drops a subscriber whose send has taken longer than the send timeout and interrupts the thread sending to it,
+ * which fails the blocked write of the servlet container.
+ * <p>
+ * Listeners are called after the roll, so the events of two quick rolls may be queued out of order. A subscriber
+ * sends versions in ascending order only: an event older than the last one sent is skipped, and an event that
+ * does not follow the last one sent, e.g. after a reset or a skipped event, carries all frames of the game. So does
+ * the first event of a subscriber, which may have joined in the middle of the game.
+ */
+@Service
+@Slf4j
+public class ScoreboardPublisher implements RollListener, InitializingBean, DisposableBean {
+
+    @Autowired
+    PropertyConfig propertiesConfig;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ConcurrentMap<String, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    private ExecutorService fanOut;
+    private int queueCapacity;
+    private long sendTimeoutNanos;
+
+    public ScoreboardPublisher() {
+    }
+
+    /**
+     * @param sendTimeout a subscriber whose send takes longer is dropped by {@link #evictStalled()}
+     */
+    public ScoreboardPublisher(final ExecutorService fanOut, final int queueCapacity, final long sendTimeout,
+                               final TimeUnit unit) {
+        this.fanOut = fanOut;
+        this.queueCapacity = queueCapacity;
+        this.sendTimeoutNanos = unit.toNanos(sendTimeout);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        fanOut = Executors.newFixedThreadPool(propertiesConfig.getPushFanOutThreads());
+        queueCapacity = propertiesConfig.getPushQueueCapacity();
+        sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(propertiesConfig.getPushSendTimeoutMs());
+    }
+
+    /**
+     * @return the handle to cancel the subscription, e.g. when the connection is closed
+     */
+    public Runnable subscribe(final String gameId, final EventSink sink) {
+        Subscriber subscriber = new Subscriber(gameId, sink, queueCapacity);
+        subscribers.computeIfAbsent(gameId, id -> new CopyOnWriteArrayList<>()).add(subscriber);
+        return () -> remove(subscriber);
+    }
+
+    public int subscriberCount(final String gameId) {
+        List<Subscriber> gameSubscribers = subscribers.get(gameId);
+        return gameSubscribers == null ? 0 : gameSubscribers.size();
+    }
+
+    @Override
+    public void rolled(final String gameId, final GameSnapshot snapshot) {
+        List<Subscriber> gameSubscribers = subscribers.get(gameId);
+        if (gameSubscribers == null || gameSubscribers.isEmpty()) {
+            return;
+        }
+        String json = serialize(RollResponse.of(gameId, snapshot));
+        if (json == null) {
+            return;
+        }
+        Event event = new Event(snapshot, json);
+        for (Subscriber subscriber : gameSubscribers) {
+            if (subscriber.queue.offer(event)) {
+                subscriber.schedule();
+            } else {
+                log.info("Dropping slow subscriber of game {}", gameId);
+                remove(subscriber);
+                subscriber.sink.close();
+            }
+        }
+    }
+
+    /**
+     * drops the subscribers whose send has taken longer than the send timeout
+     */
+    @Scheduled(fixedDelayString = "${push.send-timeout-ms}")
+    public void evictStalled() {
+        long now = System.nanoTime();
+        for (List<Subscriber> gameSubscribers : subscribers.values()) {
+            for (Subscriber subscriber : gameSubscribers) {
+                if (subscriber.interruptSendStartedBefore(now - sendTimeoutNanos)) {
+                    log.info("Dropping stalled subscriber of game {}", subscriber.gameId);
+                    remove(subscriber);
+                }
+            }
+        }
+    }
+
+    private String serialize(final RollResponse rollResponse) {
+        try {
+            return objectMapper.writeValueAsString(rollResponse);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize roll of game {}", rollResponse.getGameId(), e);
+            return null;
+        }
+    }
+
+    private void remove(final Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.gameId, (gameId, gameSubscribers) -> {
+            gameSubscribers.remove(subscriber);
+            return gameSubscribers.isEmpty() ? null : gameSubscribers;
+        });
+    }
+
+    @Override
+    public void destroy() {
+        fanOut.shutdownNow();
+    }
+
+    /**
+     * the connection of one spectator
+     */
+    public interface EventSink {
+        void send(String event) throws IOException;
+
+        void close();
+    }
+
+    /**
+     * the roll as queued for the subscribers, serialized with the frames it changed
+     */
+    private static class Event {
+        private final GameSnapshot snapshot;
+        private final String json;
+
+        private Event(final GameSnapshot snapshot, final String json) {
+            this.snapshot = snapshot;
+            this.json = json;
+        }
+    }
+
+    private class Subscriber implements Runnable {
+        private final String gameId;
+        private final EventSink sink;
+        private final BlockingQueue<Event> queue;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        //only read and written by the task draining the queue, one at a time
+        private long lastVersion = -1;
+
+        //guarded by this, set while a send is in progress
+        private Thread sender;
+        private long sendStartedNanos;
+        private volatile boolean stalled;
+
+        private Subscriber(final String gameId, final EventSink sink, final int queueCapacity) {
+            this.gameId = gameId;
+            this.sink = sink;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                fanOut.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                Event event;
+                while (!stalled && (event = queue.poll()) != null) {
+                    long version = event.snapshot.getVersion();
+                    if (version <= lastVersion) {
+                        //overtaken by a later roll that was sent already
+                        continue;
+                    }
+                    String json = lastVersion >= 0 && version == lastVersion + 1 ? event.json
+                            : serialize(RollResponse.withAllFrames(gameId, event.snapshot));
+                    lastVersion = version;
+                    if (json != null) {
+                        send(json);
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                remove(this);
+                sink.close();
+                return;
+            } finally {
+                scheduled.set(false);
+            }
+            if (stalled) {
+                //the send returned although it was interrupted
+                sink.close();
+                return;
+            }
+            //an event may have been queued after the last poll but before the flag was cleared
+            if (!queue.isEmpty()) {
+                schedule();
+            }
+        }
+
+        private void send(final String json) throws IOException {
+            synchronized (this) {
+                sender = Thread.currentThread();
+                sendStartedNanos = System.nanoTime();
+            }
+            try {
+                sink.send(json);
+            } finally {
+                synchronized (this) {
+                    sender = null;
+                    //an interrupt of evictStalled that came too late for the send must not hit the next task
+                    Thread.interrupted();
+                }
+            }
+        }
+
+        /**
+         * @return whether a send started before the given time was interrupted
+         */
+        private synchronized boolean interruptSendStartedBefore(final long nanos) {
+            if (sender == null || sendStartedNanos - nanos >= 0) {
+                return false;
+            }
+            stalled = true;
+            sender.interrupt();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,332 @@
+package de.genios.store;
+
+import de.genios.model.ConcurrentBowlingGame;
+import de.genios.model.GameSnapshot;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Running games by id. The games are spread over lock-striped shards; every shard keeps its games in access order,
+ * so the least recently used game is evicted when a shard is full and idle games can be dropped from the front.
+ * <p>
+ * With a parked capacity an evicted game is not dropped but parked off the heap in the {@link ParkedGames} of its
+ * shard, and dropped only once it has been parked for the parked timeout. A parked game is brought back to the heap
+ * by {@link #get(String)} when it is rolled again; {@link #snapshot(String)} reads it where it is. An evicted game
+ * that cannot be parked, because there is no parked capacity or it is used up, is dropped and counted in
+ * {@link #droppedCount()}.
+ * <p>
+ * A game leaving the heap is retired under the lock of its shard, so a roll on a reference handed out before fails
+ * instead of being lost with the old object; the caller gets the game from the store again.
+ * <p>
+ * The removal listener gets the id of every game that leaves the store for good: removed, dropped on eviction or
+ * dropped after the parked timeout. It is called under the lock of the shard, so it must not block.
+ */
+public class GameStore {
+    private final Shard[] shards;
+    private final int shardCapacity;
+    private final long idleTimeoutNanos;
+    private final long parkedTimeoutNanos;
+    private volatile Consumer<String> removalListener = gameId -> {
+    };
+
+    /**
+     * @param capacity    maximum number of games kept, split evenly over the shards
+     * @param shardCount  number of shards, rounded up to a power of two
+     * @param idleTimeout games not accessed for this long are evicted by {@link #evictIdle()}
+     */
+    public GameStore(final int capacity, final int shardCount, final long idleTimeout, final TimeUnit unit) {
+        this(capacity, shardCount, idleTimeout, 0, 0L, unit);
+    }
+
+    /**
+     * @param parkedCapacity maximum number of games parked off the heap, split evenly over the shards; 0 to drop
+     *                       evicted games
+     * @param parkedTimeout  parked games are dropped by {@link #evictIdle()} after this long
+     */
+    public GameStore(final int capacity, final int shardCount, final long idleTimeout, final int parkedCapacity,
+                     final long parkedTimeout, final TimeUnit unit) {
+        int count = 1;
+        while (count < shardCount) {
+            count <<= 1;
+        }
+        shardCapacity = Math.max(1, capacity / count);
+        int parkedShardCapacity = parkedCapacity <= 0 ? 0 : Math.max(1, parkedCapacity / count);
+        shards = new Shard[count];
+        for (int n = 0; n < count; n++) {
+            shards[n] = new Shard(parkedShardCapacity == 0 ? null : new ParkedGames(parkedShardCapacity));
+        }
+        idleTimeoutNanos = unit.toNanos(idleTimeout);
+        parkedTimeoutNanos = unit.toNanos(parkedTimeout);
+    }
+
+    public void setRemovalListener(final Consumer<String> removalListener) {
+        this.removalListener = removalListener;
+    }
+
+    /**
+     * @return the id of a new game
+     */
+    public String create() {
+        String gameId = UUID.randomUUID().toString();
+        Shard shard = shardFor(gameId);
+        synchronized (shard) {
+            shard.games.put(gameId, new StoredGame(new ConcurrentBowlingGame(), System.nanoTime()));
+        }
+        return gameId;
+    }
+
+    /**
+     * brings the game back from the parked games if it was parked
+     *
+     * @return the game or null if there is no game with this id or it has been evicted
+     */
+    public ConcurrentBowlingGame get(final String gameId) {
+        Shard shard = shardFor(gameId);
+        synchronized (shard) {
+            StoredGame storedGame = shard.games.get(gameId);
+            if (storedGame == null) {
+                GameSnapshot parked = shard.parked == null ? null : shard.parked.take(gameId);
+                if (parked == null) {
+                    return null;
+                }
+                storedGame = new StoredGame(new ConcurrentBowlingGame(parked), System.nanoTime());
+                shard.games.put(gameId, storedGame);
+                return storedGame.game;
+            }
+            storedGame.lastAccess = System.nanoTime();
+            return storedGame.game;
+        }
+    }
+
+    /**
+     * reads the game without bringing it back if it is parked
+     *
+     * @return the state of the game or null if there is no game with this id or it has been evicted
+     */
+    public GameSnapshot snapshot(final String gameId) {
+        Shard shard = shardFor(gameId);
+        synchronized (shard) {
+            StoredGame storedGame = shard.games.get(gameId);
+            if (storedGame != null) {
+                storedGame.lastAccess = System.nanoTime();
+                return storedGame.game.snapshot();
+            }
+            return shard.parked == null ? null : shard.parked.get(gameId);
+        }
+    }
+
+    /**
+     * @return whether the game is held on the heap or parked; does not count as an access
+     */
+    public boolean contains(final String gameId) {
+        Shard shard = shardFor(gameId);
+        synchronized (shard) {
+            return shard.games.containsKey(gameId) || shard.parked != null && shard.parked.contains(gameId);
+        }
+    }
+
+    /**
+     * adds a game under a known id, e.g. one rebuilt from the journal
+     */
+    public void put(final String gameId, final ConcurrentBowlingGame game) {
+        Shard shard = shardFor(gameId);
+        synchronized (shard) {
+            if (shard.parked != null) {
+                shard.parked.remove(gameId);
+            }
+            StoredGame previous = shard.games.put(gameId, new StoredGame(game, System.nanoTime()));
+            if (previous != null && previous.game != game) {
+                previous.game.retire();
+            }
+        }
+    }
+
+    public void remove(final String gameId) {
+        Shard shard = shardFor(gameId);
+        synchronized (shard) {
+            StoredGame removed = shard.games.remove(gameId);
+            if (removed != null) {
+                removed.game.retire();
+            }
+            boolean parked = shard.parked != null && shard.parked.remove(gameId);
+            if (removed != null || parked) {
+                removalListener.accept(gameId);
+            }
+        }
+    }
+
+    /**
+     * @return the number of games on the heap, without the parked games
+     */
+    public int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                size += shard.games.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * @return the number of games on the heap that are not over; visits every game, so it is meant for scrapes
+     * rather than for every request
+     */
+    public int activeSize() {
+        int size = 0;
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                for (StoredGame storedGame : shard.games.values()) {
+                    if (!storedGame.game.isGameOver()) {
+                        size++;
+                    }
+                }
+            }
+        }
+        return size;
+    }
+
+    public int parkedSize() {
+        int size = 0;
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                size += shard.parked == null ? 0 : shard.parked.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * @return the number of games evicted from the heap that could not be parked
+     */
+    public long droppedCount() {
+        long dropped = 0;
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                dropped += shard.dropped;
+            }
+        }
+        return dropped;
+    }
+
+    /**
+     * @return the bytes of direct memory taken by the parked games
+     */
+    public long parkedDirectBytes() {
+        long bytes = 0;
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                bytes += shard.parked == null ? 0 : shard.parked.directBytes();
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * hands every game to the consumer, the parked ones as well; a shard is copied under its lock and visited after
+     * it was released, so the consumer may take its time without blocking rolls
+     */
+    public void forEach(final BiConsumer<String, ConcurrentBowlingGame> consumer) {
+        List<Map.Entry<String, ConcurrentBowlingGame>> games = new ArrayList<>();
+        for (Shard shard : shards) {
+            games.clear();
+            byte[] parked = null;
+            synchronized (shard) {
+                for (Map.Entry<String, StoredGame> game : shard.games.entrySet()) {
+                    games.add(new AbstractMap.SimpleImmutableEntry<>(game.getKey(), game.getValue().game));
+                }
+                if (shard.parked != null) {
+                    parked = shard.parked.copy();
+                }
+            }
+            for (Map.Entry<String, ConcurrentBowlingGame> game : games) {
+                consumer.accept(game.getKey(), game.getValue());
+            }
+            if (parked != null) {
+                ParkedGames.forEach(parked, (gameId, snapshot) ->
+                        consumer.accept(gameId, new ConcurrentBowlingGame(snapshot)));
+            }
+        }
+    }
+
+    /**
+     * parks or drops every game that has not been accessed within the idle timeout and drops the games parked for
+     * longer than the parked timeout
+     */
+    @Scheduled(fixedDelayString = "${game-store.sweep-interval-ms}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                Iterator<Map.Entry<String, StoredGame>> games = shard.games.entrySet().iterator();
+                while (games.hasNext()) {
+                    Map.Entry<String, StoredGame> game = games.next();
+                    if (now - game.getValue().lastAccess <= idleTimeoutNanos) {
+                        break;
+                    }
+                    shard.park(game.getKey(), game.getValue(), now);
+                    games.remove();
+                }
+                if (shard.parked != null) {
+                    shard.parked.evictParkedBefore(now - parkedTimeoutNanos, removalListener);
+                }
+            }
+        }
+    }
+
+    private Shard shardFor(final String gameId) {
+        int hash = gameId.hashCode();
+        return shards[(hash ^ hash >>> 16) & (shards.length - 1)];
+    }
+
+    private static class StoredGame {
+        private final ConcurrentBowlingGame game;
+        private long lastAccess;
+
+        private StoredGame(final ConcurrentBowlingGame game, final long lastAccess) {
+            this.game = game;
+            this.lastAccess = lastAccess;
+        }
+    }
+
+    private class Shard {
+        private final ParkedGames parked;
+        //guarded by this shard
+        private long dropped;
+        private final Map<String, StoredGame> games = new LinkedHashMap<String, StoredGame>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, StoredGame> eldest) {
+                if (size() > shardCapacity) {
+                    park(eldest.getKey(), eldest.getValue(), System.nanoTime());
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        private Shard(final ParkedGames parked) {
+            this.parked = parked;
+        }
+
+        /**
+         * retires the game and parks its last state, or drops it if it cannot be parked
+         */
+        private void park(final String gameId, final StoredGame storedGame, final long now) {
+            GameSnapshot snapshot = storedGame.game.retire();
+            if (parked == null || !parked.park(gameId, snapshot, now)) {
+                dropped++;
+                removalListener.accept(gameId);
+            }
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package de.genios.store;
+
+import de.genios.helper.Constants;
+import de.genios.helper.RollCodec;
+import de.genios.model.GameSnapshot;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Idle games kept off the heap. Every game is a fixed size record in a direct buffer: its id, version, the time it
+ * was parked and its rolls as a {@link RollCodec} record, from which the game state, the bonuses and the score are
+ * rebuilt. The records are allocated in slabs that are never released; the slot of a removed game goes to a free
+ * list and is reused first. An open addressing index in another direct buffer finds the slot of an id, so a parked
+ * game costs the garbage collector nothing.
+ * <p>
+ * Not thread safe; the {@link GameStore} guards each instance with the lock of its shard.
+ */
+public final class ParkedGames {
+    private static final int ID_HIGH = 0;
+    private static final int ID_LOW = 8;
+    //the version of a game, or the next free slot of a free record
+    private static final int VERSION = 16;
+    private static final int PARKED_AT = 24;
+    private static final int ROLLS = 32;
+    public static final int RECORD_BYTES = ROLLS + RollCodec.RECORD_BYTES;
+
+    //a free record has this roll count
+    private static final byte FREE = -1;
+    private static final int NO_SLOT = -1;
+    private static final int SLAB_SHIFT = 14;
+    private static final int SLAB_RECORDS = 1 << SLAB_SHIFT;
+    private static final int SLAB_MASK = SLAB_RECORDS - 1;
+
+    private final int capacity;
+    private final List<ByteBuffer> slabs = new ArrayList<>();
+    //slot + 1 of the game at every position, 0 for none
+    private final ByteBuffer index;
+    private final int indexMask;
+    private final int[] rolls = new int[Constants.MAX_NUMBER_OF_ROLLS];
+
+    private int size;
+    //slots below are allocated, those of removed games are chained from freeSlot
+    private int usedSlots;
+    private int freeSlot = NO_SLOT;
+
+    /**
+     * @param capacity the most games kept
+     */
+    public ParkedGames(final int capacity) {
+        this.capacity = capacity;
+        //at most three quarters of the index are used, so that probes stay short
+        int positions = Integer.highestOneBit(Math.max(2, capacity + capacity / 3 + 1) - 1) << 1;
+        index = ByteBuffer.allocateDirect(positions * Integer.BYTES);
+        indexMask = positions - 1;
+    }
+
+    /**
+     * parks the game under the id, replacing a game parked under it before
+     *
+     * @return false if the id is not a UUID or the store is full
+     */
+    public boolean park(final String gameId, final GameSnapshot snapshot, final long nowNanos) {
+        UUID id;
+        try {
+            id = UUID.fromString(gameId);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        int position = find(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        int slot = index.getInt(position << 2) - 1;
+        if (slot < 0) {
+            if (size == capacity) {
+                return false;
+            }
+            slot = allocate();
+            index.putInt(position << 2, slot + 1);
+            size++;
+        }
+
+        ByteBuffer slab = slab(slot);
+        int offset = offset(slot);
+        slab.putLong(offset + ID_HIGH, id.getMostSignificantBits());
+        slab.putLong(offset + ID_LOW, id.getLeastSignificantBits());
+        slab.putLong(offset + VERSION, snapshot.getVersion());
+        slab.putLong(offset + PARKED_AT, nowNanos);
+        for (int n = 0; n < snapshot.getRollCount(); n++) {
+            rolls[n] = snapshot.getRoll(n);
+        }
+        RollCodec.write(slab, offset + ROLLS, rolls, 0, snapshot.getRollCount());
+        return true;
+    }
+
+    /**
+     * @return the parked game or null if there is none under the id
+     */
+    public GameSnapshot get(final String gameId) {
+        int slot = slot(gameId);
+        return slot < 0 ? null : restore(slot);
+    }
+
+    /**
+     * removes the game to bring it back to life
+     *
+     * @return the parked game or null if there is none under the id
+     */
+    public GameSnapshot take(final String gameId) {
+        int slot = slot(gameId);
+        if (slot < 0) {
+            return null;
+        }
+        GameSnapshot snapshot = restore(slot);
+        release(slot);
+        return snapshot;
+    }
+
+    public boolean contains(final String gameId) {
+        return slot(gameId) >= 0;
+    }
+
+    public boolean remove(final String gameId) {
+        int slot = slot(gameId);
+        if (slot < 0) {
+            return false;
+        }
+        release(slot);
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the bytes of direct memory taken by the slabs and the index
+     */
+    public long directBytes() {
+        return (long) slabs.size() * SLAB_RECORDS * RECORD_BYTES + index.capacity();
+    }
+
+    /**
+     * removes every game parked before the given time
+     *
+     * @param evicted gets the id of every removed game
+     */
+    public void evictParkedBefore(final long nanos, final Consumer<String> evicted) {
+        for (int slot = 0; slot < usedSlots; slot++) {
+            ByteBuffer slab = slab(slot);
+            int offset = offset(slot);
+            if (slab.get(offset + ROLLS) != FREE && slab.getLong(offset + PARKED_AT) - nanos < 0) {
+                evicted.accept(new UUID(slab.getLong(offset + ID_HIGH), slab.getLong(offset + ID_LOW)).toString());
+                release(slot);
+            }
+        }
+    }
+
+    /**
+     * copies the records of all games, to be read by {@link #forEach(byte[], Visitor)} after the lock is released
+     */
+    public byte[] copy() {
+        byte[] records = new byte[size * RECORD_BYTES];
+        int copied = 0;
+        for (int slot = 0; slot < usedSlots; slot++) {
+            ByteBuffer slab = slab(slot);
+            int offset = offset(slot);
+            if (slab.get(offset + ROLLS) != FREE) {
+                ByteBuffer record = slab.duplicate();
+                record.position(offset);
+                record.get(records, copied, RECORD_BYTES);
+                copied += RECORD_BYTES;
+            }
+        }
+        return records;
+    }
+
+    /**
+     * hands every game of records copied by {@link #copy()} to the visitor
+     */
+    public static void forEach(final byte[] records, final Visitor visitor) {
+        ByteBuffer buffer = ByteBuffer.wrap(records);
+        int[] recordRolls = new int[Constants.MAX_NUMBER_OF_ROLLS];
+        for (int offset = 0; offset < records.length; offset += RECORD_BYTES) {
+            UUID id = new UUID(buffer.getLong(offset + ID_HIGH), buffer.getLong(offset + ID_LOW));
+            int count = RollCodec.read(buffer, offset + ROLLS, recordRolls);
+            visitor.visit(id.toString(), GameSnapshot.restore(recordRolls, count, buffer.getLong(offset + VERSION)));
+        }
+    }
+
+    public interface Visitor {
+        void visit(String gameId, GameSnapshot snapshot);
+    }
+
+    private GameSnapshot restore(final int slot) {
+        ByteBuffer slab = slab(slot);
+        int offset = offset(slot);
+        int count = RollCodec.read(slab, offset + ROLLS, rolls);
+        return GameSnapshot.restore(rolls, count, slab.getLong(offset + VERSION));
+    }
+
+    private int slot(final String gameId) {
+        UUID id;
+        try {
+            id = UUID.fromString(gameId);
+        } catch (IllegalArgumentException e) {
+            return NO_SLOT;
+        }
+        return index.getInt(find(id.getMostSignificantBits(), id.getLeastSignificantBits()) << 2) - 1;
+    }
+
+    /**
+     * @return the index position of the id, or the empty position it would go to
+     */
+    private int find(final long high, final long low) {
+        int position = hash(high, low) & indexMask;
+        while (true) {
+            int slot = index.getInt(position << 2) - 1;
+            if (slot < 0) {
+                return position;
+            }
+            ByteBuffer slab = slab(slot);
+            int offset = offset(slot);
+            if (slab.getLong(offset + ID_LOW) == low && slab.getLong(offset + ID_HIGH) == high) {
+                return position;
+            }
+            position = (position + 1) & indexMask;
+        }
+    }
+
+    private int allocate() {
+        if (freeSlot != NO_SLOT) {
+            int slot = freeSlot;
+            freeSlot = (int) slab(slot).getLong(offset(slot) + VERSION);
+            return slot;
+        }
+        if (usedSlots == slabs.size() * SLAB_RECORDS) {
+            slabs.add(ByteBuffer.allocateDirect(SLAB_RECORDS * RECORD_BYTES));
+        }
+        return usedSlots++;
+    }
+
+    /**
+     * drops the slot from the index and puts it on the free list
+     */
+    private void release(final int slot) {
+        ByteBuffer slab = slab(slot);
+        int offset = offset(slot);
+        int position = find(slab.getLong(offset + ID_HIGH), slab.getLong(offset + ID_LOW));
+        unindex(position);
+        slab.put(offset + ROLLS, FREE);
+        slab.putLong(offset + VERSION, freeSlot);
+        freeSlot = slot;
+        size--;
+    }
+
+    /**
+     * empties the position and moves the entries after it back that would no longer be found across the gap
+     */
+    private void unindex(final int position) {
+        int gap = position;
+        int next = (gap + 1) & indexMask;
+        while (true) {
+            int slot = index.getInt(next << 2) - 1;
+            if (slot < 0) {
+                break;
+            }
+            ByteBuffer slab = slab(slot);
+            int offset = offset(slot);
+            int home = hash(slab.getLong(offset + ID_HIGH), slab.getLong(offset + ID_LOW)) & indexMask;
+            //the entry may fill the gap if its home is not within (gap, next]
+            if (((next - home) & indexMask) >= ((next - gap) & indexMask)) {
+                index.putInt(gap << 2, slot + 1);
+                gap = next;
+            }
+            next = (next + 1) & indexMask;
+        }
+        index.putInt(gap << 2, 0);
+    }
+
+    private ByteBuffer slab(final int slot) {
+        return slabs.get(slot >>> SLAB_SHIFT);
+    }
+
+    private static int offset(final int slot) {
+        return (slot & SLAB_MASK) * RECORD_BYTES;
+    }
+
+    private static int hash(final long high, final long low) {
+        long hash = (high ^ low) * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ hash >>> 32);
+    }
+}
@@ -0,0 +1,138 @@
+package de.genios.view;
+
+import org.springframework.web.servlet.View;
+import org.springframework.web.servlet.support.RequestContextUtils;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.WebContext;
+import org.unbescape.html.HtmlEscape;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Renders a page from a cached shell: the template is rendered once with a marker in place of each of the given
+ * model attributes, and the static bytes between the markers are kept. A request only writes those bytes with the
+ * escaped attributes in between, so the template engine runs once and not for every roll. The output is the same
+ * as the one of the template, escaped as th:text and th:value escape, but for an attribute of th:value being null,
+ * which leaves an empty value instead of dropping the html attribute.
+ */
+public class ShellView implements View {
+    //the default of the Thymeleaf views, which the page has always been served with
+    public static final String CONTENT_TYPE = "text/html;charset=ISO-8859-1";
+    private static final Charset CHARSET = StandardCharsets.ISO_8859_1;
+    private static final String MARKER_START = "{shell-slot:";
+    private static final String MARKER_END = "}";
+    //room for the attributes written between the segments
+    private static final int ATTRIBUTE_BYTES = 512;
+
+    private final ITemplateEngine templateEngine;
+    private final String templateName;
+    private final List<String> attributeNames;
+
+    //rendered by the first request, the links of the template depend on its context path
+    private volatile Shell shell;
+
+    public ShellView(final ITemplateEngine templateEngine, final String templateName, final List<String> attributeNames) {
+        this.templateEngine = templateEngine;
+        this.templateName = templateName;
+        this.attributeNames = List.copyOf(attributeNames);
+    }
+
+    @Override
+    public String getContentType() {
+        return CONTENT_TYPE;
+    }
+
+    @Override
+    public void render(final Map<String, ?> model, final HttpServletRequest request,
+                       final HttpServletResponse response) throws IOException {
+        Shell current = shell(request, response);
+        ByteArrayOutputStream page = new ByteArrayOutputStream(current.length + ATTRIBUTE_BYTES);
+        for (int n = 0; n < current.slots.length; n++) {
+            page.writeBytes(current.segments[n]);
+            Object value = model == null ? null : model.get(current.slots[n]);
+            if (value != null) {
+                page.writeBytes(HtmlEscape.escapeHtml4Xml(value.toString()).getBytes(CHARSET));
+            }
+        }
+        page.writeBytes(current.segments[current.slots.length]);
+
+        response.setContentType(CONTENT_TYPE);
+        response.setContentLength(page.size());
+        page.writeTo(response.getOutputStream());
+    }
+
+    private Shell shell(final HttpServletRequest request, final HttpServletResponse response) {
+        Shell current = shell;
+        //two first requests may both render it, they render the same
+        if (current == null || !current.contextPath.equals(request.getContextPath())) {
+            current = renderShell(request, response);
+            shell = current;
+        }
+        return current;
+    }
+
+    private Shell renderShell(final HttpServletRequest request, final HttpServletResponse response) {
+        Map<String, Object> markers = new HashMap<>();
+        for (String name : attributeNames) {
+            markers.put(name, MARKER_START + name + MARKER_END);
+        }
+        //the shell is shared by all requests, so its links are not encoded with the session of the first one
+        HttpServletResponse plainUrls = new HttpServletResponseWrapper(response) {
+            @Override
+            public String encodeURL(final String url) {
+                return url;
+            }
+        };
+        String page = templateEngine.process(templateName, new WebContext(request, plainUrls,
+                request.getServletContext(), RequestContextUtils.getLocale(request), markers));
+
+        List<byte[]> segments = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+        int from = 0;
+        int start = page.indexOf(MARKER_START);
+        while (start >= 0) {
+            int end = page.indexOf(MARKER_END, start);
+            String name = page.substring(start + MARKER_START.length(), end);
+            if (!markers.containsKey(name)) {
+                throw new IllegalStateException("Unknown attribute " + name + " in the shell of " + templateName);
+            }
+            segments.add(page.substring(from, start).getBytes(CHARSET));
+            slots.add(name);
+            from = end + MARKER_END.length();
+            start = page.indexOf(MARKER_START, from);
+        }
+        segments.add(page.substring(from).getBytes(CHARSET));
+        return new Shell(request.getContextPath(), segments.toArray(new byte[0][]), slots.toArray(new String[0]));
+    }
+
+    /**
+     * the static segments of the page; the attribute of slot n is written between segment n and n + 1
+     */
+    private static final class Shell {
+        private final String contextPath;
+        private final byte[][] segments;
+        private final String[] slots;
+        private final int length;
+
+        Shell(final String contextPath, final byte[][] segments, final String[] slots) {
+            this.contextPath = contextPath;
+            this.segments = segments;
+            this.slots = slots;
+            int bytes = 0;
+            for (byte[] segment : segments) {
+                bytes += segment.length;
+            }
+            this.length = bytes;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package de.genios.view;
+
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.View;
+import org.springframework.web.servlet.ViewResolver;
+
+import java.util.Locale;
+
+/**
+ * Resolves the game page to its {@link ShellView} if web.rendering is "shell", ahead of the Thymeleaf view resolver;
+ * in the "template" mode it resolves nothing, so every page is rendered through the template engine.
+ */
+public class ShellViewResolver implements ViewResolver, Ordered {
+    public static final String TEMPLATE = "template";
+    public static final String SHELL = "shell";
+
+    private final String viewName;
+    private final View view;
+
+    public ShellViewResolver(final String mode, final String viewName, final ShellView view) {
+        if (!TEMPLATE.equals(mode) && !SHELL.equals(mode)) {
+            throw new IllegalArgumentException("Unknown web.rendering: " + mode);
+        }
+        this.viewName = viewName;
+        this.view = SHELL.equals(mode) ? view : null;
+    }
+
+    @Override
+    public View resolveViewName(final String viewName, final Locale locale) {
+        return view != null && this.viewName.equals(viewName) ? view : null;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,60 @@
+package de.genios;
+
+import de.genios.archive.ArchiveScorer;
+import de.genios.archive.ArchiveSummary;
+import de.genios.model.BowlingScorer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArchiveScorerTest {
+    private static final int[] PERFECT = {10, 10, 10, 10, 10, 10, 10, 10, 10, 10, 10, 10};
+    private static final int[] GUTTER = new int[20];
+    private static final int[] SPARES = {5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5};
+
+    @ParameterizedTest
+    @CsvSource({"1,1", "1,1000", "4,7", "8,64"})
+    public void score_WhenSplitDifferently_ShouldReturnTheSameSummary(int parallelism, int threshold) {
+        //ARRANGE
+        int games = 3000;
+        int[] offsets = new int[games + 1];
+        int[][] archive = new int[games][];
+        for (int n = 0; n < games; n++) {
+            archive[n] = n % 3 == 0 ? PERFECT : n % 3 == 1 ? GUTTER : SPARES;
+            offsets[n + 1] = offsets[n] + archive[n].length;
+        }
+        int[] rolls = new int[offsets[games]];
+        for (int n = 0; n < games; n++) {
+            System.arraycopy(archive[n], 0, rolls, offsets[n], archive[n].length);
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+
+        //ACT
+        ArchiveSummary summary = new ArchiveScorer(pool, threshold).score(rolls, offsets);
+        pool.shutdown();
+
+        // ASSERT
+        assertThat(summary.getScores()).isEqualTo(BowlingScorer.scoreAll(rolls, offsets));
+        assertThat(summary.getGameCount()).isEqualTo(games);
+        assertThat(summary.getPerfectGames()).isEqualTo(1000);
+        assertThat(summary.getHistogram()[0]).isEqualTo(1000);
+        assertThat(summary.getHistogram()[150]).isEqualTo(1000);
+        assertThat(Arrays.stream(summary.getHistogram()).sum()).isEqualTo(games);
+        assertThat(summary.getMeanScore()).isEqualTo(150.0);
+    }
+
+    @Test
+    public void score_WhenArchiveEmpty_ShouldReturnAnEmptySummary() {
+        //ACT
+        ArchiveSummary summary = new ArchiveScorer().score(new int[0], new int[]{0});
+
+        // ASSERT
+        assertThat(summary.getGameCount()).isZero();
+        assertThat(summary.getMeanScore()).isZero();
+    }
+}
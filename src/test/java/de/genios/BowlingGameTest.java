@@ -4,7 +4,9 @@ import de.genios.helper.Constants;
 import de.genios.helper.ExceptionConstants;
 import de.genios.model.BowlingGame;
 import de.genios.model.Frame;
+import de.genios.model.GameSnapshot;
 import de.genios.model.GameState;
+import de.genios.model.RollStatus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -14,7 +16,14 @@ import org.junit.jupiter.params.provider.ValueSource;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.List;
+import java.util.Random;
 
 class BowlingGameTest {
     static BowlingGame bowlingGame;
@@ -180,6 +189,23 @@ class BowlingGameTest {
         }).isInstanceOf(IllegalStateException.class).hasMessage(ExceptionConstants.PIN_COUNT_EXCEEDING);
     }
 
+    @ParameterizedTest
+    @CsvSource({"9,2", "5,6"})
+    public void findFrames_WhenTenthFramePinCountInvalid_ShouldThrowException(int roll1, int roll2) {
+        //ARRANGE
+        for (int n = 0; n < Constants.TOTAL_NUMBER_OF_FRAMES - 1; n++) {
+            bowlingGame.roll(Constants.TOTAL_NUMBER_OF_PINS);
+        }
+        bowlingGame.roll(roll1);
+
+        // ASSERT
+        assertThatThrownBy(() -> {
+            // ACT
+            bowlingGame.roll(roll2);
+        }).isInstanceOf(IllegalStateException.class).hasMessage(ExceptionConstants.PIN_COUNT_EXCEEDING);
+        assertThat(bowlingGame.getGameState()).isEqualTo(GameState.SECOND_ROLL_TENTH_FRAME);
+    }
+
     @ParameterizedTest
     @CsvSource({"11", "18", "100", "20"})
     public void findFrames_WhenFirstRollPinCountInvalid_ShouldThrowException(int roll) {
@@ -200,6 +226,58 @@ class BowlingGameTest {
         }).isInstanceOf(IllegalStateException.class).hasMessage(ExceptionConstants.INVALID_ROLL);
     }
 
+    @ParameterizedTest
+    @CsvSource({"'', -1, INVALID_ROLL", "'', 11, PIN_COUNT_EXCEEDING", "'7', 4, PIN_COUNT_EXCEEDING",
+            "'10,10,10,10,10,10,10,10,10,10,3', 8, PIN_COUNT_EXCEEDING",
+            "'10,10,10,10,10,10,10,10,10,3,4', 0, GAME_IS_OVER", "'7', 3, ACCEPTED"})
+    public void tryRoll_WhenRolled_ShouldReturnTheStatusInsteadOfThrowing(String rolls, int pins, RollStatus expectedStatus) {
+        //ARRANGE
+        for (String roll : rolls.split(",")) {
+            if (!roll.isEmpty()) {
+                bowlingGame.roll(Integer.parseInt(roll));
+            }
+        }
+        int score = bowlingGame.score();
+        GameState gameState = bowlingGame.getGameState();
+
+        //ACT
+        RollStatus status = bowlingGame.tryRoll(pins);
+
+        // ASSERT
+        assertThat(status).isEqualTo(expectedStatus);
+        if (!status.isAccepted()) {
+            assertThat(bowlingGame.score()).isEqualTo(score);
+            assertThat(bowlingGame.getGameState()).isEqualTo(gameState);
+        }
+    }
+
+    @Test
+    public void check_WhenRandomRollsGiven_ShouldAgreeWithRoll() {
+        Random random = new Random(3);
+
+        for (int game = 0; game < 2_000; game++) {
+            bowlingGame.resetGame();
+            GameSnapshot snapshot = GameSnapshot.EMPTY;
+
+            for (int attempt = 0; attempt < 40; attempt++) {
+                int pins = random.nextInt(14) - 1;
+                RollStatus checked = snapshot.check(pins);
+
+                String thrown = null;
+                try {
+                    bowlingGame.roll(pins);
+                } catch (IllegalStateException e) {
+                    thrown = e.getMessage();
+                }
+
+                assertThat(checked.getMessage()).isEqualTo(thrown);
+                if (checked.isAccepted()) {
+                    snapshot = snapshot.roll(pins);
+                }
+            }
+        }
+    }
+
     @ParameterizedTest
     @CsvSource({"2,3", "4,5"})
     public void findFrames_WhenGaneReset_ShouldClearFrames(int roll1, int roll2) {
@@ -268,4 +346,51 @@ class BowlingGameTest {
         assertThat(frames.get(8).getAccumulatedFrameScore()).isNotZero().isEqualTo(113);
         assertThat(frames.get(9).getAccumulatedFrameScore()).isNotZero().isEqualTo(122);
     }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 9, 12, 21})
+    public void writeExternal_WhenGameReadBack_ShouldContinueWithTheSameFramesAndScore(int rolls) throws Exception {
+        //ARRANGE
+        //21 rolls are ten spares and the fill ball
+        for (int n = 0; n < rolls; n++) {
+            bowlingGame.roll(rolls == 21 ? 5 : 3);
+        }
+
+        //ACT
+        byte[] bytes = serialize(bowlingGame);
+        BowlingGame readBack = deserialize(bytes);
+
+        // ASSERT
+        assertThat(readBack.score()).isEqualTo(bowlingGame.score());
+        assertThat(readBack.getGameState()).isEqualTo(bowlingGame.getGameState());
+        assertThat(readBack.calculateScoreboard()).containsExactlyElementsOf(bowlingGame.calculateScoreboard());
+        //the stream header and class descriptor take most of it
+        assertThat(bytes.length - serialize(new BowlingGame()).length).isLessThanOrEqualTo(11);
+    }
+
+    @Test
+    public void readExternal_WhenStateByteDoesNotMatchTheRolls_ShouldReject() throws Exception {
+        //ARRANGE
+        bowlingGame.roll(4);
+        byte[] bytes = serialize(bowlingGame);
+        //the game state is the last byte before the end of block data
+        bytes[bytes.length - 2] = (byte) GameState.GAME_OVER.ordinal();
+
+        //ACT & ASSERT
+        assertThatThrownBy(() -> deserialize(bytes)).isInstanceOf(InvalidObjectException.class);
+    }
+
+    private static byte[] serialize(BowlingGame game) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(game);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static BowlingGame deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return (BowlingGame) in.readObject();
+        }
+    }
 }
@@ -0,0 +1,89 @@
+package de.genios;
+
+import de.genios.helper.ExceptionConstants;
+import de.genios.model.BowlingGame;
+import de.genios.model.BowlingScorer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static de.genios.GameFixtures.playBowlingGame;
+import static de.genios.GameFixtures.randomLegalGame;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BowlingScorerTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "'10,10,10,10,10,10,10,10,10,10,10,10', 300",
+            "'5,5,5,5,5,5,5,5,5,5,5,5,5,5,5,5,5,5,5,5,5', 150",
+            "'0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0', 0",
+            "'8,0,7,0,5,3,9,1,9,1,10,8,0,5,1,3,7,9,0', 122",
+            "'10,3', 16"})
+    public void score_WhenRollsGiven_ShouldReturnTheCorrectScore(String rolls, int expectedScore) {
+        // ACT
+        int score = BowlingScorer.score(parse(rolls));
+
+        // ASSERT
+        assertThat(score).isEqualTo(expectedScore);
+    }
+
+    @Test
+    public void scoreAll_WhenFlatArchiveGiven_ShouldScoreEveryGame() {
+        // ARRANGE
+        int[] rolls = parse("10,10,10,10,10,10,10,10,10,10,10,10,1,2,3");
+        int[] offsets = {0, 12, 14, 15};
+
+        // ACT
+        int[] scores = BowlingScorer.scoreAll(rolls, offsets);
+
+        // ASSERT
+        assertThat(scores).containsExactly(300, 3, 3);
+    }
+
+    /**
+     * legal games, some cut short, some with a corrupted or an extra roll, must give the same score or the same
+     * exception as rolling them into a BowlingGame
+     */
+    @Test
+    public void score_WhenRandomSequencesGiven_ShouldBehaveLikeBowlingGame() {
+        Random random = new Random(7);
+
+        for (int game = 0; game < 20_000; game++) {
+            int[] rolls = randomLegalGame(random);
+            rolls = Arrays.copyOf(rolls, random.nextInt(4) == 0 ? random.nextInt(rolls.length + 1) : rolls.length);
+            if (random.nextInt(4) == 0) {
+                rolls = Arrays.copyOf(rolls, rolls.length + 1);
+                rolls[rolls.length - 1] = random.nextInt(11);
+            }
+            if (rolls.length > 0 && random.nextInt(3) == 0) {
+                rolls[random.nextInt(rolls.length)] = random.nextInt(15) - 2;
+            }
+
+            String expected = playBowlingGame(rolls);
+            String actual;
+            try {
+                actual = String.valueOf(BowlingScorer.score(rolls));
+            } catch (IllegalStateException e) {
+                actual = e.getMessage();
+            }
+            assertThat(actual).as(Arrays.toString(rolls)).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    public void score_WhenRolledAfterGameOver_ShouldThrowException() {
+        assertThatThrownBy(() -> BowlingScorer.score(parse("1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1")))
+                .isInstanceOf(IllegalStateException.class).hasMessage(ExceptionConstants.GAME_IS_OVER);
+    }
+
+
+
+    private static int[] parse(String rolls) {
+        return Arrays.stream(rolls.split(",")).mapToInt(Integer::parseInt).toArray();
+    }
+}
@@ -0,0 +1,101 @@
+package de.genios;
+
+import de.genios.helper.ExceptionConstants;
+import de.genios.model.BowlingGame;
+import de.genios.model.ConcurrentBowlingGame;
+import de.genios.model.GameSnapshot;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrentBowlingGameTest {
+    private static final int THREADS = 8;
+
+    static ExecutorService executor;
+
+    @BeforeAll
+    public static void beforeAll() {
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterAll
+    public static void afterAll() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void roll_WhenSnapshotTaken_ShouldNotChangeIt() {
+        //ARRANGE
+        ConcurrentBowlingGame bowlingGame = new ConcurrentBowlingGame();
+        GameSnapshot first = bowlingGame.roll(10);
+
+        //ACT
+        GameSnapshot second = bowlingGame.roll(3);
+
+        // ASSERT
+        assertThat(first.score()).isEqualTo(10);
+        assertThat(first.getRollCount()).isEqualTo(1);
+        assertThat(second.score()).isEqualTo(16);
+        assertThat(second.getVersion()).isEqualTo(first.getVersion() + 1);
+        assertThat(bowlingGame.snapshot()).isSameAs(second);
+    }
+
+    /**
+     * threads roll random pins into the same game until it is over. Ordered by version, the accepted rolls have to
+     * form a gap free sequence that, rolled into a BowlingGame, gives every score the rolling threads saw.
+     */
+    @Test
+    public void roll_WhenRolledConcurrently_ShouldApplyEveryAcceptedRollExactlyOnce() throws Exception {
+        for (int game = 0; game < 500; game++) {
+            ConcurrentBowlingGame bowlingGame = new ConcurrentBowlingGame();
+            CyclicBarrier start = new CyclicBarrier(THREADS);
+
+            List<Future<List<long[]>>> results = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                results.add(executor.submit(() -> rollUntilGameOver(bowlingGame, start)));
+            }
+            List<long[]> accepted = new ArrayList<>();
+            for (Future<List<long[]>> result : results) {
+                accepted.addAll(result.get(10, TimeUnit.SECONDS));
+            }
+            accepted.sort(Comparator.comparingLong(roll -> roll[0]));
+
+            BowlingGame replay = new BowlingGame();
+            for (int n = 0; n < accepted.size(); n++) {
+                long[] roll = accepted.get(n);
+                assertThat(roll[0]).isEqualTo(n + 1);
+                replay.roll((int) roll[1]);
+                assertThat(replay.score()).isEqualTo(roll[2]);
+            }
+            assertThat(replay.isGameOver()).isTrue();
+            assertThat(bowlingGame.score()).isEqualTo(replay.score());
+            assertThat(bowlingGame.snapshot().getRollCount()).isEqualTo(accepted.size());
+        }
+    }
+
+    /**
+     * @return version, pins and score of every roll this thread got accepted
+     */
+    private static List<long[]> rollUntilGameOver(ConcurrentBowlingGame bowlingGame, CyclicBarrier start) throws Exception {
+        List<long[]> accepted = new ArrayList<>();
+        start.await();
+        while (true) {
+            int pins = ThreadLocalRandom.current().nextInt(11);
+            try {
+                GameSnapshot snapshot = bowlingGame.roll(pins);
+                accepted.add(new long[]{snapshot.getVersion(), pins, snapshot.score()});
+            } catch (IllegalStateException e) {
+                if (ExceptionConstants.GAME_IS_OVER.equals(e.getMessage())) {
+                    return accepted;
+                }
+            }
+        }
+    }
+}
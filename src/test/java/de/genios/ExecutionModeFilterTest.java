@@ -0,0 +1,171 @@
+package de.genios;
+
+import de.genios.config.ExecutionModeFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import javax.servlet.http.HttpServletRequest;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExecutionModeFilterTest {
+    //stands in for the virtual thread executor, which needs JDK 21
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "offloaded"));
+
+    @AfterEach
+    public void afterEach() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void doFilter_WhenGameRequestAndExecutorGiven_ShouldHandleItOnTheExecutorAndComplete() throws Exception {
+        //ARRANGE
+        ExecutionModeFilter filter = new ExecutionModeFilter(executor, Set.of("/", "/bowl"), 1000);
+        MockHttpServletRequest request = request("/bowl");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        CompletableFuture<String> handledOn = new CompletableFuture<>();
+
+        //ACT
+        filter.doFilter(request, response, handler(handledOn));
+
+        // ASSERT
+        assertThat(handledOn.get(5, TimeUnit.SECONDS)).isEqualTo("offloaded");
+        awaitCompletion(request);
+        assertThat(response.getContentAsString()).isEqualTo("ok");
+    }
+
+    @Test
+    public void doFilter_WhenContainerLeftTheScopeOfTheRequest_ShouldHandItOnWithItsPaths() throws Exception {
+        //ARRANGE
+        ExecutionModeFilter filter = new ExecutionModeFilter(executor, Set.of("/", "/bowl"), 1000);
+        MockHttpServletRequest request = request("/bowl");
+        request.setServletPath("/bowl");
+        CountDownLatch scopeLeft = new CountDownLatch(1);
+        CompletableFuture<String> handledWith = new CompletableFuture<>();
+
+        //ACT
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            try {
+                scopeLeft.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            HttpServletRequest handled = (HttpServletRequest) req;
+            handledWith.complete(handled.getContextPath() + handled.getServletPath() + " " + handled.getRequestURI());
+        });
+        //as Jetty does once the filter has returned to the container
+        request.setContextPath(null);
+        request.setServletPath(null);
+        request.setRequestURI(null);
+        scopeLeft.countDown();
+
+        // ASSERT
+        assertThat(handledWith.get(5, TimeUnit.SECONDS)).isEqualTo("/arena/bowl /arena/bowl");
+        awaitCompletion(request);
+    }
+
+    @Test
+    public void doFilter_WhenOtherPath_ShouldHandleItOnTheContainerThread() throws Exception {
+        //ARRANGE
+        ExecutionModeFilter filter = new ExecutionModeFilter(executor, Set.of("/", "/bowl"), 1000);
+        MockHttpServletRequest request = request("/games/1/events");
+        CompletableFuture<String> handledOn = new CompletableFuture<>();
+
+        //ACT
+        filter.doFilter(request, new MockHttpServletResponse(), handler(handledOn));
+
+        // ASSERT
+        assertThat(handledOn.getNow(null)).isEqualTo(Thread.currentThread().getName());
+        assertThat(request.isAsyncStarted()).isFalse();
+    }
+
+    @Test
+    public void doFilter_WhenNoExecutor_ShouldHandleEveryRequestOnTheContainerThread() throws Exception {
+        //ARRANGE
+        ExecutionModeFilter filter = new ExecutionModeFilter(null, Set.of("/", "/bowl"), 1000);
+        MockHttpServletRequest request = request("/bowl");
+        CompletableFuture<String> handledOn = new CompletableFuture<>();
+
+        //ACT
+        filter.doFilter(request, new MockHttpServletResponse(), handler(handledOn));
+
+        // ASSERT
+        assertThat(filter.isOffloading()).isFalse();
+        assertThat(handledOn.getNow(null)).isEqualTo(Thread.currentThread().getName());
+    }
+
+    @Test
+    public void doFilter_WhenHandlerFailsOnTheExecutor_ShouldAnswerWithServerError() throws Exception {
+        //ARRANGE
+        ExecutionModeFilter filter = new ExecutionModeFilter(executor, Set.of("/", "/bowl"), 1000);
+        MockHttpServletRequest request = request("/");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        //ACT
+        filter.doFilter(request, response, (req, res) -> {
+            throw new IllegalStateException("broken");
+        });
+
+        // ASSERT
+        awaitCompletion(request);
+        assertThat(response.getStatus()).isEqualTo(500);
+    }
+
+    @Test
+    public void doFilter_WhenRequestWaitedTooLongForTheExecutor_ShouldAnswerUnavailableWithoutHandlingIt()
+            throws Exception {
+        //ARRANGE
+        ExecutionModeFilter filter = new ExecutionModeFilter(executor, Set.of("/", "/bowl"), 50);
+        CountDownLatch busy = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                busy.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        MockHttpServletRequest request = request("/bowl");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        CompletableFuture<String> handledOn = new CompletableFuture<>();
+
+        //ACT
+        filter.doFilter(request, response, handler(handledOn));
+        Thread.sleep(100);
+        busy.countDown();
+
+        // ASSERT
+        awaitCompletion(request);
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(handledOn).isNotDone();
+    }
+
+    private static MockHttpServletRequest request(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/arena" + path);
+        request.setContextPath("/arena");
+        request.setAsyncSupported(true);
+        return request;
+    }
+
+    private static FilterChain handler(CompletableFuture<String> handledOn) {
+        return (req, res) -> {
+            res.getWriter().write("ok");
+            handledOn.complete(Thread.currentThread().getName());
+        };
+    }
+
+    private static void awaitCompletion(MockHttpServletRequest request) throws InterruptedException {
+        for (int n = 0; n < 500 && request.isAsyncStarted(); n++) {
+            Thread.sleep(10);
+        }
+        assertThat(request.isAsyncStarted()).as("async request completed").isFalse();
+    }
+}
@@ -0,0 +1,76 @@
+package de.genios;
+
+import de.genios.api.ApiError;
+import de.genios.api.FrameView;
+import de.genios.api.GameCard;
+import de.genios.api.RollRequest;
+import de.genios.api.RollResponse;
+import de.genios.controller.GameApiController;
+import de.genios.helper.ExceptionConstants;
+import de.genios.model.BowlingGame;
+import de.genios.model.GameSnapshot;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameApiControllerTest {
+
+    @Test
+    public void roll_WhenPinsAreMissing_ShouldAnswerBadRequest() {
+        //ARRANGE
+        GameApiController controller = new GameApiController();
+
+        //ACT
+        ResponseEntity<Object> response = controller.roll("0b6ac4a8-5f1c-4d36-b3a5-7a2d4f0e9c11", new RollRequest());
+
+        // ASSERT
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).isInstanceOf(ApiError.class);
+        assertThat(((ApiError) response.getBody()).getMessage()).isEqualTo(ExceptionConstants.PINS_MISSING);
+    }
+
+    @Test
+    public void of_WhenRandomGamesRolled_ShouldShowTheFramesOfTheGame() {
+        Random random = new Random(5);
+
+        for (int game = 0; game < 1_000; game++) {
+            BowlingGame bowlingGame = new BowlingGame();
+            GameSnapshot snapshot = GameSnapshot.EMPTY;
+
+            while (!bowlingGame.isGameOver()) {
+                //ARRANGE
+                int pins = random.nextInt(11);
+                if (!bowlingGame.tryRoll(pins).isAccepted()) {
+                    continue;
+                }
+                snapshot = snapshot.roll(pins);
+
+                //ACT
+                GameCard gameCard = GameCard.of("game", snapshot);
+                RollResponse rollResponse = RollResponse.of("game", snapshot);
+
+                // ASSERT
+                assertThat(gameCard.getScore()).isEqualTo(bowlingGame.score());
+                assertThat(gameCard.getFrames()).hasSameSizeAs(bowlingGame.getFrames());
+                for (FrameView frame : gameCard.getFrames()) {
+                    assertFrame(frame, bowlingGame);
+                }
+                assertThat(rollResponse.getChangedFrames()).isNotEmpty();
+                for (FrameView frame : rollResponse.getChangedFrames()) {
+                    assertFrame(frame, bowlingGame);
+                }
+            }
+        }
+    }
+
+    private static void assertFrame(FrameView frame, BowlingGame bowlingGame) {
+        int n = frame.getFrame() - 1;
+        assertThat(frame.getDisplay()).isEqualTo(bowlingGame.frameDisplay(n));
+        assertThat(frame.getScore()).isEqualTo(bowlingGame.getFrames().get(n).getAccumulatedFrameScore());
+        assertThat(frame.getRolls().length).isBetween(1, 3);
+    }
+}
@@ -0,0 +1,78 @@
+package de.genios;
+
+import de.genios.config.PropertyConfig;
+import de.genios.controller.GameController;
+import de.genios.metrics.GameMetrics;
+import de.genios.service.GameService;
+import de.genios.store.GameStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.ui.ExtendedModelMap;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameControllerTest {
+    private static final String UNKNOWN_GAME = "0b6ac4a8-5f1c-4d36-b3a5-7a2d4f0e9c11";
+
+    private final GameStore gameStore = new GameStore(100, 4, 1, TimeUnit.HOURS);
+    private final GameController controller = new GameController();
+
+    @BeforeEach
+    public void beforeEach() {
+        GameService gameService = new GameService();
+        ReflectionTestUtils.setField(gameService, "gameStore", gameStore);
+        ReflectionTestUtils.setField(gameService, "gameMetrics", new GameMetrics());
+        PropertyConfig propertyConfig = new PropertyConfig();
+        ReflectionTestUtils.setField(propertyConfig, "indexPage", "game");
+        ReflectionTestUtils.setField(propertyConfig, "gameNotFound", "Game not found");
+        ReflectionTestUtils.setField(controller, "gameService", gameService);
+        ReflectionTestUtils.setField(controller, "propertiesConfig", propertyConfig);
+    }
+
+    @Test
+    public void scoreboard_WhenGameIsUnknown_ShouldAnswerNotFoundWithoutStartingAGame() {
+        //ARRANGE
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/scoreboard");
+        request.addHeader("If-None-Match", "\"3\"");
+
+        for (int poll = 0; poll < 3; poll++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            ExtendedModelMap model = new ExtendedModelMap();
+
+            //ACT
+            String view = controller.scoreboard(model, new ServletWebRequest(request, response), response,
+                    UNKNOWN_GAME);
+
+            // ASSERT
+            assertThat(response.getStatus()).isEqualTo(404);
+            assertThat(view).isEqualTo("game");
+            assertThat(model.get("message")).isEqualTo("Game not found");
+            assertThat(model.get("gameId")).isNull();
+        }
+        assertThat(gameStore.size()).isZero();
+    }
+
+    @Test
+    public void scoreboard_WhenVersionIsUnchanged_ShouldAnswerNotModified() {
+        //ARRANGE
+        String gameId = gameStore.create();
+        gameStore.get(gameId).roll(4);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/scoreboard");
+        request.addHeader("If-None-Match", "\"1\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        //ACT
+        String view = controller.scoreboard(new ExtendedModelMap(), new ServletWebRequest(request, response), response,
+                gameId);
+
+        // ASSERT
+        assertThat(view).isNull();
+        assertThat(response.getStatus()).isEqualTo(304);
+    }
+}
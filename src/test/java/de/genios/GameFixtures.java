@@ -0,0 +1,95 @@
+package de.genios;
+
+import de.genios.helper.Constants;
+import de.genios.model.BowlingGame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Roll sequences shared by the scoring tests, with {@link BowlingGame} as the reference they are checked against.
+ */
+final class GameFixtures {
+    private static final int PINS = Constants.TOTAL_NUMBER_OF_PINS;
+
+    private GameFixtures() {
+    }
+
+    /**
+     * @return every legal frame of the first nine: a strike or two rolls leaving pins or making a spare
+     */
+    static List<int[]> regularFrames() {
+        List<int[]> frames = new ArrayList<>();
+        frames.add(new int[]{PINS});
+        for (int first = 0; first < PINS; first++) {
+            for (int second = 0; first + second <= PINS; second++) {
+                frames.add(new int[]{first, second});
+            }
+        }
+        return frames;
+    }
+
+    /**
+     * @return every legal tenth frame, with the fill ball after a strike or spare
+     */
+    static List<int[]> tenthFrames() {
+        List<int[]> frames = new ArrayList<>();
+        for (int first = 0; first <= PINS; first++) {
+            int standing = first == PINS ? PINS : PINS - first;
+            for (int second = 0; second <= standing; second++) {
+                if (first < PINS && first + second < PINS) {
+                    frames.add(new int[]{first, second});
+                    continue;
+                }
+                int fillStanding = first == PINS && second < PINS ? PINS - second : PINS;
+                for (int fill = 0; fill <= fillStanding; fill++) {
+                    frames.add(new int[]{first, second, fill});
+                }
+            }
+        }
+        return frames;
+    }
+
+    static int[] concat(int[]... parts) {
+        int[] rolls = new int[0];
+        for (int[] part : parts) {
+            int size = rolls.length;
+            rolls = Arrays.copyOf(rolls, size + part.length);
+            System.arraycopy(part, 0, rolls, size, part.length);
+        }
+        return rolls;
+    }
+
+    /**
+     * @return the score of the rolls bowled on a BowlingGame, or the message of the roll it rejected
+     */
+    static String playBowlingGame(int[] rolls) {
+        BowlingGame bowlingGame = new BowlingGame();
+        try {
+            for (int pins : rolls) {
+                bowlingGame.roll(pins);
+            }
+            return String.valueOf(bowlingGame.score());
+        } catch (IllegalStateException e) {
+            return e.getMessage();
+        }
+    }
+
+    /**
+     * @return the rolls of a complete game, drawing 0 to 10 pins again until the game accepts them
+     */
+    static int[] randomLegalGame(Random random) {
+        BowlingGame bowlingGame = new BowlingGame();
+        int[] rolls = new int[Constants.MAX_NUMBER_OF_ROLLS];
+        int size = 0;
+        while (!bowlingGame.isGameOver()) {
+            int pins = random.nextInt(PINS + 1);
+            if (bowlingGame.tryRoll(pins).isAccepted()) {
+                rolls[size++] = pins;
+            }
+        }
+        return Arrays.copyOf(rolls, size);
+    }
+}
@@ -0,0 +1,105 @@
+package de.genios;
+
+import de.genios.metrics.GameMetrics;
+import de.genios.metrics.LatencyHistogram;
+import de.genios.model.RollStatus;
+import de.genios.store.GameStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameMetricsTest {
+
+    @Test
+    public void writeTo_WhenDurationsRecorded_ShouldWriteCumulativeBuckets() {
+        //ARRANGE
+        LatencyHistogram histogram = new LatencyHistogram("test_seconds", "Test.", 1_000, 1_000_000);
+        histogram.record(500);
+        histogram.record(1_000);
+        histogram.record(20_000);
+        histogram.record(2_000_000_000);
+        StringBuilder out = new StringBuilder();
+
+        //ACT
+        histogram.writeTo(out);
+
+        // ASSERT
+        assertThat(out.toString()).isEqualTo("# HELP test_seconds Test.\n"
+                + "# TYPE test_seconds histogram\n"
+                + "test_seconds_bucket{le=\"0.000001\"} 2\n"
+                + "test_seconds_bucket{le=\"0.001\"} 3\n"
+                + "test_seconds_bucket{le=\"+Inf\"} 4\n"
+                + "test_seconds_sum 2.0000215\n"
+                + "test_seconds_count 4\n");
+    }
+
+    @Test
+    public void rejected_WhenRollRejected_ShouldCountByReason() {
+        //ARRANGE
+        GameMetrics gameMetrics = new GameMetrics();
+
+        //ACT
+        gameMetrics.rejected(RollStatus.PIN_COUNT_EXCEEDING);
+        gameMetrics.rejected(RollStatus.PIN_COUNT_EXCEEDING);
+        gameMetrics.rejected(RollStatus.GAME_IS_OVER);
+
+        // ASSERT
+        StringBuilder out = new StringBuilder();
+        gameMetrics.writeTo(out);
+        assertThat(gameMetrics.getRejections(RollStatus.PIN_COUNT_EXCEEDING)).isEqualTo(2);
+        assertThat(out.toString())
+                .contains("bowling_rolls_rejected_total{reason=\"INVALID_ROLL\"} 0\n")
+                .contains("bowling_rolls_rejected_total{reason=\"PIN_COUNT_EXCEEDING\"} 2\n")
+                .contains("bowling_rolls_rejected_total{reason=\"GAME_IS_OVER\"} 1\n")
+                .doesNotContain("ACCEPTED");
+    }
+
+    @Test
+    public void writeTo_WhenGamesAreOver_ShouldCountOnlyTheOthersAsActive() {
+        //ARRANGE
+        GameStore gameStore = new GameStore(100, 4, 1, TimeUnit.HOURS);
+        String finished = gameStore.create();
+        for (int n = 0; n < 12; n++) {
+            gameStore.get(finished).roll(10);
+        }
+        gameStore.get(gameStore.create()).roll(4);
+        gameStore.create();
+        GameMetrics gameMetrics = new GameMetrics();
+        ReflectionTestUtils.setField(gameMetrics, "gameStore", gameStore);
+
+        //ACT
+        StringBuilder out = new StringBuilder();
+        gameMetrics.writeTo(out);
+
+        // ASSERT
+        assertThat(out.toString())
+                .contains("bowling_games_active 2\n")
+                .contains("bowling_games_stored 3\n");
+    }
+
+    @Test
+    public void rolled_WhenGameEnds_ShouldCountRollsAndCompletedGames() {
+        //ARRANGE
+        GameMetrics gameMetrics = new GameMetrics();
+
+        //ACT
+        gameMetrics.rolled(false);
+        gameMetrics.timed(1_500);
+        gameMetrics.rolled(true);
+        gameMetrics.timed(3_000);
+
+        // ASSERT
+        StringBuilder out = new StringBuilder();
+        gameMetrics.writeTo(out);
+        assertThat(gameMetrics.getRollCount()).isEqualTo(2);
+        assertThat(gameMetrics.getCompletedGames()).isEqualTo(1);
+        assertThat(out.toString())
+                .contains("bowling_rolls_total 2\n")
+                .contains("bowling_roll_duration_seconds_bucket{le=\"0.000002\"} 1\n")
+                .contains("bowling_roll_duration_seconds_bucket{le=\"0.000005\"} 2\n")
+                .contains("bowling_games_completed_total 1\n");
+    }
+}
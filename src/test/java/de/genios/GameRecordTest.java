@@ -0,0 +1,83 @@
+package de.genios;
+
+import de.genios.archive.GameRecordReader;
+import de.genios.archive.GameRecordWriter;
+import de.genios.helper.CorruptRecordException;
+import de.genios.model.BowlingScorer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GameRecordTest {
+    private static final int[][] GAMES = {
+            {10, 10, 10, 10, 10, 10, 10, 10, 10, 10, 10, 10},
+            {5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5},
+            {8, 0, 7, 0, 5, 3, 9, 1, 9, 1, 10, 8, 0, 5, 1, 3, 7, 9, 0},
+            {},
+            {10, 3}};
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void read_WhenGamesWritten_ShouldReturnTheSameRollsAndScores() throws IOException {
+        //ARRANGE
+        Path file = tempDir.resolve("games.bin");
+        try (GameRecordWriter writer = new GameRecordWriter(file)) {
+            for (int[] game : GAMES) {
+                writer.write(game);
+            }
+        }
+
+        //ACT
+        List<int[]> rolls = new ArrayList<>();
+        int[] scores = new int[GAMES.length];
+        try (GameRecordReader reader = new GameRecordReader(file)) {
+            reader.forEach((record, recordRolls, count) -> rolls.add(Arrays.copyOf(recordRolls, count)));
+            for (int n = 0; n < GAMES.length; n++) {
+                scores[n] = reader.score(n);
+            }
+        }
+
+        // ASSERT
+        assertThat(Files.size(file)).isEqualTo(8 + 12 * GAMES.length);
+        assertThat(rolls).containsExactly(GAMES);
+        assertThat(scores).containsExactly(BowlingScorer.scoreAll(GAMES));
+    }
+
+    @Test
+    public void read_WhenRollCountIsCorrupt_ShouldThrowCorruptRecordException() throws IOException {
+        //ARRANGE
+        Path file = tempDir.resolve("games.bin");
+        try (GameRecordWriter writer = new GameRecordWriter(file)) {
+            writer.write(GAMES[0]);
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[8] = (byte) 0xF0;
+        Files.write(file, bytes);
+
+        try (GameRecordReader reader = new GameRecordReader(file)) {
+            // ASSERT
+            assertThatThrownBy(() -> reader.score(0)).isInstanceOf(CorruptRecordException.class);
+        }
+    }
+
+    @Test
+    public void read_WhenFileIsNotARecordFile_ShouldThrowException() throws IOException {
+        //ARRANGE
+        Path file = tempDir.resolve("games.csv");
+        Files.write(file, "10,10,10,10,10,10,10,10,10,10,10,10\n".getBytes());
+
+        // ASSERT
+        assertThatThrownBy(() -> new GameRecordReader(file)).isInstanceOf(IOException.class);
+    }
+}
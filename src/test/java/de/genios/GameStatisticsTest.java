@@ -0,0 +1,174 @@
+package de.genios;
+
+import de.genios.api.StatisticsView;
+import de.genios.model.ConcurrentBowlingGame;
+import de.genios.model.GameSnapshot;
+import de.genios.service.GameStatistics;
+import de.genios.store.GameStore;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameStatisticsTest {
+    //20, 39, 48, six open frames without pins and 10,10,5 in the tenth: 73
+    private static final int[] GAME = {10, 7, 3, 9, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 10, 10, 5};
+
+    @Test
+    public void rolled_WhenGameFinished_ShouldCountStrikesSparesAndFirstBalls() {
+        //ARRANGE
+        GameStatistics gameStatistics = new GameStatistics(new GameStore(100, 4, 1, TimeUnit.HOURS), 1, TimeUnit.HOURS);
+        gameStatistics.assign("game-1", "anna", "lane-3");
+
+        //ACT
+        for (GameSnapshot snapshot : play(GAME)) {
+            gameStatistics.rolled("game-1", snapshot);
+        }
+
+        // ASSERT
+        StatisticsView player = gameStatistics.getPlayer("anna").view();
+        assertThat(player.getGames()).isEqualTo(1);
+        assertThat(player.getRolls()).isEqualTo(20);
+        assertThat(player.getFrames()).isEqualTo(10);
+        //strikes in the first and twice in the tenth frame out of twelve balls at newly set pins
+        assertThat(player.getStrikePercent()).isEqualTo(25.0);
+        //one spare out of eight second balls
+        assertThat(player.getSpareConversionPercent()).isEqualTo(12.5);
+        assertThat(player.getOpenFramePercent()).isEqualTo(70.0);
+        assertThat(player.getFirstBallPins()).containsExactly(6, 0, 0, 0, 0, 0, 0, 1, 0, 1, 2);
+        assertThat(player.getAverageTenthFramePins()).isEqualTo(25.0);
+        assertThat(player.getTenthFrameStrikes()).isEqualTo(2);
+        assertThat(player.getAverageScore()).isEqualTo(73.0);
+        assertThat(player.getBestScore()).isEqualTo(73);
+        assertThat(gameStatistics.getLane("lane-3").view().getStrikePercent()).isEqualTo(25.0);
+        assertThat(gameStatistics.getVenue().view().getRolls()).isEqualTo(20);
+    }
+
+    @Test
+    public void rolled_WhenRollsReportedOutOfOrderOrTwice_ShouldCountEveryRollOnce() {
+        //ARRANGE
+        GameStatistics gameStatistics = new GameStatistics(new GameStore(100, 4, 1, TimeUnit.HOURS), 1, TimeUnit.HOURS);
+        gameStatistics.assign("game-1", "anna", null);
+        List<GameSnapshot> snapshots = play(GAME);
+
+        //ACT
+        for (int n = 0; n < snapshots.size(); n += 2) {
+            if (n + 1 < snapshots.size()) {
+                gameStatistics.rolled("game-1", snapshots.get(n + 1));
+            }
+            gameStatistics.rolled("game-1", snapshots.get(n));
+            gameStatistics.rolled("game-1", snapshots.get(n));
+        }
+
+        // ASSERT
+        StatisticsView player = gameStatistics.getPlayer("anna").view();
+        assertThat(player.getRolls()).isEqualTo(20);
+        assertThat(player.getGames()).isEqualTo(1);
+        assertThat(player.getAverageScore()).isEqualTo(73.0);
+        assertThat(gameStatistics.getLane("lane-3")).isNull();
+    }
+
+    @Test
+    public void rolled_WhenGameNotAssigned_ShouldOnlyCountForTheVenue() {
+        //ARRANGE
+        GameStatistics gameStatistics = new GameStatistics(new GameStore(100, 4, 1, TimeUnit.HOURS), 1, TimeUnit.HOURS);
+
+        //ACT
+        for (GameSnapshot snapshot : play(3, 7, 4)) {
+            gameStatistics.rolled("game-1", snapshot);
+        }
+
+        // ASSERT
+        StatisticsView venue = gameStatistics.getVenue().view();
+        assertThat(venue.getRolls()).isEqualTo(3);
+        assertThat(venue.getFrames()).isEqualTo(2);
+        assertThat(venue.getSpareConversionPercent()).isEqualTo(100.0);
+        assertThat(venue.getGames()).isZero();
+        assertThat(gameStatistics.getPlayer("anna")).isNull();
+    }
+
+    @Test
+    public void rolled_WhenGameResetAndRolledPastItsOldRolls_ShouldCountTheNewGameFromItsFirstRoll() {
+        //ARRANGE
+        GameStatistics gameStatistics = new GameStatistics(new GameStore(100, 4, 1, TimeUnit.HOURS), 1, TimeUnit.HOURS);
+        gameStatistics.assign("game-1", "anna", null);
+        ConcurrentBowlingGame bowlingGame = new ConcurrentBowlingGame();
+        for (int pins : new int[]{3, 4, 5}) {
+            gameStatistics.rolled("game-1", bowlingGame.roll(pins));
+        }
+        bowlingGame.resetGame();
+
+        //ACT
+        GameSnapshot snapshot = null;
+        for (int n = 0; n < 12; n++) {
+            snapshot = bowlingGame.roll(10);
+        }
+        //only the last of the twelve strikes is reported
+        gameStatistics.rolled("game-1", snapshot);
+
+        // ASSERT
+        StatisticsView player = gameStatistics.getPlayer("anna").view();
+        assertThat(player.getRolls()).isEqualTo(3 + 12);
+        assertThat(player.getGames()).isEqualTo(1);
+        assertThat(player.getBestScore()).isEqualTo(300);
+        assertThat(player.getAverageTenthFramePins()).isEqualTo(30.0);
+    }
+
+    @Test
+    public void view_WhenGameInItsTenthFrame_ShouldAverageTenthFramePinsOverFinishedGamesOnly() {
+        //ARRANGE
+        GameStatistics gameStatistics = new GameStatistics(new GameStore(100, 4, 1, TimeUnit.HOURS), 1, TimeUnit.HOURS);
+        gameStatistics.assign("game-1", "anna", null);
+        gameStatistics.assign("game-2", "anna", null);
+
+        //ACT
+        for (GameSnapshot snapshot : play(GAME)) {
+            gameStatistics.rolled("game-1", snapshot);
+        }
+        for (GameSnapshot snapshot : play(Arrays.copyOf(GAME, GAME.length - 1))) {
+            gameStatistics.rolled("game-2", snapshot);
+        }
+
+        // ASSERT
+        StatisticsView player = gameStatistics.getPlayer("anna").view();
+        assertThat(player.getGames()).isEqualTo(1);
+        assertThat(player.getAverageTenthFramePins()).isEqualTo(25.0);
+    }
+
+    @Test
+    public void evictIdle_WhenGameIsParked_ShouldKeepItsTrackerUntilTheStoreDropsIt() {
+        //ARRANGE
+        GameStore gameStore = new GameStore(100, 4, 0, 100, 1, TimeUnit.HOURS);
+        GameStatistics gameStatistics = new GameStatistics(gameStore, 0, TimeUnit.HOURS);
+        String gameId = gameStore.create();
+        gameStatistics.assign(gameId, "anna", "lane-3");
+        gameStatistics.rolled(gameId, gameStore.get(gameId).roll(7));
+        gameStore.evictIdle();
+
+        //ACT
+        gameStatistics.evictIdle();
+        gameStatistics.rolled(gameId, gameStore.get(gameId).roll(2));
+        gameStore.remove(gameId);
+        gameStatistics.evictIdle();
+        gameStatistics.rolled(gameId, play(1).get(0));
+
+        // ASSERT
+        assertThat(gameStatistics.getPlayer("anna").view().getRolls()).isEqualTo(2);
+        assertThat(gameStatistics.getLane("lane-3").view().getFrames()).isEqualTo(1);
+        //the tracker of the dropped game is gone, the roll of a game of that id counts for the venue only
+        assertThat(gameStatistics.getVenue().view().getRolls()).isEqualTo(3);
+    }
+
+    private static List<GameSnapshot> play(int... rolls) {
+        ConcurrentBowlingGame bowlingGame = new ConcurrentBowlingGame();
+        List<GameSnapshot> snapshots = new ArrayList<>();
+        for (int pins : rolls) {
+            snapshots.add(bowlingGame.roll(pins));
+        }
+        return snapshots;
+    }
+}
@@ -0,0 +1,266 @@
+package de.genios;
+
+import de.genios.metrics.GameMetrics;
+import de.genios.model.ConcurrentBowlingGame;
+import de.genios.model.GameSnapshot;
+import de.genios.service.GameService;
+import de.genios.service.RollResult;
+import de.genios.store.GameStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameStoreTest {
+
+    @Test
+    public void get_WhenGameCreated_ShouldReturnTheSameGame() {
+        //ARRANGE
+        GameStore gameStore = new GameStore(10, 4, 1, TimeUnit.HOURS);
+        String gameId = gameStore.create();
+
+        //ACT
+        ConcurrentBowlingGame bowlingGame = gameStore.get(gameId);
+        bowlingGame.roll(7);
+
+        // ASSERT
+        assertThat(gameStore.get(gameId)).isSameAs(bowlingGame);
+        assertThat(gameStore.get(gameId).score()).isEqualTo(7);
+        assertThat(gameStore.get("unknown")).isNull();
+    }
+
+    @Test
+    public void create_WhenCapacityReached_ShouldEvictTheLeastRecentlyUsedGame() {
+        //ARRANGE
+        GameStore gameStore = new GameStore(2, 1, 1, TimeUnit.HOURS);
+        String first = gameStore.create();
+        String second = gameStore.create();
+        gameStore.get(first);
+
+        //ACT
+        String third = gameStore.create();
+
+        // ASSERT
+        assertThat(gameStore.size()).isEqualTo(2);
+        assertThat(gameStore.get(second)).isNull();
+        assertThat(gameStore.get(first)).isNotNull();
+        assertThat(gameStore.get(third)).isNotNull();
+    }
+
+    @Test
+    public void evictIdle_WhenGamesIdle_ShouldRemoveThem() {
+        //ARRANGE
+        GameStore gameStore = new GameStore(100, 8, 0, TimeUnit.MILLISECONDS);
+        String gameId = gameStore.create();
+        gameStore.create();
+
+        //ACT
+        gameStore.evictIdle();
+
+        // ASSERT
+        assertThat(gameStore.size()).isZero();
+        assertThat(gameStore.get(gameId)).isNull();
+    }
+
+    @Test
+    public void remove_WhenGameRemoved_ShouldNotReturnIt() {
+        //ARRANGE
+        GameStore gameStore = new GameStore(100, 8, 1, TimeUnit.HOURS);
+        String gameId = gameStore.create();
+
+        //ACT
+        gameStore.remove(gameId);
+
+        // ASSERT
+        assertThat(gameStore.get(gameId)).isNull();
+    }
+
+    @Test
+    public void setRemovalListener_WhenGamesLeaveTheStore_ShouldGetEveryIdOnce() {
+        //ARRANGE
+        GameStore gameStore = new GameStore(100, 1, 0, 1, 0, TimeUnit.MILLISECONDS);
+        List<String> removed = new ArrayList<>();
+        gameStore.setRemovalListener(removed::add);
+        String first = gameStore.create();
+        String second = gameStore.create();
+        String third = gameStore.create();
+
+        //ACT
+        gameStore.remove(first);
+        gameStore.remove(first);
+        //one of the others is parked, the other one dropped as the parked capacity is used up
+        gameStore.evictIdle();
+        //the parked one is dropped after the parked timeout
+        gameStore.evictIdle();
+
+        // ASSERT
+        assertThat(removed).containsExactlyInAnyOrder(first, second, third);
+        assertThat(gameStore.contains(second)).isFalse();
+        assertThat(gameStore.contains(third)).isFalse();
+    }
+
+    @Test
+    public void evictIdle_WhenParkedCapacityGiven_ShouldParkIdleGamesUntilTheyAreRolledAgain() {
+        //ARRANGE
+        GameStore gameStore = new GameStore(100, 8, 0, 100, 1, TimeUnit.HOURS);
+        String gameId = gameStore.create();
+        gameStore.get(gameId).roll(10);
+        GameSnapshot rolled = gameStore.get(gameId).roll(4);
+
+        //ACT
+        gameStore.evictIdle();
+
+        // ASSERT
+        assertThat(gameStore.size()).isZero();
+        assertThat(gameStore.parkedSize()).isEqualTo(1);
+        //reading leaves it parked
+        assertThat(gameStore.snapshot(gameId).score()).isEqualTo(18);
+        assertThat(gameStore.parkedSize()).isEqualTo(1);
+
+        ConcurrentBowlingGame bowlingGame = gameStore.get(gameId);
+        assertThat(bowlingGame.snapshot().getVersion()).isEqualTo(rolled.getVersion());
+        assertThat(bowlingGame.roll(6).score()).isEqualTo(30);
+        assertThat(gameStore.size()).isEqualTo(1);
+        assertThat(gameStore.parkedSize()).isZero();
+    }
+
+    @Test
+    public void create_WhenCapacityReachedWithParkedCapacity_ShouldParkTheLeastRecentlyUsedGame() {
+        //ARRANGE
+        GameStore gameStore = new GameStore(2, 1, 1, 10, 1, TimeUnit.HOURS);
+        String first = gameStore.create();
+        gameStore.get(first).roll(3);
+        String second = gameStore.create();
+
+        //ACT
+        String third = gameStore.create();
+        Map<String, Integer> scores = new HashMap<>();
+        gameStore.forEach((gameId, game) -> scores.put(gameId, game.score()));
+
+        // ASSERT
+        assertThat(gameStore.size()).isEqualTo(2);
+        assertThat(gameStore.parkedSize()).isEqualTo(1);
+        assertThat(scores).containsOnlyKeys(first, second, third).containsEntry(first, 3);
+        assertThat(gameStore.get(first).score()).isEqualTo(3);
+        //bringing it back parked the least recently used game in turn
+        assertThat(gameStore.snapshot(second)).isNotNull();
+        assertThat(gameStore.parkedSize()).isEqualTo(1);
+    }
+
+    @Test
+    public void evictIdle_WhenParkedLongerThanTheParkedTimeout_ShouldDropThem() {
+        //ARRANGE
+        GameStore gameStore = new GameStore(100, 8, 0, 100, 0, TimeUnit.MILLISECONDS);
+        String gameId = gameStore.create();
+        gameStore.evictIdle();
+
+        //ACT
+        gameStore.evictIdle();
+
+        // ASSERT
+        assertThat(gameStore.parkedSize()).isZero();
+        assertThat(gameStore.get(gameId)).isNull();
+    }
+
+    @Test
+    public void create_WhenParkedGamesAreFull_ShouldDropAndCountTheEvictedGame() {
+        //ARRANGE
+        GameStore gameStore = new GameStore(1, 1, 1, 1, 1, TimeUnit.HOURS);
+        String first = gameStore.create();
+        String second = gameStore.create();
+
+        //ACT
+        String third = gameStore.create();
+
+        // ASSERT
+        assertThat(gameStore.parkedSize()).isEqualTo(1);
+        assertThat(gameStore.droppedCount()).isEqualTo(1);
+        assertThat(gameStore.snapshot(first)).isNotNull();
+        assertThat(gameStore.snapshot(second)).isNull();
+        assertThat(gameStore.snapshot(third)).isNotNull();
+    }
+
+    @Test
+    public void roll_WhenGameWasParkedAfterItWasLookedUp_ShouldNotChangeTheParkedGame() {
+        //ARRANGE
+        GameStore gameStore = new GameStore(100, 8, 0, 100, 1, TimeUnit.HOURS);
+        String gameId = gameStore.create();
+        ConcurrentBowlingGame stale = gameStore.get(gameId);
+        stale.roll(3);
+        gameStore.evictIdle();
+
+        //ACT
+        GameSnapshot lost = stale.roll(4);
+        GameSnapshot rolled = gameStore.get(gameId).roll(5);
+
+        // ASSERT
+        assertThat(lost).isNull();
+        assertThat(stale.isRetired()).isTrue();
+        assertThat(stale.score()).isEqualTo(3);
+        assertThat(rolled.getVersion()).isEqualTo(2);
+        assertThat(rolled.score()).isEqualTo(8);
+    }
+
+    @Test
+    public void tryRoll_WhenGamesAreEvictedWhileRolled_ShouldKeepEveryAcceptedRoll() throws Exception {
+        //ARRANGE
+        GameStore gameStore = new GameStore(4, 1, 0, 1_000, 1, TimeUnit.HOURS);
+        GameService gameService = new GameService();
+        ReflectionTestUtils.setField(gameService, "gameStore", gameStore);
+        ReflectionTestUtils.setField(gameService, "gameMetrics", new GameMetrics());
+        int lanes = 4;
+        int gamesPerLane = 50;
+        AtomicBoolean rolling = new AtomicBoolean(true);
+        Thread evictor = new Thread(() -> {
+            while (rolling.get()) {
+                gameStore.evictIdle();
+                Thread.yield();
+            }
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(lanes);
+
+        //ACT
+        evictor.start();
+        List<Future<List<String>>> lanesDone = new ArrayList<>();
+        for (int lane = 0; lane < lanes; lane++) {
+            lanesDone.add(executor.submit(() -> {
+                List<String> failures = new ArrayList<>();
+                for (int game = 0; game < gamesPerLane; game++) {
+                    String gameId = gameService.create();
+                    for (int roll = 1; roll <= 20; roll++) {
+                        RollResult result = gameService.tryRoll(gameId, 0);
+                        if (!result.isAccepted() || result.getSnapshot().getVersion() != roll) {
+                            failures.add(gameId + " roll " + roll + ": " + result.getStatus());
+                        }
+                    }
+                    GameSnapshot stored = gameStore.snapshot(gameId);
+                    if (stored.getRollCount() != 20 || stored.getVersion() != 20) {
+                        failures.add(gameId + " stored with " + stored.getRollCount() + " rolls");
+                    }
+                }
+                return failures;
+            }));
+        }
+        List<String> failures = new ArrayList<>();
+        for (Future<List<String>> lane : lanesDone) {
+            failures.addAll(lane.get(60, TimeUnit.SECONDS));
+        }
+        rolling.set(false);
+        evictor.join();
+        executor.shutdown();
+
+        // ASSERT
+        assertThat(failures).isEmpty();
+        assertThat(gameStore.droppedCount()).isZero();
+    }
+}
@@ -0,0 +1,127 @@
+package de.genios;
+
+import de.genios.ingest.LaneIngestion;
+import de.genios.ingest.RollFeed;
+import de.genios.model.BowlingScorer;
+import de.genios.model.RollStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static de.genios.GameFixtures.concat;
+import static de.genios.GameFixtures.randomLegalGame;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LaneIngestionTest {
+    private static final int LANES = 40;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void publish_WhenFeedOfAllLanesRead_ShouldScoreEveryGameOfEveryLane() throws IOException {
+        //ARRANGE
+        Random random = new Random(5);
+        List<List<Integer>> expectedScores = new ArrayList<>();
+        List<int[]> laneRolls = new ArrayList<>();
+        for (int lane = 0; lane < LANES; lane++) {
+            List<Integer> scores = new ArrayList<>();
+            int[] rolls = new int[0];
+            for (int game = 0; game < 5; game++) {
+                int[] gameRolls = randomLegalGame(random);
+                scores.add(BowlingScorer.score(gameRolls));
+                rolls = concat(rolls, gameRolls);
+            }
+            expectedScores.add(scores);
+            laneRolls.add(rolls);
+        }
+        Path feed = directory.resolve("feed.txt");
+        Files.write(feed, interleave(laneRolls, random).getBytes(StandardCharsets.US_ASCII));
+
+        List<List<Integer>> scores = new ArrayList<>();
+        for (int lane = 0; lane < LANES; lane++) {
+            scores.add(new ArrayList<>());
+        }
+        //a ring much smaller than the feed, so the producer waits for the lanes again and again
+        LaneIngestion ingestion = new LaneIngestion(LANES, 64, (lane, pins, status, game, publishedNanos) -> {
+            if (status.isAccepted() && game.isGameOver()) {
+                scores.get(lane).add(game.score());
+            }
+        });
+
+        //ACT
+        long published;
+        try (InputStream in = Files.newInputStream(feed)) {
+            published = RollFeed.publish(in, ingestion);
+        }
+        ingestion.close();
+
+        // ASSERT
+        assertThat(published).isEqualTo(laneRolls.stream().mapToInt(rolls -> rolls.length).sum());
+        assertThat(scores).isEqualTo(expectedScores);
+    }
+
+    @Test
+    public void publish_WhenSocketFeedHasMalformedLines_ShouldSkipThemAndLetTheLaneRejectIllegalRolls() throws Exception {
+        //ARRANGE
+        List<String> rolls = new CopyOnWriteArrayList<>();
+        LaneIngestion ingestion = new LaneIngestion(LANES, 16, (lane, pins, status, game, publishedNanos) ->
+                rolls.add(lane + ":" + pins + ":" + status + ":" + game.score()));
+        String feed = "3 7\r\n3 x\n1 2 3\n99 1\n\n 3   2\n5 11\n12 10";
+
+        //ACT
+        long published;
+        try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            Thread pinsetter = new Thread(() -> {
+                try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getLocalPort());
+                     OutputStream out = socket.getOutputStream()) {
+                    out.write(feed.getBytes(StandardCharsets.US_ASCII));
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            pinsetter.start();
+            try (Socket socket = server.accept()) {
+                published = RollFeed.publish(socket.getInputStream(), ingestion);
+            }
+            pinsetter.join();
+        }
+        ingestion.close();
+
+        // ASSERT
+        assertThat(published).isEqualTo(4);
+        assertThat(rolls).containsExactlyInAnyOrder("3:7:" + RollStatus.ACCEPTED + ":7",
+                "3:2:" + RollStatus.ACCEPTED + ":9", "5:11:" + RollStatus.PIN_COUNT_EXCEEDING + ":0",
+                "12:10:" + RollStatus.ACCEPTED + ":10");
+    }
+
+    /**
+     * the rolls of every lane in order, the lanes mixed at random like the pinsetters report them
+     */
+    private static String interleave(List<int[]> laneRolls, Random random) {
+        StringBuilder feed = new StringBuilder();
+        int[] next = new int[laneRolls.size()];
+        int remaining = laneRolls.stream().mapToInt(rolls -> rolls.length).sum();
+        while (remaining > 0) {
+            int lane = random.nextInt(laneRolls.size());
+            if (next[lane] < laneRolls.get(lane).length) {
+                feed.append(lane).append(' ').append(laneRolls.get(lane)[next[lane]++]).append('\n');
+                remaining--;
+            }
+        }
+        return feed.toString();
+    }
+}
@@ -0,0 +1,95 @@
+package de.genios;
+
+import de.genios.api.Standing;
+import de.genios.model.ConcurrentBowlingGame;
+import de.genios.model.GameSnapshot;
+import de.genios.service.Leaderboard;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LeaderboardTest {
+
+    @Test
+    public void top_WhenGamesRolled_ShouldRankByScoreWithTiesSharingARank() {
+        //ARRANGE
+        Leaderboard leaderboard = new Leaderboard(1, TimeUnit.HOURS);
+
+        //ACT
+        roll(leaderboard, "lane-1", 3, 4);
+        roll(leaderboard, "lane-2", 10, 10);
+        roll(leaderboard, "lane-3", 5, 2);
+        roll(leaderboard, "lane-4", 0);
+
+        // ASSERT
+        List<Standing> top = leaderboard.top(3);
+        assertThat(top.stream().map(Standing::getGameId).collect(Collectors.toList()))
+                .startsWith("lane-2").hasSize(3).doesNotContain("lane-4");
+        assertThat(top.stream().map(Standing::getRank).collect(Collectors.toList())).containsExactly(1, 2, 2);
+        assertThat(leaderboard.standing("lane-4").getRank()).isEqualTo(4);
+        assertThat(leaderboard.standing("lane-2").getScore()).isEqualTo(30);
+    }
+
+    @Test
+    public void rolled_WhenOlderVersionArrivesLate_ShouldKeepTheNewerScore() {
+        //ARRANGE
+        Leaderboard leaderboard = new Leaderboard(1, TimeUnit.HOURS);
+        ConcurrentBowlingGame bowlingGame = new ConcurrentBowlingGame();
+        GameSnapshot older = bowlingGame.roll(4);
+        GameSnapshot newer = bowlingGame.roll(5);
+
+        //ACT
+        leaderboard.rolled("lane-1", newer);
+        leaderboard.rolled("lane-1", older);
+
+        // ASSERT
+        assertThat(leaderboard.standing("lane-1").getScore()).isEqualTo(9);
+        assertThat(leaderboard.top(10)).hasSize(1);
+    }
+
+    @Test
+    public void evictIdle_WhenGameNotRolledWithinTimeout_ShouldDropIt() {
+        //ARRANGE
+        Leaderboard leaderboard = new Leaderboard(0, TimeUnit.NANOSECONDS);
+        roll(leaderboard, "lane-1", 7);
+
+        //ACT
+        leaderboard.evictIdle();
+
+        // ASSERT
+        assertThat(leaderboard.standing("lane-1")).isNull();
+        assertThat(leaderboard.top(10)).isEmpty();
+        assertThat(leaderboard.size()).isZero();
+    }
+
+    @ParameterizedTest
+    @CsvSource({"'', 300", "'0', 290", "'10,10', 300", "'3,7', 290", "'9,0', 279",
+            "'10,10,10,10,10,10,10,10,10,10,10,10', 300", "'0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,10', 30",
+            "'0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,10,3', 20", "'1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1', 20"})
+    public void maxScore_WhenRolled_ShouldAssumeEveryRemainingRollKnocksDownAllPins(String rolls, int expectedMaxScore) {
+        //ARRANGE
+        ConcurrentBowlingGame bowlingGame = new ConcurrentBowlingGame();
+
+        //ACT
+        GameSnapshot snapshot = bowlingGame.snapshot();
+        for (String pins : rolls.isEmpty() ? new String[0] : rolls.split(",")) {
+            snapshot = bowlingGame.roll(Integer.parseInt(pins));
+        }
+
+        // ASSERT
+        assertThat(snapshot.maxScore()).isEqualTo(expectedMaxScore);
+    }
+
+    private static void roll(Leaderboard leaderboard, String gameId, int... rolls) {
+        ConcurrentBowlingGame bowlingGame = new ConcurrentBowlingGame();
+        for (int pins : rolls) {
+            leaderboard.rolled(gameId, bowlingGame.roll(pins));
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package de.genios;
+
+import de.genios.model.GameSnapshot;
+import de.genios.store.ParkedGames;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParkedGamesTest {
+
+    @Test
+    public void park_WhenGamesParkedTakenAndRemovedAtRandom_ShouldKeepExactlyTheParkedGames() {
+        //ARRANGE
+        Random random = new Random(3);
+        //more slots than one slab, few enough that the index is crowded and slots are reused
+        ParkedGames parkedGames = new ParkedGames(20_000);
+        Map<String, GameSnapshot> expected = new HashMap<>();
+        List<String> gameIds = new ArrayList<>();
+        for (int n = 0; n < 25_000; n++) {
+            gameIds.add(new UUID(random.nextLong(), random.nextLong()).toString());
+        }
+
+        //ACT
+        for (int step = 0; step < 200_000; step++) {
+            String gameId = gameIds.get(random.nextInt(gameIds.size()));
+            int action = random.nextInt(4);
+            if (action < 2) {
+                GameSnapshot snapshot = randomGame(random);
+                boolean parked = parkedGames.park(gameId, snapshot, step);
+                assertThat(parked).isEqualTo(expected.containsKey(gameId) || expected.size() < 20_000);
+                if (parked) {
+                    expected.put(gameId, snapshot);
+                }
+            } else if (action == 2) {
+                assertSame(parkedGames.take(gameId), expected.remove(gameId));
+            } else {
+                assertThat(parkedGames.remove(gameId)).isEqualTo(expected.remove(gameId) != null);
+            }
+        }
+
+        // ASSERT
+        assertThat(parkedGames.size()).isEqualTo(expected.size());
+        for (String gameId : gameIds) {
+            assertSame(parkedGames.get(gameId), expected.get(gameId));
+        }
+        Map<String, GameSnapshot> visited = new HashMap<>();
+        ParkedGames.forEach(parkedGames.copy(), visited::put);
+        assertThat(visited).containsOnlyKeys(expected.keySet());
+        assertThat(parkedGames.get("not-a-uuid")).isNull();
+    }
+
+    @Test
+    public void evictParkedBefore_WhenSomeParkedEarlier_ShouldDropOnlyThose() {
+        //ARRANGE
+        ParkedGames parkedGames = new ParkedGames(10);
+        String early = UUID.randomUUID().toString();
+        String late = UUID.randomUUID().toString();
+        parkedGames.park(early, GameSnapshot.EMPTY.roll(5), 100L);
+        parkedGames.park(late, GameSnapshot.EMPTY.roll(6), 200L);
+        List<String> evicted = new ArrayList<>();
+
+        //ACT
+        parkedGames.evictParkedBefore(150L, evicted::add);
+
+        // ASSERT
+        assertThat(evicted).containsExactly(early);
+        assertThat(parkedGames.size()).isEqualTo(1);
+        assertThat(parkedGames.get(early)).isNull();
+        assertThat(parkedGames.get(late).score()).isEqualTo(6);
+    }
+
+    private static void assertSame(GameSnapshot actual, GameSnapshot expected) {
+        if (expected == null) {
+            assertThat(actual).isNull();
+            return;
+        }
+        assertThat(actual.getRollCount()).isEqualTo(expected.getRollCount());
+        for (int n = 0; n < expected.getRollCount(); n++) {
+            assertThat(actual.getRoll(n)).isEqualTo(expected.getRoll(n));
+        }
+        assertThat(actual.score()).isEqualTo(expected.score());
+        assertThat(actual.getGameState()).isEqualTo(expected.getGameState());
+        assertThat(actual.getVersion()).isEqualTo(expected.getVersion());
+    }
+
+    private static GameSnapshot randomGame(Random random) {
+        GameSnapshot snapshot = GameSnapshot.EMPTY;
+        int rolls = random.nextInt(22);
+        while (snapshot.getRollCount() < rolls && !snapshot.isGameOver()) {
+            int pins = random.nextInt(11);
+            if (snapshot.check(pins).isAccepted()) {
+                snapshot = snapshot.roll(pins);
+            }
+        }
+        return snapshot;
+    }
+}
@@ -0,0 +1,203 @@
+package de.genios;
+
+import de.genios.journal.RollJournal;
+import de.genios.model.ConcurrentBowlingGame;
+import de.genios.model.GameSnapshot;
+import de.genios.store.GameStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RollJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void open_WhenRollsWereJournaled_ShouldRebuildTheGames() throws IOException {
+        //ARRANGE
+        GameStore gameStore = newGameStore();
+        RollJournal journal = RollJournal.open(directory, true, gameStore);
+        String first = gameStore.create();
+        String second = gameStore.create();
+        roll(journal, gameStore, first, 10, 10, 7, 3, 4);
+        roll(journal, gameStore, second, 9, 0);
+        journal.close();
+
+        //ACT
+        GameStore recovered = newGameStore();
+        RollJournal reopened = RollJournal.open(directory, true, recovered);
+
+        // ASSERT
+        assertThat(reopened.getRecoveredGames()).isEqualTo(2);
+        assertSameState(recovered.get(first).snapshot(), gameStore.get(first).snapshot());
+        assertSameState(recovered.get(second).snapshot(), gameStore.get(second).snapshot());
+        assertThat(recovered.get(first).score()).isEqualTo(65);
+        reopened.close();
+    }
+
+    @Test
+    public void open_WhenSnapshotWasWritten_ShouldReplayTheSnapshotAndTheSegmentsAfterIt() throws IOException {
+        //ARRANGE
+        GameStore gameStore = newGameStore();
+        RollJournal journal = RollJournal.open(directory, false, gameStore);
+        String gameId = gameStore.create();
+        roll(journal, gameStore, gameId, 3, 7, 10);
+        journal.snapshot(gameStore);
+        roll(journal, gameStore, gameId, 2, 5);
+        journal.close();
+
+        //ACT
+        GameStore recovered = newGameStore();
+        RollJournal.open(directory, false, recovered).close();
+
+        // ASSERT
+        assertSameState(recovered.get(gameId).snapshot(), gameStore.get(gameId).snapshot());
+        assertThat(recovered.get(gameId).score()).isEqualTo(44);
+        assertThat(files("segment-")).hasSize(2);
+        assertThat(files("snapshot-")).hasSize(1);
+    }
+
+    @Test
+    public void open_WhenEntriesAreOutOfOrder_ShouldKeepTheHighestVersion() throws IOException {
+        //ARRANGE
+        GameStore gameStore = newGameStore();
+        RollJournal journal = RollJournal.open(directory, true, gameStore);
+        String gameId = gameStore.create();
+        GameSnapshot older = gameStore.get(gameId).roll(4);
+        GameSnapshot newer = gameStore.get(gameId).roll(5);
+        journal.append(gameId, newer);
+        journal.append(gameId, older);
+        journal.close();
+
+        //ACT
+        GameStore recovered = newGameStore();
+        RollJournal.open(directory, true, recovered).close();
+
+        // ASSERT
+        assertSameState(recovered.get(gameId).snapshot(), newer);
+    }
+
+    @Test
+    public void open_WhenLastEntryIsTorn_ShouldIgnoreIt() throws IOException {
+        //ARRANGE
+        GameStore gameStore = newGameStore();
+        RollJournal journal = RollJournal.open(directory, true, gameStore);
+        String gameId = gameStore.create();
+        roll(journal, gameStore, gameId, 6, 2);
+        journal.close();
+        Files.write(files("segment-").get(0), new byte[]{1, 2, 3}, StandardOpenOption.APPEND);
+
+        //ACT
+        GameStore recovered = newGameStore();
+        RollJournal.open(directory, true, recovered).close();
+
+        // ASSERT
+        assertSameState(recovered.get(gameId).snapshot(), gameStore.get(gameId).snapshot());
+    }
+
+    @Test
+    public void open_WhenEntryIsCorrupt_ShouldIgnoreItAndTheEntriesAfterIt() throws IOException {
+        //ARRANGE
+        GameStore gameStore = newGameStore();
+        RollJournal journal = RollJournal.open(directory, true, gameStore);
+        String gameId = gameStore.create();
+        GameSnapshot first = gameStore.get(gameId).roll(6);
+        journal.append(gameId, first);
+        roll(journal, gameStore, gameId, 2, 10);
+        journal.close();
+        //the roll count of the second entry: header, first entry, game id and version
+        try (FileChannel segment = FileChannel.open(files("segment-").get(0), StandardOpenOption.WRITE)) {
+            segment.write(ByteBuffer.wrap(new byte[]{(byte) 0xF0}), 8 + 36 + 24);
+        }
+
+        //ACT
+        GameStore recovered = newGameStore();
+        RollJournal.open(directory, true, recovered).close();
+
+        // ASSERT
+        assertSameState(recovered.get(gameId).snapshot(), first);
+    }
+
+    @Test
+    public void open_WhenGamesWereRemoved_ShouldLeaveThemOut() throws IOException {
+        //ARRANGE
+        GameStore gameStore = newGameStore();
+        RollJournal journal = RollJournal.open(directory, true, gameStore);
+        String kept = gameStore.create();
+        String removed = gameStore.create();
+        String unrolled = gameStore.create();
+        roll(journal, gameStore, kept, 4, 4);
+        roll(journal, gameStore, removed, 10, 3);
+        journal.append(unrolled, GameSnapshot.EMPTY);
+        journal.remove(removed);
+        journal.close();
+
+        //ACT
+        GameStore recovered = newGameStore();
+        RollJournal reopened = RollJournal.open(directory, true, recovered);
+
+        // ASSERT
+        assertThat(reopened.getRecoveredGames()).isEqualTo(2);
+        assertThat(recovered.get(removed)).isNull();
+        assertThat(recovered.get(unrolled).snapshot().getRollCount()).isZero();
+        assertSameState(recovered.get(kept).snapshot(), gameStore.get(kept).snapshot());
+        reopened.close();
+    }
+
+    @Test
+    public void open_WhenSnapshotWasLeftUnfinished_ShouldDeleteIt() throws IOException {
+        //ARRANGE
+        GameStore gameStore = newGameStore();
+        RollJournal journal = RollJournal.open(directory, true, gameStore);
+        String gameId = gameStore.create();
+        roll(journal, gameStore, gameId, 1, 2);
+        journal.close();
+        Path unfinished = directory.resolve("snapshot-0000000000000001.dat.tmp");
+        Files.write(unfinished, new byte[]{1, 2, 3});
+
+        //ACT
+        GameStore recovered = newGameStore();
+        RollJournal.open(directory, true, recovered).close();
+
+        // ASSERT
+        assertThat(unfinished).doesNotExist();
+        assertSameState(recovered.get(gameId).snapshot(), gameStore.get(gameId).snapshot());
+    }
+
+    private static void roll(RollJournal journal, GameStore gameStore, String gameId, int... rolls) throws IOException {
+        ConcurrentBowlingGame bowlingGame = gameStore.get(gameId);
+        for (int pins : rolls) {
+            journal.append(gameId, bowlingGame.roll(pins));
+        }
+    }
+
+    private static void assertSameState(GameSnapshot actual, GameSnapshot expected) {
+        assertThat(actual.toString()).isEqualTo(expected.toString());
+        assertThat(actual.score()).isEqualTo(expected.score());
+        assertThat(actual.getGameState()).isEqualTo(expected.getGameState());
+    }
+
+    private List<Path> files(String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith(prefix)).sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static GameStore newGameStore() {
+        return new GameStore(100, 4, 1, TimeUnit.HOURS);
+    }
+}
@@ -0,0 +1,174 @@
+package de.genios;
+
+import de.genios.helper.Constants;
+import de.genios.model.RollStatus;
+import de.genios.model.RollTable;
+import de.genios.model.ScoringEngine;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+
+import static de.genios.GameFixtures.concat;
+import static de.genios.GameFixtures.playBowlingGame;
+import static de.genios.GameFixtures.regularFrames;
+import static de.genios.GameFixtures.tenthFrames;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * There are about 6 * 10^18 legal games, too many to play them all. Every transition of the table is compared with
+ * the scoring engine instead, and every game of the opening and ending windows also used by {@link ScoringEngineTest}
+ * is scored both ways.
+ */
+class RollTableTest {
+    private static final int PINS = Constants.TOTAL_NUMBER_OF_PINS;
+
+    @Test
+    public void next_WhenAnyRollInAnyReachableState_ShouldMatchScoringEngine() {
+        //ARRANGE
+        Deque<Integer> queue = new ArrayDeque<>();
+        queue.add(RollTable.START);
+        boolean[] visited = new boolean[RollTable.stateCount()];
+        visited[RollTable.START] = true;
+        int[][] prefixes = new int[RollTable.stateCount()][];
+        prefixes[RollTable.START] = new int[0];
+
+        //ACT
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            int[] prefix = prefixes[state];
+            for (int pins = -1; pins <= PINS + 1; pins++) {
+                ScoringEngine engine = replay(prefix);
+                int before = engine.score();
+                RollStatus expected = engine.tryRoll(pins);
+
+                // ASSERT
+                String roll = Arrays.toString(prefix) + " + " + pins;
+                assertThat(RollTable.status(state, pins)).as(roll).isEqualTo(expected);
+                if (!expected.isAccepted()) {
+                    assertThat(RollTable.next(state, pins)).as(roll).isEqualTo(RollTable.REJECTED);
+                    continue;
+                }
+                int next = RollTable.next(state, pins);
+                assertThat(pins * RollTable.weight(state)).as(roll).isEqualTo(engine.score() - before);
+                assertThat(RollTable.gameState(next)).as(roll).isEqualTo(engine.getGameState());
+                if (!visited[next]) {
+                    visited[next] = true;
+                    prefixes[next] = Arrays.copyOf(prefix, prefix.length + 1);
+                    prefixes[next][prefix.length] = pins;
+                    queue.add(next);
+                }
+            }
+        }
+
+        //every state but the rejected one is reachable with legal rolls
+        for (int state = 0; state < RollTable.stateCount(); state++) {
+            assertThat(visited[state] || state == RollTable.REJECTED).as("state " + state).isTrue();
+        }
+    }
+
+    @Test
+    public void backwardOrder_WhenWalked_ShouldReachEveryStateAfterTheStatesItsRollsLeadTo() {
+        //ARRANGE
+        int[] order = RollTable.backwardOrder();
+        int[] position = new int[RollTable.stateCount()];
+        Arrays.fill(position, -1);
+
+        //ACT
+        for (int n = 0; n < order.length; n++) {
+            position[order[n]] = n;
+        }
+
+        // ASSERT
+        assertThat(order).hasSize(RollTable.stateCount() - 1).doesNotContain(RollTable.REJECTED);
+        assertThat(order[0]).isEqualTo(RollTable.GAME_OVER);
+        for (int state : order) {
+            for (int pins = 0; pins <= PINS; pins++) {
+                if (RollTable.status(state, pins).isAccepted()) {
+                    assertThat(position[RollTable.next(state, pins)]).as("state " + state + " pins " + pins)
+                            .isBetween(0, position[state] - 1);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void score_WhenAnyOpeningOrEndingRolled_ShouldMatchScoringEngine() {
+        List<int[]> frames = regularFrames();
+        int[] strikes = new int[Constants.TOTAL_NUMBER_OF_FRAMES - 3];
+        Arrays.fill(strikes, PINS);
+        int checked = 0;
+
+        for (int[] first : frames) {
+            for (int[] second : frames) {
+                for (int[] third : frames) {
+                    assertEveryPrefix(concat(first, second, third));
+                    checked++;
+                }
+            }
+        }
+        for (int[] eighth : frames) {
+            for (int[] ninth : frames) {
+                for (int[] tenth : tenthFrames()) {
+                    assertEveryPrefix(concat(strikes, eighth, ninth, tenth));
+                    checked++;
+                }
+            }
+        }
+
+        assertThat(checked).isEqualTo(66 * 66 * 66 + 66 * 66 * 241);
+    }
+
+    @Test
+    public void score_WhenRandomSequencesGiven_ShouldBehaveLikeBowlingGame() {
+        Random random = new Random(11);
+
+        for (int game = 0; game < 20_000; game++) {
+            int[] rolls = new int[random.nextInt(Constants.MAX_NUMBER_OF_ROLLS + 3)];
+            for (int n = 0; n < rolls.length; n++) {
+                //mostly legal rolls, now and then one out of range
+                rolls[n] = random.nextInt(20) == 0 ? random.nextInt(15) - 2 : random.nextInt(PINS + 1);
+            }
+
+            String expected = playBowlingGame(rolls);
+            String actual;
+            try {
+                actual = String.valueOf(RollTable.score(rolls));
+            } catch (IllegalStateException e) {
+                actual = e.getMessage();
+            }
+            assertThat(actual).as(Arrays.toString(rolls)).isEqualTo(expected);
+        }
+    }
+
+    private static void assertEveryPrefix(int[] rolls) {
+        ScoringEngine engine = new ScoringEngine();
+        int state = RollTable.START;
+        int total = 0;
+
+        for (int size = 1; size <= rolls.length; size++) {
+            engine.roll(rolls[size - 1]);
+            total += rolls[size - 1] * RollTable.weight(state);
+            state = RollTable.next(state, rolls[size - 1]);
+
+            if (total != engine.score() || RollTable.gameState(state) != engine.getGameState()) {
+                fail("mismatch after " + Arrays.toString(Arrays.copyOf(rolls, size)));
+            }
+        }
+        if (RollTable.score(rolls) != engine.score()) {
+            fail("score mismatch for " + Arrays.toString(rolls));
+        }
+    }
+
+    private static ScoringEngine replay(int[] rolls) {
+        ScoringEngine engine = new ScoringEngine();
+        for (int pins : rolls) {
+            engine.roll(pins);
+        }
+        return engine;
+    }
+}
@@ -0,0 +1,106 @@
+package de.genios;
+
+import de.genios.helper.Constants;
+import de.genios.model.GameSnapshot;
+import de.genios.model.GameState;
+import de.genios.model.PinFallModel;
+import de.genios.model.ScoreOracle;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * The last two frames of a game are few enough to play out in every way, so the oracle is compared
+ * with all endings of random games before the ninth frame.
+ */
+class ScoreOracleTest {
+    private static final int PINS = Constants.TOTAL_NUMBER_OF_PINS;
+
+    @Test
+    public void distribution_WhenLastFramesPlayedOutInEveryWay_ShouldMatchTheOracle() {
+        Random random = new Random(11);
+        for (int game = 0; game < 5; game++) {
+            //ARRANGE
+            GameSnapshot snapshot = GameSnapshot.EMPTY;
+            while (snapshot.getGameState() != GameState.FIRST_ROLL
+                    || snapshot.getFrameCount() < 8) {
+                int pins = random.nextInt(PINS + 1);
+                if (snapshot.check(pins).isAccepted()) {
+                    snapshot = snapshot.roll(pins);
+                }
+            }
+            //final score and its probability for a bowler hitting any pin count equally likely
+            TreeMap<Integer, Double> endings = new TreeMap<>();
+            playOut(snapshot, 1.0, endings);
+
+            //ACT
+            double[] distribution = ScoreOracle.distribution(snapshot, PinFallModel.uniform());
+
+            // ASSERT
+            String played = snapshot.toString();
+            assertThat(ScoreOracle.minScore(snapshot)).as(played).isEqualTo(endings.firstKey());
+            assertThat(ScoreOracle.maxScore(snapshot)).as(played).isEqualTo(endings.lastKey());
+            assertThat(ScoreOracle.reachableScoreCount(snapshot)).as(played).isEqualTo(endings.size());
+            assertThat(distribution).hasSize(endings.lastKey() + 1);
+            for (int score = 0; score < distribution.length; score++) {
+                assertThat(ScoreOracle.isReachable(snapshot, score)).as(played + " " + score)
+                        .isEqualTo(endings.containsKey(score));
+                assertThat(distribution[score]).as(played + " " + score)
+                        .isCloseTo(endings.getOrDefault(score, 0.0), within(1e-12));
+            }
+        }
+    }
+
+    @Test
+    public void isReachable_WhenGameNotStarted_ShouldReachEveryScoreUpToAPerfectGame() {
+        //ACT
+        int count = ScoreOracle.reachableScoreCount(GameSnapshot.EMPTY);
+
+        // ASSERT
+        assertThat(ScoreOracle.maxScore(GameSnapshot.EMPTY)).isEqualTo(300);
+        assertThat(ScoreOracle.minScore(GameSnapshot.EMPTY)).isZero();
+        //eleven strikes and a 9
+        assertThat(ScoreOracle.isReachable(GameSnapshot.EMPTY, 299)).isTrue();
+        assertThat(ScoreOracle.isReachable(GameSnapshot.EMPTY, 301)).isFalse();
+        assertThat(ScoreOracle.isReachable(GameSnapshot.EMPTY, -1)).isFalse();
+        assertThat(count).isEqualTo(301);
+    }
+
+    @Test
+    public void distribution_WhenPlayerAlwaysStrikes_ShouldBeCertainOfAPerfectGame() {
+        //ARRANGE
+        long[][] counts = new long[PINS + 1][PINS + 1];
+        counts[PINS][PINS] = 12;
+        PinFallModel model = PinFallModel.fromCounts(counts);
+        GameSnapshot snapshot = GameSnapshot.EMPTY.roll(10).roll(10);
+
+        //ACT
+        double[] distribution = ScoreOracle.distribution(snapshot, model);
+
+        // ASSERT
+        assertThat(distribution).hasSize(301);
+        assertThat(distribution[300]).isCloseTo(1.0, within(1e-12));
+        assertThat(ScoreOracle.expectedScore(distribution)).isCloseTo(300.0, within(1e-9));
+        assertThat(Arrays.stream(ScoreOracle.distribution(GameSnapshot.EMPTY, PinFallModel.uniform())).sum())
+                .isCloseTo(1.0, within(1e-9));
+    }
+
+    private static void playOut(GameSnapshot snapshot, double probability, TreeMap<Integer, Double> endings) {
+        if (snapshot.isGameOver()) {
+            endings.merge(snapshot.score(), probability, Double::sum);
+            return;
+        }
+        int standing = 0;
+        while (standing < PINS && snapshot.check(standing + 1).isAccepted()) {
+            standing++;
+        }
+        for (int pins = 0; pins <= standing; pins++) {
+            playOut(snapshot.roll(pins), probability / (standing + 1), endings);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package de.genios;
+
+import de.genios.model.ConcurrentBowlingGame;
+import de.genios.model.GameSnapshot;
+import de.genios.service.ScoreboardPublisher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScoreboardPublisherTest {
+    private static final String GAME_ID = "lane-1";
+
+    ExecutorService fanOut;
+    ScoreboardPublisher publisher;
+
+    @BeforeEach
+    public void beforeEach() {
+        fanOut = Executors.newFixedThreadPool(2);
+        publisher = new ScoreboardPublisher(fanOut, 2, 50, TimeUnit.MILLISECONDS);
+    }
+
+    @AfterEach
+    public void afterEach() {
+        publisher.destroy();
+    }
+
+    @Test
+    public void rolled_WhenSubscribed_ShouldPushEveryRollInOrder() throws Exception {
+        //ARRANGE
+        List<String> events = new CopyOnWriteArrayList<>();
+        publisher.subscribe(GAME_ID, sink(events, null, new AtomicBoolean()));
+        ConcurrentBowlingGame bowlingGame = new ConcurrentBowlingGame();
+
+        //ACT
+        publisher.rolled(GAME_ID, bowlingGame.roll(10));
+        awaitSize(events, 1);
+        publisher.rolled(GAME_ID, bowlingGame.roll(3));
+        awaitSize(events, 2);
+
+        // ASSERT
+        assertThat(events.get(0)).contains("\"version\":1", "\"score\":10");
+        assertThat(events.get(1)).contains("\"version\":2", "\"score\":16", "\"frame\":1", "\"frame\":2");
+    }
+
+    @Test
+    public void rolled_WhenSubscriberJoinsMidGame_ShouldSendAllFramesFirst() throws Exception {
+        //ARRANGE
+        ConcurrentBowlingGame bowlingGame = new ConcurrentBowlingGame();
+        bowlingGame.roll(10);
+        bowlingGame.roll(3);
+        bowlingGame.roll(4);
+        List<String> events = new CopyOnWriteArrayList<>();
+        publisher.subscribe(GAME_ID, sink(events, null, new AtomicBoolean()));
+
+        //ACT
+        publisher.rolled(GAME_ID, bowlingGame.roll(5));
+        awaitSize(events, 1);
+        publisher.rolled(GAME_ID, bowlingGame.roll(2));
+        awaitSize(events, 2);
+
+        // ASSERT
+        assertThat(events.get(0)).contains("\"version\":4", "\"frame\":1", "\"frame\":2", "\"frame\":3");
+        assertThat(events.get(1)).contains("\"version\":5", "\"frame\":3").doesNotContain("\"frame\":1");
+    }
+
+    @Test
+    public void rolled_WhenSubscriberFallsBehind_ShouldDropOnlyThatSubscriber() throws Exception {
+        //ARRANGE
+        CountDownLatch blocked = new CountDownLatch(1);
+        AtomicBoolean slowClosed = new AtomicBoolean();
+        publisher.subscribe(GAME_ID, sink(new CopyOnWriteArrayList<>(), blocked, slowClosed));
+
+        List<String> fastEvents = new CopyOnWriteArrayList<>();
+        publisher.subscribe(GAME_ID, sink(fastEvents, null, new AtomicBoolean()));
+        ConcurrentBowlingGame bowlingGame = new ConcurrentBowlingGame();
+
+        //ACT
+        for (int roll = 0; roll < 6; roll++) {
+            publisher.rolled(GAME_ID, bowlingGame.roll(1));
+            awaitSize(fastEvents, roll + 1);
+        }
+        blocked.countDown();
+
+        // ASSERT
+        assertThat(slowClosed).isTrue();
+        assertThat(publisher.subscriberCount(GAME_ID)).isEqualTo(1);
+        assertThat(fastEvents).hasSize(6);
+    }
+
+    @Test
+    public void rolled_WhenRollsReportedOutOfOrder_ShouldSkipTheOlderAndSendAllFramesAfterTheGap() throws Exception {
+        //ARRANGE
+        List<String> events = new CopyOnWriteArrayList<>();
+        publisher.subscribe(GAME_ID, sink(events, null, new AtomicBoolean()));
+        ConcurrentBowlingGame bowlingGame = new ConcurrentBowlingGame();
+        publisher.rolled(GAME_ID, bowlingGame.roll(10));
+        awaitSize(events, 1);
+        GameSnapshot second = bowlingGame.roll(3);
+        GameSnapshot third = bowlingGame.roll(4);
+
+        //ACT
+        publisher.rolled(GAME_ID, third);
+        awaitSize(events, 2);
+        publisher.rolled(GAME_ID, second);
+        publisher.rolled(GAME_ID, bowlingGame.roll(5));
+        awaitSize(events, 3);
+
+        // ASSERT
+        assertThat(events.get(1)).contains("\"version\":3", "\"score\":24", "\"frame\":1", "\"frame\":2");
+        assertThat(events.get(2)).contains("\"version\":4").doesNotContain("\"version\":2");
+    }
+
+    @Test
+    public void evictStalled_WhenSendTakesLongerThanTheTimeout_ShouldInterruptAndDropTheSubscriber() throws Exception {
+        //ARRANGE
+        CountDownLatch sending = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        AtomicBoolean closed = new AtomicBoolean();
+        publisher.subscribe(GAME_ID, new ScoreboardPublisher.EventSink() {
+            @Override
+            public void send(String event) throws IOException {
+                sending.countDown();
+                try {
+                    //a client that stopped reading, until the write is interrupted as the container's would be
+                    new CountDownLatch(1).await();
+                } catch (InterruptedException e) {
+                    interrupted.set(true);
+                    throw new InterruptedIOException();
+                }
+            }
+
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        });
+        publisher.rolled(GAME_ID, new ConcurrentBowlingGame().roll(4));
+        assertThat(sending.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(100);
+
+        //ACT
+        publisher.evictStalled();
+
+        // ASSERT
+        assertThat(publisher.subscriberCount(GAME_ID)).isZero();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!closed.get() && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(interrupted).isTrue();
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    public void subscribe_WhenCancelled_ShouldRemoveTheSubscriber() {
+        //ARRANGE
+        Runnable unsubscribe = publisher.subscribe(GAME_ID, sink(new CopyOnWriteArrayList<>(), null, new AtomicBoolean()));
+
+        //ACT
+        unsubscribe.run();
+
+        // ASSERT
+        assertThat(publisher.subscriberCount(GAME_ID)).isZero();
+    }
+
+    private static ScoreboardPublisher.EventSink sink(List<String> events, CountDownLatch blocked, AtomicBoolean closed) {
+        return new ScoreboardPublisher.EventSink() {
+            @Override
+            public void send(String event) {
+                if (blocked != null) {
+                    try {
+                        blocked.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                events.add(event);
+            }
+
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+    }
+
+    private static void awaitSize(List<String> events, int size) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (events.size() < size && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(events).hasSize(size);
+    }
+}
@@ -0,0 +1,121 @@
+package de.genios;
+
+import de.genios.helper.Constants;
+import de.genios.model.BowlingGame;
+import de.genios.model.Frame;
+import de.genios.model.GameSnapshot;
+import de.genios.model.Scoreboard;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+class ScoreboardTest {
+
+    @Test
+    public void next_WhenRandomGamesRolled_ShouldShowTheSameCellsAsTheFrames() {
+        Random random = new Random(11);
+
+        for (int game = 0; game < 5_000; game++) {
+            BowlingGame bowlingGame = new BowlingGame();
+            GameSnapshot snapshot = GameSnapshot.EMPTY;
+
+            while (!bowlingGame.isGameOver()) {
+                int pins = random.nextInt(11);
+                try {
+                    bowlingGame.roll(pins);
+                } catch (IllegalStateException e) {
+                    //too many pins for the ones standing, draw again
+                    continue;
+                }
+                snapshot = snapshot.roll(pins);
+                assertCells(snapshot.getScoreboard(), bowlingGame);
+            }
+        }
+    }
+
+    @Test
+    public void next_WhenOpenFrameRolled_ShouldKeepTheCellsOfEarlierFrames() {
+        //ARRANGE
+        GameSnapshot before = GameSnapshot.EMPTY.roll(10).roll(3).roll(4);
+
+        //ACT
+        GameSnapshot after = before.roll(5);
+
+        // ASSERT
+        Scoreboard scoreboard = after.getScoreboard();
+        assertThat(scoreboard.getFrameCount()).isEqualTo(3);
+        assertThat(scoreboard.getFrameCell(0)).isSameAs(before.getScoreboard().getFrameCell(0));
+        assertThat(scoreboard.getFrameCell(1)).isSameAs(before.getScoreboard().getFrameCell(1));
+        assertThat(scoreboard.getFrameCell(2)).isEqualTo("5 | 0");
+        assertThat(scoreboard.getScoreCell(2)).isEqualTo("29");
+    }
+
+    @Test
+    public void restore_WhenRandomGamesRestoredFromTheirRolls_ShouldMatchTheRolledSnapshot() {
+        Random random = new Random(13);
+
+        for (int game = 0; game < 2_000; game++) {
+            //ARRANGE
+            GameSnapshot rolled = GameSnapshot.EMPTY;
+            int[] rolls = new int[Constants.MAX_NUMBER_OF_ROLLS];
+            int length = random.nextInt(Constants.MAX_NUMBER_OF_ROLLS + 1);
+            while (rolled.getRollCount() < length && !rolled.isGameOver()) {
+                int pins = random.nextInt(11);
+                if (rolled.check(pins).isAccepted()) {
+                    rolls[rolled.getRollCount()] = pins;
+                    rolled = rolled.roll(pins);
+                }
+            }
+
+            //ACT
+            GameSnapshot restored = GameSnapshot.restore(rolls, rolled.getRollCount(), rolled.getVersion());
+
+            // ASSERT
+            assertThat(restored.score()).isEqualTo(rolled.score());
+            assertThat(restored.getGameState()).isEqualTo(rolled.getGameState());
+            assertThat(restored.getVersion()).isEqualTo(rolled.getVersion());
+            assertThat(restored.getFrameCount()).isEqualTo(rolled.getFrameCount());
+            for (int n = 0; n < rolled.getFrameCount(); n++) {
+                assertThat(restored.getFrameRollCount(n)).isEqualTo(rolled.getFrameRollCount(n));
+                assertThat(restored.getAccumulatedFrameScore(n)).isEqualTo(rolled.getAccumulatedFrameScore(n));
+                assertThat(restored.getScoreboard().getFrameCell(n)).isEqualTo(rolled.getScoreboard().getFrameCell(n));
+            }
+        }
+    }
+
+    @Test
+    public void reset_WhenGameWasRolled_ShouldStartWithAnEmptyScoreboard() {
+        //ARRANGE
+        GameSnapshot snapshot = GameSnapshot.EMPTY.roll(7).roll(3);
+
+        //ACT
+        Scoreboard scoreboard = snapshot.reset().getScoreboard();
+
+        // ASSERT
+        assertThat(scoreboard.getFrameCount()).isZero();
+    }
+
+    /**
+     * compares against the scoreboard as it was built from the frames before the cells were cached
+     */
+    private static void assertCells(Scoreboard scoreboard, BowlingGame bowlingGame) {
+        List<Frame> frames = bowlingGame.getFrames();
+        if (scoreboard.getFrameCount() != frames.size()) {
+            fail("frame count mismatch after " + bowlingGame.getFrames());
+        }
+        for (int n = 0; n < frames.size(); n++) {
+            Frame frame = frames.get(n);
+            String appendFillBall = n == Constants.TOTAL_NUMBER_OF_FRAMES - 1 ? frame.bonusRollScoreFormatted() : "";
+            String display = frame.firstRollScoreFormatted() + " | " + frame.secondRollScoreFormatted() + appendFillBall;
+
+            if (!scoreboard.getFrameCell(n).equals(display)
+                    || !scoreboard.getScoreCell(n).equals(String.valueOf(frame.getAccumulatedFrameScore()))) {
+                fail("frame " + (n + 1) + " mismatch after " + frames);
+            }
+        }
+    }
+}
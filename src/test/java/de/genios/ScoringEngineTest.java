@@ -0,0 +1,131 @@
+package de.genios;
+
+import de.genios.helper.Constants;
+import de.genios.model.ScoringEngine;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static de.genios.GameFixtures.concat;
+import static de.genios.GameFixtures.regularFrames;
+import static de.genios.GameFixtures.tenthFrames;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * A roll is only ever added as bonus to the two frames before it, so every bonus combination shows up in a window
+ * of three consecutive frames. These tests enumerate every legal window at the start and at the end of a game and
+ * check the incrementally kept totals after each roll against a recompute from the raw rolls.
+ */
+class ScoringEngineTest {
+    private static final int PINS = Constants.TOTAL_NUMBER_OF_PINS;
+
+    @Test
+    public void accumulatedScores_WhenAnyOpeningRolled_ShouldMatchFullRecompute() {
+        List<int[]> frames = regularFrames();
+        int checked = 0;
+
+        for (int[] first : frames) {
+            for (int[] second : frames) {
+                for (int[] third : frames) {
+                    assertEveryPrefix(concat(first, second, third));
+                    checked++;
+                }
+            }
+        }
+
+        assertThat(checked).isEqualTo(66 * 66 * 66);
+    }
+
+    @Test
+    public void accumulatedScores_WhenAnyEndingRolled_ShouldMatchFullRecompute() {
+        List<int[]> frames = regularFrames();
+        List<int[]> tenthFrames = tenthFrames();
+        int[] strikes = new int[Constants.TOTAL_NUMBER_OF_FRAMES - 3];
+        Arrays.fill(strikes, PINS);
+        int checked = 0;
+
+        for (int[] eighth : frames) {
+            for (int[] ninth : frames) {
+                for (int[] tenth : tenthFrames) {
+                    assertEveryPrefix(concat(strikes, eighth, ninth, tenth));
+                    checked++;
+                }
+            }
+        }
+
+        assertThat(checked).isEqualTo(66 * 66 * 241);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"'3', 0", "'3,4', 0", "'3,4,5', 1", "'3,7,5', 0", "'10,3', 0", "'10,10,3', 0", "'10,3,4,5', 2", "'10,10,10,10,10,10,10,10,10,10,10,10', 9"})
+    public void firstChangedFrame_WhenRolled_ShouldPointToTheLowestFrameThatGotPinsOrBonus(String rolls, int expectedFrame) {
+        //ARRANGE
+        ScoringEngine engine = new ScoringEngine();
+
+        //ACT
+        for (String pins : rolls.split(",")) {
+            engine.roll(Integer.parseInt(pins));
+        }
+
+        // ASSERT
+        assertThat(engine.getFirstChangedFrame()).isEqualTo(expectedFrame);
+    }
+
+    private static void assertEveryPrefix(int[] rolls) {
+        ScoringEngine engine = new ScoringEngine();
+        int[] expected = new int[Constants.TOTAL_NUMBER_OF_FRAMES];
+
+        for (int size = 1; size <= rolls.length; size++) {
+            engine.roll(rolls[size - 1]);
+
+            int frameCount = recompute(rolls, size, expected);
+            int total = frameCount == 0 ? 0 : expected[frameCount - 1];
+            if (engine.getFrameCount() != frameCount || engine.score() != total) {
+                fail("score mismatch after " + Arrays.toString(Arrays.copyOf(rolls, size)));
+            }
+            for (int frame = 0; frame < frameCount; frame++) {
+                if (engine.getAccumulatedFrameScore(frame) != expected[frame]) {
+                    fail("frame " + (frame + 1) + " mismatch after " + Arrays.toString(Arrays.copyOf(rolls, size)));
+                }
+            }
+        }
+    }
+
+    /**
+     * scores the first size rolls from scratch, counting only the bonus rolls that were already thrown
+     *
+     * @return number of frames started
+     */
+    private static int recompute(int[] rolls, int size, int[] accumulated) {
+        int total = 0;
+        int frame = 0;
+        int n = 0;
+
+        while (n < size) {
+            if (frame == Constants.TOTAL_NUMBER_OF_FRAMES - 1) {
+                for (; n < size; n++) {
+                    total += rolls[n];
+                }
+            } else if (rolls[n] == PINS) {
+                total += PINS + rollOrZero(rolls, size, n + 1) + rollOrZero(rolls, size, n + 2);
+                n += 1;
+            } else if (rolls[n] + rollOrZero(rolls, size, n + 1) == PINS) {
+                total += PINS + rollOrZero(rolls, size, n + 2);
+                n += 2;
+            } else {
+                total += rolls[n] + rollOrZero(rolls, size, n + 1);
+                n += 2;
+            }
+            accumulated[frame++] = total;
+        }
+        return frame;
+    }
+
+    private static int rollOrZero(int[] rolls, int size, int n) {
+        return n < size ? rolls[n] : 0;
+    }
+}
@@ -0,0 +1,111 @@
+package de.genios;
+
+import de.genios.controller.GameController;
+import de.genios.model.GameSnapshot;
+import de.genios.view.ShellView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.ui.ExtendedModelMap;
+import org.springframework.web.context.support.GenericWebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.View;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.spring5.view.ThymeleafViewResolver;
+import org.thymeleaf.templateresolver.FileTemplateResolver;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShellViewTest {
+    private final GenericWebApplicationContext applicationContext =
+            new GenericWebApplicationContext(new MockServletContext());
+    private View templateView;
+    private ShellView shellView;
+
+    @BeforeEach
+    public void beforeEach() throws Exception {
+        applicationContext.refresh();
+        FileTemplateResolver templateResolver = new FileTemplateResolver();
+        templateResolver.setPrefix("src/main/webapp/WEB-INF/views/thymeleaf/");
+        templateResolver.setSuffix(".html");
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(templateResolver);
+        ThymeleafViewResolver viewResolver = new ThymeleafViewResolver();
+        viewResolver.setTemplateEngine(templateEngine);
+        viewResolver.setApplicationContext(applicationContext);
+
+        templateView = viewResolver.resolveViewName("game", Locale.US);
+        shellView = new ShellView(templateEngine, "game", GameController.PAGE_ATTRIBUTES);
+    }
+
+    @Test
+    public void render_WhenStartPageBowledAndFinished_ShouldWriteTheSamePageAsTheTemplate() throws Exception {
+        //ARRANGE
+        ExtendedModelMap start = new ExtendedModelMap();
+        start.addAttribute("gameId", "0b6ac4a8-5f1c-4d36-b3a5-7a2d4f0e9c11");
+        ExtendedModelMap bowled = page(rolled(7, 3, 10, 4), null, null);
+        ExtendedModelMap finished = page(rolled(10, 10, 10, 10, 10, 10, 10, 10, 10, 10, 10, 10), "Game Over!",
+                "Final Score: 300");
+
+        for (ExtendedModelMap model : List.of(start, bowled, finished)) {
+            //ACT
+            MockHttpServletResponse expected = render(templateView, model);
+            MockHttpServletResponse actual = render(shellView, model);
+
+            // ASSERT
+            assertThat(actual.getContentAsString()).isEqualTo(expected.getContentAsString());
+            assertThat(actual.getContentType()).isEqualTo(expected.getContentType());
+            assertThat(actual.getContentLength()).isEqualTo(actual.getContentAsByteArray().length);
+        }
+    }
+
+    @Test
+    public void render_WhenAttributesNeedEscaping_ShouldEscapeThemAsTheTemplate() throws Exception {
+        //ARRANGE
+        ExtendedModelMap model = page(rolled(5, 5), "Tom & Jerry's <\"lane\">", "Final Score: 10");
+        model.addAttribute("gameId", "\"><script>");
+
+        //ACT
+        MockHttpServletResponse expected = render(templateView, model);
+        MockHttpServletResponse actual = render(shellView, model);
+
+        // ASSERT
+        assertThat(actual.getContentAsString()).isEqualTo(expected.getContentAsString());
+        assertThat(actual.getContentAsString()).doesNotContain("<script>").contains("Tom &amp; Jerry");
+    }
+
+    private MockHttpServletResponse render(View view, Map<String, Object> model) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(applicationContext.getServletContext(), "GET",
+                "/arena/bowl");
+        request.setContextPath("/arena");
+        request.setAttribute(DispatcherServlet.WEB_APPLICATION_CONTEXT_ATTRIBUTE, applicationContext);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        view.render(model, request, response);
+        return response;
+    }
+
+    private static ExtendedModelMap page(GameSnapshot snapshot, String message, String finalScore) {
+        ExtendedModelMap model = new ExtendedModelMap();
+        model.addAttribute("gameId", "0b6ac4a8-5f1c-4d36-b3a5-7a2d4f0e9c11");
+        if (message != null) {
+            model.addAttribute("message", message);
+            model.addAttribute("finalScore", finalScore);
+        }
+        new GameController().refreshScoreBoard(model, snapshot.getScoreboard());
+        return model;
+    }
+
+    private static GameSnapshot rolled(int... rolls) {
+        GameSnapshot snapshot = GameSnapshot.EMPTY;
+        for (int pins : rolls) {
+            snapshot = snapshot.roll(pins);
+        }
+        return snapshot;
+    }
+}
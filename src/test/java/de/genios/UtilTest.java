@@ -0,0 +1,21 @@
+package de.genios;
+
+import de.genios.helper.Util;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UtilTest {
+
+    @ParameterizedTest
+    @CsvSource({"0, 0", "7, 7", "9, 9", "10, 10", "11, -1", "01, -1", "-1, -1", "a, -1", "1a, -1", "100, -1", "'', -1"})
+    public void parsePins_WhenInputGiven_ShouldReturnThePinsOrMinusOne(String input, int expectedPins) {
+        // ACT
+        int pins = Util.parsePins(input);
+
+        // ASSERT
+        assertThat(pins).isEqualTo(expectedPins);
+        assertThat(Util.validateInput(input)).isEqualTo(expectedPins >= 0);
+    }
+}